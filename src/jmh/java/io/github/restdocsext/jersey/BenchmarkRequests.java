@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.net.URI;
+import java.util.Random;
+
+import javax.annotation.Priority;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+
+/**
+ * Factory methods for the requests and payloads used by the benchmarks.
+ *
+ * @author Paul Samsotha
+ */
+final class BenchmarkRequests {
+
+    private static final JerseyClient CLIENT = new JerseyClientBuilder()
+            .register(MultiPartFeature.class).build();
+
+    private BenchmarkRequests() {
+    }
+
+    /**
+     * Create a client request bound to the runtime of a plain Jersey client, without going
+     * through the client's filter chain.
+     *
+     * @param uri the request URI
+     * @param method the request method
+     * @return the request
+     */
+    static ClientRequest clientRequest(URI uri, String method) {
+        final ClientRequest request = new ClientRequest(uri, CLIENT.getConfiguration(),
+                new MapPropertiesDelegate()) {
+        };
+        request.setMethod(method);
+        return request;
+    }
+
+    /**
+     * Create a request by invoking a plain Jersey client and capturing the request once all its
+     * request filters have run. The request is aborted before it reaches the connector, so the
+     * entity is not written, but the request has its message body workers and headers set like
+     * a request that is being documented.
+     *
+     * @param uri the request URI
+     * @param method the request method
+     * @param entity the request entity, may be {@code null}
+     * @param headers the request headers
+     * @return the captured request
+     */
+    static ClientRequest captureRequest(URI uri, String method, Entity<?> entity,
+            MultivaluedMap<String, Object> headers) {
+        final CapturingFilter filter = new CapturingFilter();
+        CLIENT.target(uri).register(filter).request().headers(headers)
+                .build(method, entity).invoke().close();
+        return filter.request;
+    }
+
+    /**
+     * Create a payload of the given size. JSON payloads are an array of small objects,
+     * binary payloads are random bytes.
+     *
+     * @param size the payload size in bytes
+     * @param json whether to create a JSON payload
+     * @return the payload
+     */
+    static byte[] payload(int size, boolean json) {
+        final byte[] payload = new byte[size];
+        if (!json) {
+            new Random(size).nextBytes(payload);
+            return payload;
+        }
+        final byte[] element = "{\"id\":12345,\"name\":\"restdocsext\"},".getBytes();
+        for (int i = 0; i < size; i++) {
+            payload[i] = element[i % element.length];
+        }
+        payload[0] = '[';
+        payload[size - 1] = ']';
+        return payload;
+    }
+
+    /**
+     * Filter that keeps the request and aborts it with an empty response.
+     */
+    @Priority(Integer.MAX_VALUE)
+    private static final class CapturingFilter implements ClientRequestFilter {
+
+        private ClientRequest request;
+
+        @Override
+        public void filter(ClientRequestContext requestContext) {
+            this.request = (ClientRequest) requestContext;
+            requestContext.abortWith(Response.ok().build());
+        }
+    }
+}
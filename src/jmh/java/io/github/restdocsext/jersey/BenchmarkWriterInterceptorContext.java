@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Minimal {@code WriterInterceptorContext} whose {@link #proceed()} writes a payload to the
+ * current output stream, in writes of a fixed size. It stands in for Jersey's writer
+ * interceptor chain, so only the cost of the interceptor is measured.
+ *
+ * @author Paul Samsotha
+ */
+final class BenchmarkWriterInterceptorContext implements WriterInterceptorContext {
+
+    private final Map<String, Object> properties = new HashMap<>();
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    private final byte[] payload;
+
+    private final int writeSize;
+
+    private MediaType mediaType;
+
+    private OutputStream outputStream;
+
+    BenchmarkWriterInterceptorContext(byte[] payload, int writeSize, MediaType mediaType) {
+        this.payload = payload;
+        this.writeSize = writeSize;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Prepare the context for the next request.
+     *
+     * @param out the stream the entity is written to
+     */
+    void reset(OutputStream out) {
+        this.outputStream = out;
+        this.properties.clear();
+    }
+
+    @Override
+    public void proceed() throws IOException {
+        for (int offset = 0; offset < this.payload.length; offset += this.writeSize) {
+            this.outputStream.write(this.payload, offset, Math.min(this.writeSize, this.payload.length - offset));
+        }
+    }
+
+    @Override
+    public Object getEntity() {
+        return this.payload;
+    }
+
+    @Override
+    public void setEntity(Object entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return this.outputStream;
+    }
+
+    @Override
+    public void setOutputStream(OutputStream os) {
+        this.outputStream = os;
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getHeaders() {
+        return this.headers;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return this.properties.get(name);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return this.properties.keySet();
+    }
+
+    @Override
+    public void setProperty(String name, Object object) {
+        this.properties.put(name, object);
+    }
+
+    @Override
+    public void removeProperty(String name) {
+        this.properties.remove(name);
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return new Annotation[0];
+    }
+
+    @Override
+    public void setAnnotations(Annotation[] annotations) {
+    }
+
+    @Override
+    public Class<?> getType() {
+        return byte[].class;
+    }
+
+    @Override
+    public void setType(Class<?> type) {
+    }
+
+    @Override
+    public Type getGenericType() {
+        return byte[].class;
+    }
+
+    @Override
+    public void setGenericType(Type genericType) {
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return this.mediaType;
+    }
+
+    @Override
+    public void setMediaType(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+}
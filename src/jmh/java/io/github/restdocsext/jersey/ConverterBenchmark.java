@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Form;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.media.multipart.Boundary;
+import org.glassfish.jersey.media.multipart.FormDataBodyPart;
+import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
+
+/**
+ * Benchmarks the conversion of Jersey requests and responses to Spring REST Docs operations
+ * by {@link JerseyRequestConverter} and {@link JerseyResponseConverter}. Run with the GC
+ * profiler to see the bytes allocated per conversion.
+ *
+ * @author Paul Samsotha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final int FORM_FIELDS = 20;
+
+    private static final int FILE_PARTS = 4;
+
+    private static final int FILE_PART_SIZE = 16 * 1024;
+
+    private static final int EXTRA_HEADERS = 50;
+
+    /**
+     * The kind of exchange that is converted.
+     */
+    public enum Exchange {
+
+        /**
+         * A POST with a 4 KB JSON body.
+         */
+        JSON,
+
+        /**
+         * A POST with an urlencoded form of 20 fields.
+         */
+        FORM,
+
+        /**
+         * A POST with a multipart form of a text field and four 16 KB file parts.
+         */
+        MULTIPART,
+
+        /**
+         * A GET with query parameters and 50 request and response headers.
+         */
+        HEADERS
+    }
+
+    @Param({"JSON", "FORM", "MULTIPART", "HEADERS"})
+    public Exchange exchange;
+
+    private final JerseyRequestConverter requestConverter = new JerseyRequestConverter();
+
+    private final JerseyResponseConverter responseConverter = new JerseyResponseConverter();
+
+    private ClientRequest request;
+
+    private ClientResponse response;
+
+    @Setup
+    public void setUp() {
+        final URI uri = URI.create("http://localhost/api/teams?sort=name&page=1");
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle("Accept", MediaType.APPLICATION_JSON);
+        byte[] requestBody = new byte[0];
+        switch (this.exchange) {
+            case JSON:
+                requestBody = BenchmarkRequests.payload(4096, true);
+                this.request = BenchmarkRequests.captureRequest(uri, "POST",
+                        Entity.json(requestBody), headers);
+                break;
+            case FORM:
+                final Form form = new Form();
+                for (int i = 0; i < FORM_FIELDS; i++) {
+                    form.param("field" + i, "value " + i);
+                }
+                this.request = BenchmarkRequests.captureRequest(uri, "POST", Entity.form(form), headers);
+                break;
+            case MULTIPART:
+                final FormDataMultiPart multiPart = new FormDataMultiPart();
+                multiPart.field("description", "team logos");
+                for (int i = 0; i < FILE_PARTS; i++) {
+                    final String name = "file" + i;
+                    multiPart.bodyPart(new FormDataBodyPart(
+                            FormDataContentDisposition.name(name).fileName(name + ".png").build(),
+                            BenchmarkRequests.payload(FILE_PART_SIZE, false),
+                            MediaType.APPLICATION_OCTET_STREAM_TYPE));
+                }
+                this.request = BenchmarkRequests.captureRequest(uri, "POST", Entity.entity(multiPart,
+                        Boundary.addBoundary(MediaType.MULTIPART_FORM_DATA_TYPE)), headers);
+                // the converter reads the boundary from the header as it is left by the connector
+                this.request.getHeaders().putSingle("Content-Type", this.request.getMediaType().toString());
+                break;
+            default:
+                for (int i = 0; i < EXTRA_HEADERS; i++) {
+                    headers.add("X-Benchmark-" + i, "value-" + i);
+                }
+                this.request = BenchmarkRequests.captureRequest(uri, "GET", null, headers);
+                break;
+        }
+        this.request.setProperty(DocumentationProperties.REQUEST_BODY_KEY, requestBody);
+        this.request.setProperty(DocumentationProperties.RESPONSE_BODY_KEY,
+                BenchmarkRequests.payload(4096, true));
+
+        this.response = new ClientResponse(Response.Status.OK, this.request);
+        this.response.getHeaders().putSingle("Content-Type", MediaType.APPLICATION_JSON);
+        this.response.getHeaders().putSingle("Content-Length", "4096");
+        if (this.exchange == Exchange.HEADERS) {
+            for (int i = 0; i < EXTRA_HEADERS; i++) {
+                this.response.getHeaders().add("X-Benchmark-" + i, "value-" + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public OperationRequest convertRequest() {
+        return this.requestConverter.convert(this.request);
+    }
+
+    @Benchmark
+    public OperationResponse convertResponse() {
+        return this.responseConverter.convert(this.response);
+    }
+}
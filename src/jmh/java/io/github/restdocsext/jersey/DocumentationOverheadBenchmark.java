@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullWriter;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.DeploymentContext;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.restdocs.ManualRestDocumentation;
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.operation.preprocess.OperationRequestPreprocessor;
+import org.springframework.restdocs.operation.preprocess.OperationResponsePreprocessor;
+import org.springframework.restdocs.snippet.WriterResolver;
+
+import io.github.restdocsext.jersey.client.RestdocsClient;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.removeHeaders;
+
+/**
+ * Benchmarks the overhead of documenting a call, end to end. The same CRUD workload, modeled on
+ * the {@code TeamsResource} of the examples, is run against the in-memory test container with
+ * more of the documentation pipeline enabled at every {@link Stage}. The difference between a
+ * stage and the one before it is the cost of that part of the pipeline, per call.
+ *
+ * @author Paul Samsotha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentationOverheadBenchmark {
+
+    private static final int CALLS = 5;
+
+    private static final String TEAM = "{\"name\":\"Lakers\",\"numOfPlayers\":15,\"city\":\"Los Angeles\"}";
+
+    /**
+     * How much of the documentation pipeline is enabled.
+     */
+    public enum Stage {
+
+        /**
+         * A plain {@code JerseyClient}, without any documentation.
+         */
+        PLAIN,
+
+        /**
+         * A {@code RestdocsClient}, that captures the request and response entities, without
+         * any documentation registered. This includes the runtime Jersey creates for every
+         * target, as the client registers its interceptors on the target.
+         */
+        CAPTURE,
+
+        /**
+         * Adds the documentation configuration and filter, which convert the exchange to an
+         * operation, with no snippets.
+         */
+        CONVERT,
+
+        /**
+         * Adds request and response preprocessors, as used by the examples.
+         */
+        PREPROCESS,
+
+        /**
+         * Adds the default snippets, rendered to a writer that discards them.
+         */
+        RENDER,
+
+        /**
+         * Writes the default snippets to the output directory.
+         */
+        WRITE
+    }
+
+    @Param({"PLAIN", "CAPTURE", "CONVERT", "PREPROCESS", "RENDER", "WRITE"})
+    public Stage stage;
+
+    private final ManualRestDocumentation restDocumentation = new ManualRestDocumentation(
+            new File(System.getProperty("java.io.tmpdir"), "restdocsext-jmh-snippets").getPath());
+
+    private TestContainer container;
+
+    private Client client;
+
+    private JerseyRestDocumentationConfigurer configurer;
+
+    @Setup
+    public void setUp() {
+        this.container = new InMemoryTestContainerFactory().create(URI.create("http://localhost/"),
+                DeploymentContext.builder(new ResourceConfig().register(new TeamsResource())).build());
+        this.container.start();
+
+        this.client = this.stage == Stage.PLAIN
+                ? JerseyClientBuilder.createClient(this.container.getClientConfig())
+                : new RestdocsClient(JerseyClientBuilder.createClient(this.container.getClientConfig()));
+
+        this.configurer = documentationConfiguration(this.restDocumentation);
+        if (this.stage.compareTo(Stage.RENDER) < 0) {
+            this.configurer.snippets().withDefaults();
+        }
+        if (this.stage.compareTo(Stage.WRITE) < 0) {
+            this.configurer.writerResolver(new DiscardingWriterResolver());
+        }
+        this.restDocumentation.beforeTest(DocumentationOverheadBenchmark.class, "crud");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.restDocumentation.afterTest();
+        this.client.close();
+        this.container.stop();
+        FileUtils.deleteQuietly(new File(System.getProperty("java.io.tmpdir"), "restdocsext-jmh-snippets"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void crud(Blackhole blackhole) {
+        blackhole.consume(teams("get-teams").queryParam("count", 3)
+                .request().get().readEntity(String.class));
+        blackhole.consume(teams("get-team").path("{teamId}").resolveTemplate("teamId", 1)
+                .request().get().readEntity(String.class));
+
+        final Response created = teams("create-team").request().post(Entity.json(TEAM));
+        final String id = created.getLocation().getPath().substring("/teams/".length());
+        created.close();
+
+        teams("update-team").path("{teamId}").resolveTemplate("teamId", id)
+                .request().put(Entity.json(TEAM)).close();
+        teams("delete-team").path("{teamId}").resolveTemplate("teamId", id)
+                .request().delete().close();
+    }
+
+    private WebTarget teams(String identifier) {
+        WebTarget target = this.client.target(this.container.getBaseUri()).path("teams");
+        if (this.stage.compareTo(Stage.CONVERT) < 0) {
+            return target;
+        }
+        target = target.register(this.configurer);
+        if (this.stage == Stage.CONVERT) {
+            return target.register(document(identifier));
+        }
+        final OperationRequestPreprocessor requestPreprocessor
+                = preprocessRequest(prettyPrint(), removeHeaders("User-Agent"));
+        final OperationResponsePreprocessor responsePreprocessor = preprocessResponse(prettyPrint());
+        return target.register(document(identifier, requestPreprocessor, responsePreprocessor));
+    }
+
+    /**
+     * Resolves writers that discard the rendered snippets.
+     */
+    private static final class DiscardingWriterResolver implements WriterResolver {
+
+        @Override
+        public Writer resolve(String operationName, String snippetName, RestDocumentationContext context) {
+            return new NullWriter();
+        }
+    }
+
+    /**
+     * In-memory version of the example {@code TeamsResource}, that keeps teams as JSON.
+     */
+    @Path("teams")
+    @Produces("application/json")
+    @Consumes("application/json")
+    public static class TeamsResource {
+
+        private final Map<Long, String> teams = new ConcurrentHashMap<>();
+
+        private final AtomicLong ids = new AtomicLong();
+
+        /**
+         * Create the resource with three teams.
+         */
+        public TeamsResource() {
+            for (int i = 0; i < 3; i++) {
+                this.teams.put(this.ids.incrementAndGet(), TEAM);
+            }
+        }
+
+        @GET
+        public String getTeams(@DefaultValue("5") @QueryParam("count") int count) {
+            final StringBuilder result = new StringBuilder("[");
+            for (String team : this.teams.values()) {
+                if (count-- == 0) {
+                    break;
+                }
+                result.append(result.length() == 1 ? "" : ",").append(team);
+            }
+            return result.append(']').toString();
+        }
+
+        @GET
+        @Path("{teamId}")
+        public String getTeam(@PathParam("teamId") long teamId) {
+            return find(teamId);
+        }
+
+        @POST
+        public Response createTeam(@Context UriInfo uriInfo, String team) {
+            final long id = this.ids.incrementAndGet();
+            this.teams.put(id, team);
+            return Response.created(uriInfo.getAbsolutePathBuilder().path(Long.toString(id)).build()).build();
+        }
+
+        @PUT
+        @Path("{teamId}")
+        public Response updateTeam(@PathParam("teamId") long teamId, String team) {
+            find(teamId);
+            this.teams.put(teamId, team);
+            return Response.noContent().build();
+        }
+
+        @DELETE
+        @Path("{teamId}")
+        public Response deleteTeam(@PathParam("teamId") long teamId) {
+            find(teamId);
+            this.teams.remove(teamId);
+            return Response.ok().build();
+        }
+
+        private String find(long teamId) {
+            final String team = this.teams.get(teamId);
+            if (team == null) {
+                throw new NotFoundException();
+            }
+            return team;
+        }
+    }
+}
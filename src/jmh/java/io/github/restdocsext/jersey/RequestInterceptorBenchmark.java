@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the capture of the request entity by {@link RequestInterceptor}, for different
+ * payload sizes, content types and ways the entity is written.
+ *
+ * @author Paul Samsotha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RequestInterceptorBenchmark {
+
+    /**
+     * How the entity provider writes the entity.
+     */
+    public enum WriteMode {
+
+        /**
+         * The entity is written with a single write.
+         */
+        BULK(Integer.MAX_VALUE),
+
+        /**
+         * The entity is written in 8 KB chunks, like a buffered stream.
+         */
+        CHUNKED(8192),
+
+        /**
+         * The entity is written in 64 byte pieces, like a streaming serializer.
+         */
+        SLOW(64);
+
+        private final int writeSize;
+
+        WriteMode(int writeSize) {
+            this.writeSize = writeSize;
+        }
+    }
+
+    @Param({"1024", "65536", "1048576", "104857600"})
+    public int payloadSize;
+
+    @Param({"application/json", "application/octet-stream", "multipart/form-data"})
+    public String contentType;
+
+    @Param({"BULK", "CHUNKED", "SLOW"})
+    public WriteMode writeMode;
+
+    private final RequestInterceptor interceptor = new RequestInterceptor();
+
+    private BenchmarkWriterInterceptorContext context;
+
+    @Setup
+    public void setUp() {
+        final MediaType mediaType = MediaType.valueOf(this.contentType);
+        this.context = new BenchmarkWriterInterceptorContext(
+                BenchmarkRequests.payload(this.payloadSize, mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)),
+                this.writeMode.writeSize, mediaType);
+    }
+
+    @Benchmark
+    public Object aroundWriteTo() throws IOException {
+        this.context.reset(NullOutputStream.NULL_OUTPUT_STREAM);
+        this.interceptor.aroundWriteTo(this.context);
+        return this.context.getProperty(DocumentationProperties.REQUEST_BODY_KEY);
+    }
+}
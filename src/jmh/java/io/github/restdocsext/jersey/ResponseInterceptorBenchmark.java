@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the capture of the response entity by {@link ResponseInterceptor}, for different
+ * payload sizes, content types and entity stream behaviors.
+ *
+ * @author Paul Samsotha
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ResponseInterceptorBenchmark {
+
+    /**
+     * How the entity stream of the connector behaves.
+     */
+    public enum StreamBehavior {
+
+        /**
+         * The stream supports mark and reset, so the interceptor does not need to wrap it.
+         */
+        MARK_SUPPORTED,
+
+        /**
+         * The stream does not support mark and reset, so the interceptor wraps it in a
+         * {@code BufferedInputStream}.
+         */
+        MARK_NOT_SUPPORTED,
+
+        /**
+         * The stream does not support mark and reset and returns at most 256 bytes per read,
+         * like a chunked response arriving over the network.
+         */
+        SLOW
+    }
+
+    @Param({"1024", "65536", "1048576", "104857600"})
+    public int payloadSize;
+
+    @Param({"application/json", "application/octet-stream"})
+    public String contentType;
+
+    @Param({"MARK_SUPPORTED", "MARK_NOT_SUPPORTED", "SLOW"})
+    public StreamBehavior streamBehavior;
+
+    private final ResponseInterceptor interceptor = new ResponseInterceptor();
+
+    private byte[] payload;
+
+    private ClientRequest request;
+
+    private ClientResponse response;
+
+    @Setup
+    public void setUp() {
+        this.payload = BenchmarkRequests.payload(this.payloadSize, this.contentType.endsWith("json"));
+        this.request = BenchmarkRequests.clientRequest(URI.create("http://localhost/benchmark"), "GET");
+        this.response = new ClientResponse(Response.Status.OK, this.request);
+        this.response.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, this.contentType);
+        this.response.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, String.valueOf(this.payloadSize));
+    }
+
+    @Benchmark
+    public Object filter() throws IOException {
+        this.response.setEntityStream(createStream());
+        this.interceptor.filter(this.request, this.response);
+        return this.request.getProperty(DocumentationProperties.RESPONSE_BODY_KEY);
+    }
+
+    private InputStream createStream() {
+        final InputStream in = new ByteArrayInputStream(this.payload);
+        switch (this.streamBehavior) {
+            case MARK_SUPPORTED:
+                return in;
+            case MARK_NOT_SUPPORTED:
+                return new NoMarkInputStream(in, Integer.MAX_VALUE);
+            default:
+                return new NoMarkInputStream(in, 256);
+        }
+    }
+
+    /**
+     * Input stream without mark support, that returns at most {@code maxRead} bytes per read.
+     */
+    private static final class NoMarkInputStream extends FilterInputStream {
+
+        private final int maxRead;
+
+        private NoMarkInputStream(InputStream in, int maxRead) {
+            super(in);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, this.maxRead));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -49,15 +49,32 @@ public final class DocumentationProperties {
     public static final String RESPONSE_BODY_KEY = "io.github.restdocsext.jersey.responseBody";
 
     /**
-     * Property for storing the {@code StringBuilder} used for building the path part of the URL
-     * template used by Spring REST Docs.
+     * Property for storing the path part of the URL template used by Spring REST Docs. Every
+     * target holds its own immutable {@code String}, so targets derived from the same target, and
+     * requests made from them concurrently, do not affect each other.
      */
+    public static final String PATH_TEMPLATE_KEY = "io.github.restdocsext.jersey.pathTemplate";
+
+    /**
+     * Property for storing the query string part of the URL template used by Spring REST Docs, as
+     * an immutable {@code String} per target.
+     */
+    public static final String QUERY_TEMPLATE_KEY = "io.github.restdocsext.jersey.queryTemplate";
+
+    /**
+     * Property that stored the {@code StringBuilder} of the path part of the URL template.
+     *
+     * @deprecated the path template is stored with {@link #PATH_TEMPLATE_KEY}
+     */
+    @Deprecated
     public static final String PATH_BUILDER_KEY = "io.github.restdocsext.jersey.pathBuilder";
 
     /**
-     * Property for storing the {@code StringBuilder} used for building the query string part of the
-     * URL template used by Spring REST Docs.
+     * Property that stored the {@code StringBuilder} of the query string part of the URL template.
+     *
+     * @deprecated the query string template is stored with {@link #QUERY_TEMPLATE_KEY}
      */
+    @Deprecated
     public static final String QUERY_BUILDER_KEY = "io.github.restdocsext.jersey.queryBuilder";
 
     /**
@@ -71,6 +88,81 @@ public final class DocumentationProperties {
      */
     public static final String CONTEXT_CONFIGURATION_KEY = "io.github.restdocsext.jersey.configuration";
 
+    /**
+     * Property to store the snippet encoding in the Spring REST Docs configuration.
+     */
+    public static final String SNIPPET_ENCODING_KEY = "io.github.restdocsext.jersey.snippetEncoding";
+
+    /**
+     * Property to store the snippet template format in the Spring REST Docs configuration.
+     */
+    public static final String TEMPLATE_FORMAT_KEY = "io.github.restdocsext.jersey.templateFormat";
+
+    /**
+     * Property for storing the time the request was sent, in milliseconds since the epoch.
+     */
+    public static final String REQUEST_START_TIME_KEY = "io.github.restdocsext.jersey.requestStartTime";
+
+    /**
+     * Property for storing the {@code System.nanoTime()} the request was sent, used to measure
+     * the elapsed time of the exchange.
+     */
+    public static final String REQUEST_START_NANOS_KEY = "io.github.restdocsext.jersey.requestStartNanos";
+
+    /**
+     * Request property to make a request without documenting it, used for the requests of a
+     * performance measurement.
+     */
+    public static final String SKIP_DOCUMENTATION_KEY = "io.github.restdocsext.jersey.skipDocumentation";
+
+    /**
+     * Request property for storing the performance measurement of the documented request.
+     */
+    public static final String PERFORMANCE_RESULT_KEY = "io.github.restdocsext.jersey.performanceResult";
+
+    /**
+     * Request property for storing the nanoseconds spent capturing the request and response
+     * entities, reported to the documentation timing listeners.
+     */
+    public static final String CAPTURE_NANOS_KEY = "io.github.restdocsext.jersey.captureNanos";
+
+    /**
+     * Request property set to {@code true} when the request or response entity was cut off at the
+     * capture limit.
+     */
+    public static final String CAPTURE_TRUNCATED_KEY = "io.github.restdocsext.jersey.captureTruncated";
+
+    /**
+     * Property for storing the {@code DocumentationClientMonitor} of a documentation client, which
+     * counts the documented requests and holds the sampling rate and capture limit. It is also
+     * set on each request, for the request entity capture.
+     */
+    public static final String CLIENT_MONITOR_KEY = "io.github.restdocsext.jersey.clientMonitor";
+
+    /**
+     * Property for storing the {@code DocumentationQueue} a documentation client writes snippets
+     * with, in the background.
+     */
+    public static final String DOCUMENTATION_QUEUE_KEY = "io.github.restdocsext.jersey.documentationQueue";
+
+    /**
+     * Request property for storing the queue of documentation jobs deferred until the response
+     * is completed by a {@code CompletionStageInvoker}.
+     */
+    public static final String DEFERRED_DOCUMENTATION_KEY = "io.github.restdocsext.jersey.deferredDocumentation";
+
+    /**
+     * Property for storing the {@code HeaderFilter} of the headers of the requests documented
+     * by a documentation client.
+     */
+    public static final String REQUEST_HEADER_FILTER_KEY = "io.github.restdocsext.jersey.requestHeaderFilter";
+
+    /**
+     * Property for storing the {@code HeaderFilter} of the headers of the responses documented
+     * by a documentation client.
+     */
+    public static final String RESPONSE_HEADER_FILTER_KEY = "io.github.restdocsext.jersey.responseHeaderFilter";
+
     /**
      * Property to disable automatically registered interceptors use for documentation.
      * This property should only be used for clients don't want the interceptors added
@@ -82,8 +174,12 @@ public final class DocumentationProperties {
      * Set of all configuration property keys.
      */
     public static final Set<String> PROPERTY_KEY_SET = new HashSet<>(
-            Arrays.asList(REQUEST_BODY_KEY, RESPONSE_BODY_KEY, PATH_BUILDER_KEY, QUERY_BUILDER_KEY,
-                    DOCS_FILTER_KEY, CONTEXT_CONFIGURATION_KEY));
+            Arrays.asList(REQUEST_BODY_KEY, RESPONSE_BODY_KEY, PATH_TEMPLATE_KEY, QUERY_TEMPLATE_KEY,
+                    PATH_BUILDER_KEY, QUERY_BUILDER_KEY, DOCS_FILTER_KEY, CONTEXT_CONFIGURATION_KEY,
+                    SNIPPET_ENCODING_KEY, TEMPLATE_FORMAT_KEY, REQUEST_START_TIME_KEY, REQUEST_START_NANOS_KEY,
+                    SKIP_DOCUMENTATION_KEY, PERFORMANCE_RESULT_KEY, CAPTURE_NANOS_KEY, CAPTURE_TRUNCATED_KEY,
+                    CLIENT_MONITOR_KEY, DOCUMENTATION_QUEUE_KEY, DEFERRED_DOCUMENTATION_KEY,
+                    REQUEST_HEADER_FILTER_KEY, RESPONSE_HEADER_FILTER_KEY));
 
     /**
      * Priorities for Jersey providers.
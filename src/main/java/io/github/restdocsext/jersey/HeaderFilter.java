@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A filter of the headers of documented requests or responses, set on a documentation client
+ * with {@code RestdocsClient.requestHeaders} or {@code RestdocsClient.responseHeaders}.
+ * Headers that are not included are left out when the Jersey request and response are
+ * converted, so they are never converted, preprocessed, recorded or documented. This replaces
+ * preprocessors like {@code removeHeaders("User-Agent")} on every documented request.
+ *
+ * <pre>
+ * client.requestHeaders(HeaderFilter.deny("User-Agent"))
+ *         .responseHeaders(HeaderFilter.allow("Content-Type", "Location"));
+ * </pre>
+ *
+ * Header names are compared ignoring case. Spring REST Docs adds the {@code Host} header of
+ * requests, and the {@code Content-Length} header of requests and responses with content,
+ * after the conversion, so they cannot be filtered out.
+ *
+ * @author Paul Samsotha
+ */
+public final class HeaderFilter {
+
+    private final Set<String> names;
+
+    private final boolean allow;
+
+    private HeaderFilter(String[] names, boolean allow) {
+        Preconditions.checkNotNull(names, "names must not be null");
+        final Set<String> lowerCaseNames = new HashSet<>();
+        for (String name : Arrays.asList(names)) {
+            Preconditions.checkNotNull(name, "header names must not be null");
+            lowerCaseNames.add(name.toLowerCase(Locale.ENGLISH));
+        }
+        this.names = Collections.unmodifiableSet(lowerCaseNames);
+        this.allow = allow;
+    }
+
+    /**
+     * Create a filter that includes only the headers named {@code names}.
+     *
+     * @param names the names of the included headers
+     * @return the filter
+     */
+    public static HeaderFilter allow(String... names) {
+        return new HeaderFilter(names, true);
+    }
+
+    /**
+     * Create a filter that includes all the headers, except those named {@code names}.
+     *
+     * @param names the names of the excluded headers
+     * @return the filter
+     */
+    public static HeaderFilter deny(String... names) {
+        return new HeaderFilter(names, false);
+    }
+
+    /**
+     * Check whether the header named {@code name} is included.
+     *
+     * @param name the header name
+     * @return {@code true} if the header is included
+     */
+    public boolean includes(String name) {
+        return this.names.contains(name.toLowerCase(Locale.ENGLISH)) == this.allow;
+    }
+
+    @Override
+    public String toString() {
+        return (this.allow ? "allow" : "deny") + this.names;
+    }
+}
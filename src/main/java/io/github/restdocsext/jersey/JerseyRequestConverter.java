@@ -48,9 +48,11 @@ import org.springframework.restdocs.operation.QueryStringParser;
 import org.springframework.restdocs.operation.RequestConverter;
 import org.springframework.util.StringUtils;
 
+import io.github.restdocsext.jersey.jfr.DocumentationEvents;
 import jersey.repackaged.com.google.common.collect.Lists;
 
 import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_HEADER_FILTER_KEY;
 
 /**
  * Spring RestDocs {@code RequestConverter} implementation that converts Jersey
@@ -62,10 +64,16 @@ class JerseyRequestConverter implements RequestConverter<ClientRequest> {
 
     @Override
     public OperationRequest convert(ClientRequest request) {
-        return new OperationRequestFactory().create(request.getUri(),
+        final long start = System.nanoTime();
+        final OperationRequest operationRequest = new OperationRequestFactory().create(request.getUri(),
                 HttpMethod.valueOf(request.getMethod()),
-                extractContent(request), extractHeaders(request.getHeaders()),
+                extractContent(request), LazyHeaderValues.httpHeaders(request.getHeaders(),
+                        (HeaderFilter) request.getConfiguration().getProperty(REQUEST_HEADER_FILTER_KEY)),
                 extractParameters(request), extractParts(request));
+        DocumentationEvents.converted(true, operationRequest.getContent().length,
+                operationRequest.getHeaders().size(), operationRequest.getParts().size(),
+                System.nanoTime() - start);
+        return operationRequest;
     }
 
     private static byte[] extractContent(ClientRequest request) {
@@ -103,7 +111,7 @@ class JerseyRequestConverter implements RequestConverter<ClientRequest> {
      */
     // can't test this on it's own as the part is not a body part entity
     private static OperationRequestPart createOperationRequestPart(FormDataBodyPart part) {
-        final HttpHeaders partHeaders = extractHeaders(part.getHeaders());
+        final HttpHeaders partHeaders = LazyHeaderValues.httpHeaders(part.getHeaders());
         final List<String> contentTypeHeader = partHeaders.get(HttpHeaders.CONTENT_TYPE);
         if (part.getMediaType() != null && contentTypeHeader == null) {
             partHeaders.setContentType(org.springframework.http.MediaType.parseMediaType(
@@ -136,22 +144,6 @@ class JerseyRequestConverter implements RequestConverter<ClientRequest> {
         return parameters;
     }
 
-    /**
-     * Convert {@code MultivaluedMap} headers to {@code HttpHeaders}.
-     *
-     * @param mapHeaders the map of headers.
-     * @return the converted Spring HTTP headers.
-     */
-    private static HttpHeaders extractHeaders(MultivaluedMap<String, ?> mapHeaders) {
-        final HttpHeaders headers = new HttpHeaders();
-        for (String header : mapHeaders.keySet()) {
-            for (Object val : mapHeaders.get(header)) {
-                headers.add(header, val.toString());
-            }
-        }
-        return headers;
-    }
-
     /**
      * Extract an entity from the {@code ClientRequestContext} and return it in the form of the
      * type specified as the {@code returnType} argument.
@@ -16,16 +16,16 @@
 
 package io.github.restdocsext.jersey;
 
-import javax.ws.rs.core.MultivaluedMap;
-
 import org.glassfish.jersey.client.ClientResponse;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.restdocs.operation.OperationResponse;
 import org.springframework.restdocs.operation.OperationResponseFactory;
 import org.springframework.restdocs.operation.ResponseConverter;
 
+import io.github.restdocsext.jersey.jfr.DocumentationEvents;
+
 import static io.github.restdocsext.jersey.DocumentationProperties.RESPONSE_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.RESPONSE_HEADER_FILTER_KEY;
 
 /**
  * Spring RestDocs {@code ResponseConverter} implementation that converts a Jersey
@@ -37,29 +37,18 @@ class JerseyResponseConverter implements ResponseConverter<ClientResponse> {
 
     @Override
     public OperationResponse convert(ClientResponse response) {
-        return new OperationResponseFactory().create(
+        final long start = System.nanoTime();
+        final OperationResponse operationResponse = new OperationResponseFactory().create(
                 HttpStatus.valueOf(response.getStatus()),
-                extractHeaders(response.getHeaders()),
+                LazyHeaderValues.httpHeaders(response.getHeaders(), (HeaderFilter) response.getRequestContext()
+                        .getConfiguration().getProperty(RESPONSE_HEADER_FILTER_KEY)),
                 extractContent(response));
+        DocumentationEvents.converted(false, operationResponse.getContent().length,
+                operationResponse.getHeaders().size(), 0, System.nanoTime() - start);
+        return operationResponse;
     }
 
     private static byte[] extractContent(ClientResponse response) {
         return response.getRequestContext().resolveProperty(RESPONSE_BODY_KEY, new byte[0]);
     }
-
-    /**
-     * Convert {@code MultivaluedMap} headers to {@code HttpHeaders}.
-     *
-     * @param mapHeaders the Jersey map of headers.
-     * @return the converted Spring HTTP Headers.
-     */
-    private static HttpHeaders extractHeaders(MultivaluedMap<String, String> mapHeaders) {
-        HttpHeaders headers = new HttpHeaders();
-        for (String header : mapHeaders.keySet()) {
-            for (String val : mapHeaders.get(header)) {
-                headers.add(header, val);
-            }
-        }
-        return headers;
-    }
 }
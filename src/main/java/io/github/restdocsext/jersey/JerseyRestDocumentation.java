@@ -29,10 +29,6 @@ import org.springframework.restdocs.snippet.Snippet;
  */
 public abstract class JerseyRestDocumentation {
 
-    private static final JerseyRequestConverter REQUEST_CONVERTER = new JerseyRequestConverter();
-
-    private static final JerseyResponseConverter RESPONSE_CONVERTER = new JerseyResponseConverter();
-
     private JerseyRestDocumentation() {
     }
 
@@ -44,8 +40,8 @@ public abstract class JerseyRestDocumentation {
      * @return a {@link JerseyRestDocumentationFilter} that will produce the documentation
      */
     public static JerseyRestDocumentationFilter document(String identifier, Snippet... snippets) {
-        return new JerseyRestDocumentationFilter(new RestDocumentationGenerator<>(identifier,
-                REQUEST_CONVERTER, RESPONSE_CONVERTER, snippets));
+        return new JerseyRestDocumentationFilter(identifier, new RestDocumentationGenerator<>(
+                identifier, PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE, snippets));
     }
 
     /**
@@ -60,8 +56,9 @@ public abstract class JerseyRestDocumentation {
      */
     public static JerseyRestDocumentationFilter document(String identifier,
             OperationRequestPreprocessor requestPreprocessor, Snippet... snippets) {
-        return new JerseyRestDocumentationFilter(new RestDocumentationGenerator<>(identifier,
-                REQUEST_CONVERTER, RESPONSE_CONVERTER, requestPreprocessor, snippets));
+        return new JerseyRestDocumentationFilter(identifier, new RestDocumentationGenerator<>(
+                identifier, PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE,
+                requestPreprocessor, snippets));
     }
 
     /**
@@ -76,8 +73,9 @@ public abstract class JerseyRestDocumentation {
      */
     public static JerseyRestDocumentationFilter document(String identifier,
             OperationResponsePreprocessor responsePreprocessor, Snippet... snippets) {
-        return new JerseyRestDocumentationFilter(new RestDocumentationGenerator<>(identifier,
-                REQUEST_CONVERTER, RESPONSE_CONVERTER, responsePreprocessor, snippets));
+        return new JerseyRestDocumentationFilter(identifier, new RestDocumentationGenerator<>(
+                identifier, PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE,
+                responsePreprocessor, snippets));
     }
 
     /**
@@ -95,9 +93,24 @@ public abstract class JerseyRestDocumentation {
     public static JerseyRestDocumentationFilter document(String identifier,
             OperationRequestPreprocessor requestPreprocessor,
             OperationResponsePreprocessor responsePreprocessor, Snippet... snippets) {
-        return new JerseyRestDocumentationFilter(new RestDocumentationGenerator<>(identifier,
-                REQUEST_CONVERTER, RESPONSE_CONVERTER, requestPreprocessor,
-                responsePreprocessor, snippets));
+        return new JerseyRestDocumentationFilter(identifier, new RestDocumentationGenerator<>(
+                identifier, PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE,
+                requestPreprocessor, responsePreprocessor, snippets));
+    }
+
+    /**
+     * Records the API call with the given {@code identifier}, without documenting it. The operation
+     * is only passed to the {@code OperationRecorder}s of the
+     * {@link #documentationConfiguration(RestDocumentationContextProvider) configuration}, such as
+     * an {@code OperationRingBuffer} or an {@code ExampleReservoir}, whose operations can be
+     * documented later.
+     *
+     * @param identifier an identifier for the API call that is being recorded
+     * @return a {@link JerseyRestDocumentationFilter} that will record the API call
+     */
+    public static JerseyRestDocumentationFilter record(String identifier) {
+        return new JerseyRestDocumentationFilter(identifier, new RestDocumentationGenerator<>(
+                identifier, PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE), true);
     }
 
     /**
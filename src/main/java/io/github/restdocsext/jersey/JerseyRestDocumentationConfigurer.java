@@ -17,13 +17,16 @@
 package io.github.restdocsext.jersey;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Priority;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientResponseContext;
 import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Invocation;
 
 import org.glassfish.jersey.client.ClientRequest;
 import org.springframework.restdocs.RestDocumentationContext;
@@ -31,8 +34,23 @@ import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.restdocs.config.RestDocumentationConfigurer;
 
 import io.github.restdocsext.jersey.DocumentationProperties.ProviderPriorities;
+import io.github.restdocsext.jersey.context.ConcurrentRestDocumentation;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
+import io.github.restdocsext.jersey.operation.record.OperationRecorder;
+import io.github.restdocsext.jersey.operation.record.OperationTiming;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import io.github.restdocsext.jersey.performance.PerformanceResult;
+import io.github.restdocsext.jersey.timing.DocumentationPerformanceReport;
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.timing.PhaseTiming;
+import io.github.restdocsext.jersey.uri.UrlTemplateIndex;
 
+import static io.github.restdocsext.jersey.DocumentationProperties.CLIENT_MONITOR_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.CONTEXT_CONFIGURATION_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.PERFORMANCE_RESULT_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_START_NANOS_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_START_TIME_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
 
 /**
  * A configurer for Spring RestDocs. It is implemented as a JAX-RS/Jersey client response filter.
@@ -55,6 +73,15 @@ public class JerseyRestDocumentationConfigurer extends
 
     private final UriConfigurer uriConfigurer = new UriConfigurer(this);
 
+    private final List<OperationRecorder> operationRecorders = new ArrayList<>();
+
+    private OperationRecorder operationRecorder;
+
+    private final List<DocumentationTimingListener> timingListeners = new ArrayList<>();
+
+    private DocumentationTimingListener timingListener;
+
+    private UrlTemplateIndex urlTemplateIndex;
 
     JerseyRestDocumentationConfigurer(RestDocumentationContextProvider contextProvider) {
         this.contextProvider = contextProvider;
@@ -80,21 +107,169 @@ public class JerseyRestDocumentationConfigurer extends
         return this.uriConfigurer;
     }
 
+    /**
+     * Adds an {@link OperationRecorder} that will be passed every documented operation.
+     * Recorded operations can later be used to regenerate the snippets, without executing the
+     * requests again. This method can be called more than once, for instance to write both an
+     * operation log and a HAR file.
+     *
+     * @param recorder the operation recorder
+     * @return {@code this}
+     */
+    public JerseyRestDocumentationConfigurer operationRecorder(OperationRecorder recorder) {
+        this.operationRecorders.add(recorder);
+        this.operationRecorder = this.operationRecorders.size() == 1
+                ? recorder : new CompositeOperationRecorder(this.operationRecorders);
+        return this;
+    }
+
+    /**
+     * Adds a {@link DocumentationTimingListener} that will be notified of the time spent in each
+     * phase of documenting a request. This method can be called more than once.
+     *
+     * @param listener the timing listener
+     * @return {@code this}
+     */
+    public JerseyRestDocumentationConfigurer timingListener(DocumentationTimingListener listener) {
+        this.timingListeners.add(listener);
+        this.timingListener = this.timingListeners.size() == 1
+                ? listener : new CompositeTimingListener(this.timingListeners);
+        return this;
+    }
+
+    /**
+     * Adds a {@link DocumentationPerformanceReport}, that collects the timing and captured
+     * payloads of every documented operation. It is registered as both a timing listener and an
+     * operation recorder.
+     *
+     * @param report the performance report
+     * @return {@code this}
+     */
+    public JerseyRestDocumentationConfigurer performanceReport(DocumentationPerformanceReport report) {
+        return operationRecorder(report).timingListener(report);
+    }
+
+    /**
+     * Resolves the URL templates of documented requests from {@code index}, by matching the
+     * request path against the templates of the application, rather than from the paths passed
+     * to {@code path()}. This gives the right templates for targets created from a
+     * {@code Link} or an absolute URI. Requests whose path matches no template fall back to
+     * the paths passed to {@code path()}. The query part of the template is not affected.
+     *
+     * @param index the index of the URL templates of the application
+     * @return {@code this}
+     */
+    public JerseyRestDocumentationConfigurer urlTemplates(UrlTemplateIndex index) {
+        this.urlTemplateIndex = index;
+        return this;
+    }
+
+    /**
+     * Resolves the documentation context of the request built by {@code builder} now, on the
+     * calling thread, rather than on the thread running the response filters. The filter then
+     * uses the bound context. This matters for asynchronous requests, when the context provider
+     * binds tests to threads, like {@link ConcurrentRestDocumentation}.
+     *
+     * @param builder the request builder
+     */
+    public void bindContext(Invocation.Builder builder) {
+        builder.property(RestDocumentationContext.class.getName(), this.contextProvider.beforeOperation());
+    }
+
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext)
             throws IOException {
-        RestDocumentationContext context = this.contextProvider.beforeOperation();
-        setProperty(requestContext, RestDocumentationContext.class.getName(), context);
+        if (requestContext.getProperty(SKIP_DOCUMENTATION_KEY) != null) {
+            return;
+        }
+        final DocumentationClientMonitor monitor
+                = (DocumentationClientMonitor) requestContext.getConfiguration().getProperty(CLIENT_MONITOR_KEY);
+        if (monitor != null) {
+            monitor.requestDocumented();
+        }
+        RestDocumentationContext context
+                = (RestDocumentationContext) requestContext.getProperty(RestDocumentationContext.class.getName());
+        if (context == null) {
+            context = this.contextProvider.beforeOperation();
+            setProperty(requestContext, RestDocumentationContext.class.getName(), context);
+        }
 
         Map<String, Object> configuration = new HashMap<>();
         setProperty(requestContext, CONTEXT_CONFIGURATION_KEY, configuration);
         configuration.put(ClientRequest.class.getName(), requestContext);
 
-        apply(configuration, context);
+        applyConfiguration(configuration, context);
         this.uriConfigurer.apply(configuration, context);
+        if (this.operationRecorder != null) {
+            configuration.put(OperationRecorder.class.getName(), this.operationRecorder);
+        }
+        if (this.urlTemplateIndex != null) {
+            configuration.put(UrlTemplateIndex.class.getName(), this.urlTemplateIndex);
+        }
+        if (this.timingListener != null) {
+            configuration.put(DocumentationTimingListener.class.getName(), this.timingListener);
+        }
+        final Long startNanos = (Long) requestContext.getProperty(REQUEST_START_NANOS_KEY);
+        if (startNanos != null) {
+            configuration.put(OperationTiming.class.getName(), new OperationTiming(
+                    (Long) requestContext.getProperty(REQUEST_START_TIME_KEY), System.nanoTime() - startNanos));
+        }
+        final Object performanceResult = requestContext.getProperty(PERFORMANCE_RESULT_KEY);
+        if (performanceResult != null) {
+            configuration.put(PerformanceResult.class.getName(), performanceResult);
+        }
+    }
+
+    /**
+     * Apply the Spring REST Docs configuration (snippets, operation preprocessors, template
+     * engine and writer resolver) to the {@code configuration}.
+     *
+     * @param configuration the configuration
+     * @param context the documentation context
+     */
+    void applyConfiguration(Map<String, Object> configuration, RestDocumentationContext context) {
+        apply(configuration, context);
     }
 
     private void setProperty(ClientRequestContext requestContext, String prop, Object value) {
         requestContext.setProperty(prop, value);
     }
+
+    /**
+     * Passes operations to several recorders, in the order they were added.
+     */
+    private static final class CompositeOperationRecorder implements OperationRecorder {
+
+        private final OperationRecorder[] recorders;
+
+        private CompositeOperationRecorder(List<OperationRecorder> recorders) {
+            this.recorders = recorders.toArray(new OperationRecorder[recorders.size()]);
+        }
+
+        @Override
+        public void record(RecordedOperation operation) throws IOException {
+            for (OperationRecorder recorder : this.recorders) {
+                recorder.record(operation);
+            }
+        }
+    }
+
+    /**
+     * Passes timings to several listeners, in the order they were added.
+     */
+    private static final class CompositeTimingListener implements DocumentationTimingListener {
+
+        private final DocumentationTimingListener[] listeners;
+
+        private CompositeTimingListener(List<DocumentationTimingListener> listeners) {
+            this.listeners = listeners.toArray(new DocumentationTimingListener[listeners.size()]);
+        }
+
+        @Override
+        public void phaseCompleted(PhaseTiming timing) {
+            for (DocumentationTimingListener listener : this.listeners) {
+                listener.phaseCompleted(timing);
+            }
+        }
+    }
 }
@@ -17,10 +17,12 @@
 package io.github.restdocsext.jersey;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.annotation.Priority;
 import javax.ws.rs.client.ClientRequestContext;
@@ -31,53 +33,171 @@ import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.springframework.restdocs.RestDocumentationContext;
 import org.springframework.restdocs.generate.RestDocumentationGenerator;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
 import org.springframework.restdocs.snippet.Snippet;
+import org.springframework.restdocs.snippet.WriterResolver;
+import org.springframework.restdocs.templates.TemplateFormat;
 
 import io.github.restdocsext.jersey.DocumentationProperties.ProviderPriorities;
+import io.github.restdocsext.jersey.async.DocumentationQueue;
+import io.github.restdocsext.jersey.jfr.DocumentationEvents;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
+import io.github.restdocsext.jersey.operation.record.OperationRecorder;
+import io.github.restdocsext.jersey.operation.record.OperationTiming;
+import io.github.restdocsext.jersey.operation.record.RecordedDocumentationContext;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import io.github.restdocsext.jersey.timing.DocumentationPhase;
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.uri.UrlTemplateIndex;
 import jersey.repackaged.com.google.common.base.Preconditions;
 
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_NANOS_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_TRUNCATED_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CLIENT_MONITOR_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.CONTEXT_CONFIGURATION_KEY;
-import static io.github.restdocsext.jersey.DocumentationProperties.PATH_BUILDER_KEY;
-import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_BUILDER_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.DEFERRED_DOCUMENTATION_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.DOCUMENTATION_QUEUE_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.PATH_TEMPLATE_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_TEMPLATE_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.RESPONSE_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.SNIPPET_ENCODING_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.TEMPLATE_FORMAT_KEY;
 
 /**
  * A JAX-RS/Jersey client response filter, used to create Spring RestDocs API
  * documentation snippets. This filter should be called after all other filters.
  *
+ * The request and response are converted on the thread the response is filtered on. When the
+ * client has a {@link DocumentationQueue}, the snippets are then written in the background. When
+ * the request is made with a {@code CompletionStageInvoker}, conversion and snippets are deferred
+ * to its executor.
+ *
+ * A filter created with {@link JerseyRestDocumentation#record(String)} only passes the operation
+ * to the configured {@link OperationRecorder}, without writing any snippet on the request thread.
+ *
  * @author Paul Samsotha
  */
 @Priority(ProviderPriorities.DOCUMENTATION)
 public class JerseyRestDocumentationFilter implements ClientResponseFilter {
 
-    private final List<JerseyRestDocumentationFilter> childFilters = new LinkedList<>();
+    private static final JerseyRequestConverter REQUEST_CONVERTER = new JerseyRequestConverter();
+
+    private static final JerseyResponseConverter RESPONSE_CONVERTER = new JerseyResponseConverter();
+
+    private final List<JerseyRestDocumentationFilter> childFilters = new CopyOnWriteArrayList<>();
+
+    private final String identifier;
 
-    private final RestDocumentationGenerator<ClientRequest, ClientResponse> delegate;
+    private final RestDocumentationGenerator<OperationRequest, OperationResponse> delegate;
 
-    JerseyRestDocumentationFilter(
-            RestDocumentationGenerator<ClientRequest, ClientResponse> delegate) {
+    private final boolean recordOnly;
+
+    JerseyRestDocumentationFilter(String identifier,
+            RestDocumentationGenerator<OperationRequest, OperationResponse> delegate) {
+        this(identifier, delegate, false);
+    }
+
+    JerseyRestDocumentationFilter(String identifier,
+            RestDocumentationGenerator<OperationRequest, OperationResponse> delegate, boolean recordOnly) {
+        Preconditions.checkNotNull(identifier, "identifier must not be null");
         Preconditions.checkNotNull(delegate, "delegate must not be null");
+        this.identifier = identifier;
         this.delegate = delegate;
+        this.recordOnly = recordOnly;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext)
             throws IOException {
+        if (requestContext.getProperty(SKIP_DOCUMENTATION_KEY) != null) {
+            return;
+        }
+        final Queue<Runnable> deferred = (Queue<Runnable>) requestContext.getProperty(DEFERRED_DOCUMENTATION_KEY);
+        if (deferred == null) {
+            document(requestContext, responseContext);
+        } else {
+            deferred.add(() -> {
+                try {
+                    document(requestContext, responseContext);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
 
+    @SuppressWarnings("unchecked")
+    private void document(ClientRequestContext requestContext, ClientResponseContext responseContext)
+            throws IOException {
         final Map<String, Object> configuration = new HashMap<>(
                 getContextProperty(requestContext, CONTEXT_CONFIGURATION_KEY, Map.class));
         configuration.put(RestDocumentationContext.class.getName(),
                 getContextProperty(requestContext, RestDocumentationContext.class.getName(),
                         RestDocumentationContext.class));
 
-        final String uriTemplate = createUriTemplate(
-                getConfigProperty(requestContext, PATH_BUILDER_KEY, StringBuilder.class),
-                getConfigProperty(requestContext, QUERY_BUILDER_KEY, StringBuilder.class));
+        final String uriTemplate = createUriTemplate(findPathTemplate(requestContext, configuration),
+                getConfigProperty(requestContext, QUERY_TEMPLATE_KEY, String.class));
         configuration.put(RestDocumentationGenerator.ATTRIBUTE_NAME_URL_TEMPLATE, uriTemplate);
 
-        this.delegate.handle((ClientRequest) requestContext, (ClientResponse) responseContext,
-                configuration);
+        final long conversionStart = System.nanoTime();
+        final OperationRequest request = REQUEST_CONVERTER.convert((ClientRequest) requestContext);
+        final OperationResponse response = RESPONSE_CONVERTER.convert((ClientResponse) responseContext);
+        final long conversionNanos = System.nanoTime() - conversionStart;
+        final DocumentationClientMonitor monitor
+                = getConfigProperty(requestContext, CLIENT_MONITOR_KEY, DocumentationClientMonitor.class);
+        if (monitor != null) {
+            monitor.converted(conversionNanos);
+        }
+
+        // Record before documenting, so that an operation whose snippets fail
+        // (e.g. undocumented fields) can be regenerated once the test is fixed.
+        final OperationRecorder recorder
+                = (OperationRecorder) configuration.get(OperationRecorder.class.getName());
+        if (recorder != null) {
+            // the step count of the context moves on with the next request
+            final RecordedOperation operation = new RecordedOperation(this.identifier, uriTemplate,
+                    request, response, RecordedDocumentationContext.copyOf(
+                            (RestDocumentationContext) configuration.get(RestDocumentationContext.class.getName())),
+                    (String) configuration.get(SNIPPET_ENCODING_KEY),
+                    (TemplateFormat) configuration.get(TEMPLATE_FORMAT_KEY));
+            final OperationTiming timing = (OperationTiming) configuration.get(OperationTiming.class.getName());
+            final RecordedOperation timed = timing == null ? operation : operation.withTiming(timing);
+            recorder.record(requestContext.getProperty(CAPTURE_TRUNCATED_KEY) == null ? timed : timed.asTruncated());
+        }
+        if (this.recordOnly) {
+            filterChildren(requestContext, responseContext);
+            return;
+        }
+
+        final DocumentationTimingListener timingListener = DocumentationEvents.phaseListener(
+                (DocumentationTimingListener) configuration.get(DocumentationTimingListener.class.getName()));
+        final Runnable documentation;
+        if (timingListener == null) {
+            documentation = () -> this.delegate.handle(request, response, configuration);
+        } else {
+            final PhaseTimer timer = new PhaseTimer(timingListener, this.identifier, uriTemplate);
+            captured(requestContext, request, response, timer, conversionNanos);
+            documentation = () -> handleTimed(request, response, configuration, timer);
+        }
+        final DocumentationQueue queue
+                = getConfigProperty(requestContext, DOCUMENTATION_QUEUE_KEY, DocumentationQueue.class);
+        if (queue == null) {
+            documentation.run();
+        } else {
+            // the step count of the context moves on with the next request
+            configuration.put(RestDocumentationContext.class.getName(), RecordedDocumentationContext.copyOf(
+                    (RestDocumentationContext) configuration.get(RestDocumentationContext.class.getName())));
+            queue.submit(documentation);
+        }
+        filterChildren(requestContext, responseContext);
+    }
 
+    private void filterChildren(ClientRequestContext requestContext, ClientResponseContext responseContext)
+            throws IOException {
         for (JerseyRestDocumentationFilter filter : childFilters) {
             filter.filter(requestContext, responseContext);
         }
@@ -91,7 +211,7 @@ public class JerseyRestDocumentationFilter implements ClientResponseFilter {
      * @return a new Jersey documentation filter.
      */
     public JerseyRestDocumentationFilter document(Snippet... snippets) {
-        return new JerseyRestDocumentationFilter(this.delegate.withSnippets(snippets)) {
+        return new JerseyRestDocumentationFilter(this.identifier, this.delegate.withSnippets(snippets)) {
 
             @SuppressWarnings("unchecked")
             @Override
@@ -115,6 +235,36 @@ public class JerseyRestDocumentationFilter implements ClientResponseFilter {
         this.childFilters.add(filter);
     }
 
+    /**
+     * Report the capture and conversion phases, which are done on the request thread.
+     */
+    private static void captured(ClientRequestContext requestContext, OperationRequest request,
+            OperationResponse response, PhaseTimer timer, long conversionNanos) {
+        final Long captureNanos = (Long) requestContext.getProperty(CAPTURE_NANOS_KEY);
+        if (captureNanos != null) {
+            timer.phaseCompleted(DocumentationPhase.CAPTURE, captureNanos,
+                    length(requestContext.getProperty(REQUEST_BODY_KEY))
+                    + length(requestContext.getProperty(RESPONSE_BODY_KEY)));
+        }
+        timer.phaseCompleted(DocumentationPhase.CONVERSION, conversionNanos,
+                length(request.getContent()) + length(response.getContent()));
+    }
+
+    private void handleTimed(OperationRequest request, OperationResponse response,
+            Map<String, Object> configuration, PhaseTimer timer) {
+        final WriterResolver writerResolver = (WriterResolver) configuration.get(WriterResolver.class.getName());
+        if (writerResolver != null) {
+            configuration.put(WriterResolver.class.getName(), timer.timed(writerResolver));
+        }
+        final long start = System.nanoTime();
+        this.delegate.handle(request, response, configuration);
+        timer.documented(start, System.nanoTime(), length(request.getContent()) + length(response.getContent()));
+    }
+
+    private static long length(Object content) {
+        return content instanceof byte[] ? ((byte[]) content).length : 0;
+    }
+
     private static <T> T getContextProperty(ClientRequestContext requestContext, String property,
             Class<T> cls) {
         return cls.cast(requestContext.getProperty(property));
@@ -125,11 +275,18 @@ public class JerseyRestDocumentationFilter implements ClientResponseFilter {
         return cls.cast(requestContext.getConfiguration().getProperty(property));
     }
 
-    private static String createUriTemplate(StringBuilder pathBuilder, StringBuilder queryBuilder) {
-
-        final String query = queryBuilder == null ? null : queryBuilder.toString();
-        final String path = pathBuilder == null ? null : pathBuilder.toString();
+    private static String findPathTemplate(ClientRequestContext requestContext, Map<String, Object> configuration) {
+        final UrlTemplateIndex index = (UrlTemplateIndex) configuration.get(UrlTemplateIndex.class.getName());
+        if (index != null) {
+            final String template = index.find(requestContext.getUri().getRawPath());
+            if (template != null) {
+                return template;
+            }
+        }
+        return getConfigProperty(requestContext, PATH_TEMPLATE_KEY, String.class);
+    }
 
+    private static String createUriTemplate(String path, String query) {
         String result = "/";
         if (path != null) {
             result = result + (path.startsWith("/") ? path.substring(1, path.length()) : path);
@@ -17,12 +17,18 @@
 package io.github.restdocsext.jersey;
 
 import java.io.IOException;
+import java.util.Map;
 
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientResponseContext;
 import javax.ws.rs.client.ClientResponseFilter;
 
+import org.springframework.restdocs.RestDocumentationContext;
 import org.springframework.restdocs.config.SnippetConfigurer;
+import org.springframework.restdocs.templates.TemplateFormat;
+
+import static io.github.restdocsext.jersey.DocumentationProperties.SNIPPET_ENCODING_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.TEMPLATE_FORMAT_KEY;
 
 /**
  * Configurer used to configure Spring RestDocs API documentation snippets.
@@ -34,10 +40,35 @@ public class JerseySnippetConfigurer
         SnippetConfigurer<JerseyRestDocumentationConfigurer, JerseySnippetConfigurer>
         implements ClientResponseFilter {
 
+    private String snippetEncoding = DEFAULT_SNIPPET_ENCODING;
+
+    private TemplateFormat templateFormat = DEFAULT_TEMPLATE_FORMAT;
+
     JerseySnippetConfigurer(JerseyRestDocumentationConfigurer parent) {
         super(parent);
     }
 
+    @Override
+    public JerseySnippetConfigurer withEncoding(String encoding) {
+        this.snippetEncoding = encoding;
+        return super.withEncoding(encoding);
+    }
+
+    @Override
+    public JerseySnippetConfigurer withTemplateFormat(TemplateFormat format) {
+        this.templateFormat = format;
+        return super.withTemplateFormat(format);
+    }
+
+    @Override
+    public void apply(Map<String, Object> configuration, RestDocumentationContext context) {
+        super.apply(configuration, context);
+        // The snippet configuration is not accessible outside of Spring REST Docs, so
+        // we store the values that are needed to record operations ourselves.
+        configuration.put(SNIPPET_ENCODING_KEY, this.snippetEncoding);
+        configuration.put(TEMPLATE_FORMAT_KEY, this.templateFormat);
+    }
+
     @Override
     public void filter(ClientRequestContext requestContext,
             ClientResponseContext responseContext) throws IOException {
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * The values of a header, read through from the values of a Jersey {@code MultivaluedMap}.
+ * The references to the Jersey values are copied once, so later changes to the Jersey headers
+ * are not seen, and each value is converted to a {@code String} the first time it is read, so
+ * headers that are removed by preprocessors, or never shown in a snippet, are never converted.
+ * Spring REST Docs copies headers with {@code putAll}, which copies the references to the lists,
+ * so the values stay lazy through the copies.
+ *
+ * <p>The list is mutable. The first change copies the values, so the Jersey headers are never
+ * changed.
+ *
+ * @author Paul Samsotha
+ */
+final class LazyHeaderValues extends AbstractList<String> implements RandomAccess {
+
+    private final Object[] source;
+
+    private final String[] converted;
+
+    private List<String> copy;
+
+    private LazyHeaderValues(List<?> source) {
+        this.source = source.toArray();
+        this.converted = new String[this.source.length];
+    }
+
+    /**
+     * Create Spring {@code HttpHeaders} whose values are lazy views of the values of
+     * {@code headers}. Headers without values are left out.
+     *
+     * @param headers the Jersey headers
+     * @return the Spring HTTP headers
+     */
+    static HttpHeaders httpHeaders(MultivaluedMap<String, ?> headers) {
+        return httpHeaders(headers, null);
+    }
+
+    /**
+     * Create Spring {@code HttpHeaders} whose values are lazy views of the values of
+     * {@code headers}. Headers without values, and headers not included by {@code filter},
+     * are left out.
+     *
+     * @param headers the Jersey headers
+     * @param filter the header filter, or {@code null} to include all the headers
+     * @return the Spring HTTP headers
+     */
+    static HttpHeaders httpHeaders(MultivaluedMap<String, ?> headers, HeaderFilter filter) {
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        for (Map.Entry<String, ? extends List<?>> entry : headers.entrySet()) {
+            final List<?> values = entry.getValue();
+            if (values == null || values.isEmpty() || (filter != null && !filter.includes(entry.getKey()))) {
+                continue;
+            }
+            final List<String> existing = httpHeaders.get(entry.getKey());
+            if (existing == null) {
+                httpHeaders.put(entry.getKey(), new LazyHeaderValues(values));
+            } else {
+                // the same header with a different case
+                existing.addAll(new LazyHeaderValues(values));
+            }
+        }
+        return httpHeaders;
+    }
+
+    @Override
+    public String get(int index) {
+        if (this.copy != null) {
+            return this.copy.get(index);
+        }
+        String value = this.converted[index];
+        if (value == null) {
+            value = String.valueOf(this.source[index]);
+            this.converted[index] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return this.copy != null ? this.copy.size() : this.converted.length;
+    }
+
+    @Override
+    public String set(int index, String element) {
+        return copy().set(index, element);
+    }
+
+    @Override
+    public void add(int index, String element) {
+        copy().add(index, element);
+        this.modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        this.modCount++;
+        return copy().remove(index);
+    }
+
+    private List<String> copy() {
+        if (this.copy == null) {
+            final List<String> values = new ArrayList<>(this.converted.length + 1);
+            for (int i = 0; i < this.converted.length; i++) {
+                values.add(get(i));
+            }
+            this.copy = values;
+        }
+        return this.copy;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.RequestConverter;
+import org.springframework.restdocs.operation.ResponseConverter;
+
+/**
+ * Spring RestDocs request and response converters for operations that have already been
+ * converted. The Jersey request and response are converted by the
+ * {@link JerseyRestDocumentationFilter} itself, so the converted operations can be shared
+ * between documentation and recording.
+ *
+ * @author Paul Samsotha
+ */
+final class PassThroughConverters {
+
+    /**
+     * Request converter that returns the request as is.
+     */
+    static final RequestConverter<OperationRequest> REQUEST = new RequestConverter<OperationRequest>() {
+        @Override
+        public OperationRequest convert(OperationRequest request) {
+            return request;
+        }
+    };
+
+    /**
+     * Response converter that returns the response as is.
+     */
+    static final ResponseConverter<OperationResponse> RESPONSE = new ResponseConverter<OperationResponse>() {
+        @Override
+        public OperationResponse convert(OperationResponse response) {
+            return response;
+        }
+    };
+
+    private PassThroughConverters() {
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.snippet.WriterResolver;
+
+import io.github.restdocsext.jersey.timing.DocumentationPhase;
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.timing.PhaseTiming;
+
+/**
+ * Times the phases of documenting a single request, and reports them to a
+ * {@link DocumentationTimingListener}.
+ *
+ * The phases inside {@code RestDocumentationGenerator.handle} are told apart by timing the
+ * snippet writers. Templated snippets resolve their writer first, so preprocessing ends when the
+ * first writer is resolved. Writing is the time spent resolving and using the writers, and
+ * rendering is the rest of the time spent in the snippets.
+ *
+ * Not thread-safe, a timer is used by the thread that documents the request.
+ *
+ * @author Paul Samsotha
+ */
+final class PhaseTimer {
+
+    private final DocumentationTimingListener listener;
+
+    private final String identifier;
+
+    private final String urlTemplate;
+
+    private boolean snippetsStarted;
+
+    private long snippetsStartNanos;
+
+    private long writeNanos;
+
+    private long writeChars;
+
+    PhaseTimer(DocumentationTimingListener listener, String identifier, String urlTemplate) {
+        this.listener = listener;
+        this.identifier = identifier;
+        this.urlTemplate = urlTemplate;
+    }
+
+    void phaseCompleted(DocumentationPhase phase, long nanos, long bytes) {
+        this.listener.phaseCompleted(new PhaseTiming(phase, this.identifier, this.urlTemplate, nanos, bytes));
+    }
+
+    /**
+     * Wrap a writer resolver, so that the writers it resolves are timed.
+     *
+     * @param delegate the writer resolver to wrap
+     * @return the timed writer resolver
+     */
+    WriterResolver timed(WriterResolver delegate) {
+        return new TimedWriterResolver(delegate);
+    }
+
+    /**
+     * Report the preprocessing, rendering and write phases, once the request is documented.
+     *
+     * @param startNanos the time documenting started, after conversion
+     * @param endNanos the time documenting ended
+     * @param contentBytes the size of the request and response content
+     */
+    void documented(long startNanos, long endNanos, long contentBytes) {
+        final long snippetsStart = this.snippetsStarted ? this.snippetsStartNanos : endNanos;
+        phaseCompleted(DocumentationPhase.PREPROCESSING, snippetsStart - startNanos, contentBytes);
+        phaseCompleted(DocumentationPhase.RENDERING, endNanos - snippetsStart - this.writeNanos,
+                this.writeChars);
+        phaseCompleted(DocumentationPhase.WRITE, this.writeNanos, this.writeChars);
+    }
+
+    /**
+     * Writer resolver that marks the start of the snippets, and times resolving writers.
+     */
+    private final class TimedWriterResolver implements WriterResolver {
+
+        private final WriterResolver delegate;
+
+        private TimedWriterResolver(WriterResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Writer resolve(String operationName, String snippetName, RestDocumentationContext context)
+                throws IOException {
+            final long start = System.nanoTime();
+            if (!PhaseTimer.this.snippetsStarted) {
+                PhaseTimer.this.snippetsStarted = true;
+                PhaseTimer.this.snippetsStartNanos = start;
+            }
+            try {
+                return new TimedWriter(this.delegate.resolve(operationName, snippetName, context));
+            } finally {
+                PhaseTimer.this.writeNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    /**
+     * Writer that times and counts everything written to it.
+     */
+    private final class TimedWriter extends Writer {
+
+        private final Writer delegate;
+
+        private TimedWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                this.delegate.write(chars, off, len);
+            } finally {
+                written(start, len);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                this.delegate.write(str, off, len);
+            } finally {
+                written(start, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            final long start = System.nanoTime();
+            try {
+                this.delegate.flush();
+            } finally {
+                written(start, 0);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            final long start = System.nanoTime();
+            try {
+                this.delegate.close();
+            } finally {
+                written(start, 0);
+            }
+        }
+
+        private void written(long start, int chars) {
+            PhaseTimer.this.writeNanos += System.nanoTime() - start;
+            PhaseTimer.this.writeChars += chars;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.restdocsext.jersey.operation.record.OperationLogReader;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Command line entry point that regenerates the snippets of the operations in one or more
+ * operation logs, in parallel.
+ *
+ * <pre>
+ * java io.github.restdocsext.jersey.RegenerateSnippets [options] &lt;log&gt;...
+ *
+ *   --parallelism &lt;n&gt;        number of threads, defaults to the number of processors
+ *   --output &lt;dir&gt;           write the snippets to this directory, instead of the
+ *                            directory the operations were recorded with
+ *   --configuration &lt;class&gt;  a {@link SnippetRegeneratorConfiguration} to configure the
+ *                            regenerator with
+ * </pre>
+ *
+ * The process exits with {@code 0} when all snippets were regenerated, {@code 1} when the
+ * snippets of any operation failed to regenerate and {@code 2} for invalid arguments.
+ *
+ * @author Paul Samsotha
+ */
+public final class RegenerateSnippets {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILED = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = "Usage: RegenerateSnippets [--parallelism <n>] [--output <dir>]"
+            + " [--configuration <class>] <log>...";
+
+    private RegenerateSnippets() {
+    }
+
+    /**
+     * Regenerate the snippets of the operation logs in the arguments.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        File outputDirectory = null;
+        String configurationClass = null;
+        final List<File> logs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                if ("--parallelism".equals(arg)) {
+                    parallelism = Integer.parseInt(value(args, ++i, arg));
+                    if (parallelism < 1) {
+                        throw new IllegalArgumentException("--parallelism must be at least 1.");
+                    }
+                } else if ("--output".equals(arg)) {
+                    outputDirectory = new File(value(args, ++i, arg));
+                } else if ("--configuration".equals(arg)) {
+                    configurationClass = value(args, ++i, arg);
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + arg + ".");
+                } else {
+                    logs.add(new File(arg));
+                }
+            }
+            if (logs.isEmpty()) {
+                throw new IllegalArgumentException("No operation log given.");
+            }
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        final SnippetRegenerator regenerator = new SnippetRegenerator().withOutputDirectory(outputDirectory);
+        final List<RecordedOperation> operations = new ArrayList<>();
+        try {
+            if (configurationClass != null) {
+                createConfiguration(configurationClass).configure(regenerator);
+            }
+            for (File log : logs) {
+                operations.addAll(OperationLogReader.readAll(log));
+            }
+        } catch (IOException | ReflectiveOperationException | ClassCastException ex) {
+            err.println("Could not prepare regeneration: " + ex);
+            return EXIT_USAGE;
+        }
+
+        final long start = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            regenerator.regenerate(operations, pool);
+        } catch (SnippetRegenerationException ex) {
+            err.println(ex.getMessage());
+            final List<RecordedOperation> failed = ex.getFailedOperations();
+            final Throwable[] causes = ex.getSuppressed();
+            for (int i = 0; i < failed.size(); i++) {
+                err.println("  " + failed.get(i).getIdentifier() + ": " + causes[i]);
+            }
+            return EXIT_FAILED;
+        } finally {
+            pool.shutdown();
+        }
+        out.println("Regenerated snippets for " + operations.size() + " operations in "
+                + (System.nanoTime() - start) / 1000000 + " ms.");
+        return EXIT_OK;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option + ".");
+        }
+        return args[index];
+    }
+
+    private static SnippetRegeneratorConfiguration createConfiguration(String className)
+            throws ReflectiveOperationException {
+        final Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+        return (SnippetRegeneratorConfiguration) type.getConstructor().newInstance();
+    }
+}
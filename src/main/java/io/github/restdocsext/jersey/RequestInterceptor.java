@@ -17,27 +17,63 @@
 package io.github.restdocsext.jersey;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import javax.annotation.Priority;
 import javax.ws.rs.ConstrainedTo;
 import javax.ws.rs.RuntimeType;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.ext.WriterInterceptorContext;
 
+import io.github.restdocsext.jersey.jfr.DocumentationEvents;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
+
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_NANOS_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_TRUNCATED_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CLIENT_MONITOR_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_START_NANOS_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_START_TIME_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
 
 /**
  * A JAX-RS/Jersey interceptor that grabs the request entity and stores it for later use by the documentation engine.
+ * The entity is written through to the connection as it is captured, and only captured up to the capture limit of
+ * the client monitor, like the response entity. It is also the last request filter, where it stores the time the
+ * request is sent, so the exchange can be timed, and where requests are sampled out according to the sampling rate
+ * of the client monitor.
  *
  * @author Paul Samsotha
  */
 @Priority(Integer.MAX_VALUE)
 @ConstrainedTo(RuntimeType.CLIENT)
-public class RequestInterceptor implements WriterInterceptor {
+public class RequestInterceptor implements WriterInterceptor, ClientRequestFilter {
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        requestContext.setProperty(REQUEST_START_TIME_KEY, System.currentTimeMillis());
+        requestContext.setProperty(REQUEST_START_NANOS_KEY, System.nanoTime());
+
+        final DocumentationClientMonitor monitor
+                = (DocumentationClientMonitor) requestContext.getConfiguration().getProperty(CLIENT_MONITOR_KEY);
+        if (monitor == null) {
+            return;
+        }
+        if (requestContext.getProperty(SKIP_DOCUMENTATION_KEY) == null && !monitor.sample()) {
+            requestContext.setProperty(SKIP_DOCUMENTATION_KEY, true);
+            monitor.requestSkipped();
+        }
+        // the entity writer only sees the request properties
+        requestContext.setProperty(CLIENT_MONITOR_KEY, monitor);
+    }
 
     @Override
     public void aroundWriteTo(WriterInterceptorContext context)
@@ -46,24 +82,92 @@ public class RequestInterceptor implements WriterInterceptor {
         // Don't set the content if it is multipart, otherwise REST Docs will
         // add the content in the request, along with adding the parts
         // through the OperationRequestParts.
-        if (context.getMediaType().isCompatible(MediaType.MULTIPART_FORM_DATA_TYPE)) {
+        if (context.getMediaType().isCompatible(MediaType.MULTIPART_FORM_DATA_TYPE)
+                || context.getProperty(SKIP_DOCUMENTATION_KEY) != null) {
             context.proceed();
             return;
         }
 
-        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final long start = System.nanoTime();
+        final DocumentationClientMonitor monitor = (DocumentationClientMonitor) context.getProperty(CLIENT_MONITOR_KEY);
         final OutputStream original = context.getOutputStream();
+        final CapturingOutputStream capture = new CapturingOutputStream(original,
+                monitor == null ? DocumentationClientMonitor.DEFAULT_CAPTURE_LIMIT : monitor.getCaptureLimit());
 
         try {
-            context.setOutputStream(buffer);
+            context.setOutputStream(capture);
             context.proceed();
 
-            final byte[] entity = buffer.toByteArray();
+            final byte[] entity = capture.getCaptured();
             context.setProperty(REQUEST_BODY_KEY, entity);
-
-            original.write(entity);
+            if (capture.isTruncated()) {
+                context.setProperty(CAPTURE_TRUNCATED_KEY, true);
+            }
         } finally {
             context.setOutputStream(original);
+            final long nanos = System.nanoTime() - start;
+            context.setProperty(CAPTURE_NANOS_KEY, nanos);
+            DocumentationEvents.entityCaptured(true, context.getMediaType(), capture.size(), capture.isTruncated(),
+                    nanos);
+        }
+    }
+
+    /**
+     * Writes the entity through to the connection, keeping a copy of its first bytes.
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+
+        private final ByteArrayOutputStream captured;
+
+        private final int captureLimit;
+
+        private boolean truncated;
+
+        private CapturingOutputStream(OutputStream out, int captureLimit) {
+            super(out);
+            this.captured = new ByteArrayOutputStream(Math.min(captureLimit, 1024));
+            this.captureLimit = captureLimit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            final int room = this.captureLimit - this.captured.size();
+            if (len > room) {
+                this.truncated = true;
+            }
+            if (room > 0) {
+                this.captured.write(b, off, Math.min(room, len));
+            }
+        }
+
+        int size() {
+            return this.captured.size();
+        }
+
+        boolean isTruncated() {
+            return this.truncated;
+        }
+
+        byte[] getCaptured() {
+            final byte[] entity = this.captured.toByteArray();
+            if (!this.truncated) {
+                return entity;
+            }
+            final byte[] marker = ResponseInterceptor.TRUNCATION_MARKER.getBytes(StandardCharsets.UTF_8);
+            final byte[] truncatedEntity = Arrays.copyOf(entity, entity.length + marker.length);
+            System.arraycopy(marker, 0, truncatedEntity, entity.length, marker.length);
+            return truncatedEntity;
         }
     }
 }
@@ -17,6 +17,7 @@
 package io.github.restdocsext.jersey;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -28,43 +29,100 @@ import javax.ws.rs.client.ClientResponseContext;
 import javax.ws.rs.client.ClientResponseFilter;
 
 import io.github.restdocsext.jersey.DocumentationProperties.ProviderPriorities;
+import io.github.restdocsext.jersey.jfr.DocumentationEvents;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
 
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_NANOS_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CAPTURE_TRUNCATED_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.CLIENT_MONITOR_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_BODY_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.RESPONSE_BODY_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
 
 /**
  * A JAX-RS/Jersey client response filter the grabs the incoming response, and stores
- * it for later use by the documentation engine.
+ * it for later use by the documentation engine. The response entity is captured up to the
+ * capture limit of the client monitor.
  *
  * @author Paul Samsotha
  */
 @Priority(ProviderPriorities.RESPONSE_BODY_INTERCEPTOR)
 public class ResponseInterceptor implements ClientResponseFilter {
 
+    /**
+     * Appended to a request or response entity that is truncated at the capture limit.
+     */
+    public static final String TRUNCATION_MARKER = "...more...";
+
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
 
-    private final int maxEntitySize = 1024 * 8;
+    private static final int CHUNK_SIZE = 8192;
 
     @Override
     public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        final DocumentationClientMonitor monitor
+                = (DocumentationClientMonitor) request.getConfiguration().getProperty(CLIENT_MONITOR_KEY);
+        if (request.getProperty(SKIP_DOCUMENTATION_KEY) != null) {
+            return;
+        }
+        final byte[] requestEntity = (byte[]) request.getProperty(REQUEST_BODY_KEY);
+        long capturedBytes = requestEntity == null ? 0 : requestEntity.length;
         if (response.hasEntity()) {
+            final long start = System.nanoTime();
+            final int captureLimit = monitor == null
+                    ? DocumentationClientMonitor.DEFAULT_CAPTURE_LIMIT : monitor.getCaptureLimit();
             final StringBuilder sb = new StringBuilder();
-            response.setEntityStream(getEntity(sb, response.getEntityStream(), DEFAULT_CHARSET));
-            request.setProperty(RESPONSE_BODY_KEY, sb.toString().getBytes(DEFAULT_CHARSET));
+            final InputStream in = markable(response.getEntityStream());
+            final boolean truncated = getEntity(sb, in, DEFAULT_CHARSET, captureLimit);
+            if (truncated) {
+                request.setProperty(CAPTURE_TRUNCATED_KEY, true);
+            }
+            response.setEntityStream(in);
+            final byte[] entity = sb.toString().getBytes(DEFAULT_CHARSET);
+            request.setProperty(RESPONSE_BODY_KEY, entity);
+            capturedBytes += entity.length;
+
+            // add to the time spent capturing the request entity
+            final long nanos = System.nanoTime() - start;
+            final Long captureNanos = (Long) request.getProperty(CAPTURE_NANOS_KEY);
+            request.setProperty(CAPTURE_NANOS_KEY, (captureNanos == null ? 0 : captureNanos) + nanos);
+            DocumentationEvents.entityCaptured(false, response.getMediaType(), entity.length, truncated, nanos);
+        }
+        if (monitor != null) {
+            monitor.entitiesCaptured(capturedBytes, request.getProperty(CAPTURE_TRUNCATED_KEY) != null);
         }
     }
 
-    private InputStream getEntity(StringBuilder b, InputStream in, final Charset charset) throws IOException {
-        if (!in.markSupported()) {
-            in = new BufferedInputStream(in);
-        }
+    private static InputStream markable(InputStream in) {
+        return in.markSupported() ? in : new BufferedInputStream(in);
+    }
+
+    /**
+     * Read the start of the entity into {@code b} and reset the stream. The entity is read in
+     * chunks, so the memory used depends on the size of the entity, not on the capture limit.
+     *
+     * @return whether the entity is larger than what was read
+     */
+    private static boolean getEntity(StringBuilder b, InputStream in, final Charset charset, int maxEntitySize)
+            throws IOException {
         in.mark(maxEntitySize + 1);
-        final byte[] entity = new byte[maxEntitySize + 1];
-        final int entitySize = in.read(entity);
-        b.append(new String(entity, 0, Math.min(entitySize, maxEntitySize), charset));
-        if (entitySize > maxEntitySize) {
-            b.append("...more...");
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream(Math.min(maxEntitySize + 1, CHUNK_SIZE));
+        final byte[] chunk = new byte[Math.min(maxEntitySize + 1, CHUNK_SIZE)];
+        int remaining = maxEntitySize + 1;
+        while (remaining > 0) {
+            final int read = in.read(chunk, 0, Math.min(chunk.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            entity.write(chunk, 0, read);
+            remaining -= read;
+        }
+        final boolean truncated = remaining == 0;
+        b.append(new String(entity.toByteArray(), 0, Math.min(entity.size(), maxEntitySize), charset));
+        if (truncated) {
+            b.append(TRUNCATION_MARKER);
         }
         in.reset();
-        return in;
+        return truncated;
     }
 }
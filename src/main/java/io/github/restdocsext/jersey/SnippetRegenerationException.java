@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Thrown when the snippets of one or more recorded operations could not be regenerated.
+ * The failure of each operation is added as a suppressed exception.
+ *
+ * @author Paul Samsotha
+ */
+public class SnippetRegenerationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<RecordedOperation> failedOperations = new ArrayList<>();
+
+    SnippetRegenerationException(int failed, int total,
+            Collection<SnippetRegenerator.Failure> failures) {
+        super("Failed to regenerate snippets for " + failed + " of " + total + " operations.");
+        for (SnippetRegenerator.Failure failure : failures) {
+            this.failedOperations.add(failure.getOperation());
+            addSuppressed(failure.getCause());
+        }
+    }
+
+    /**
+     * Get the operations whose snippets could not be regenerated.
+     *
+     * @return the failed operations
+     */
+    public List<RecordedOperation> getFailedOperations() {
+        return Collections.unmodifiableList(this.failedOperations);
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.generate.RestDocumentationGenerator;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.preprocess.OperationPreprocessor;
+import org.springframework.restdocs.operation.preprocess.OperationRequestPreprocessor;
+import org.springframework.restdocs.operation.preprocess.OperationResponsePreprocessor;
+import org.springframework.restdocs.operation.preprocess.Preprocessors;
+import org.springframework.restdocs.snippet.RestDocumentationContextPlaceholderResolverFactory;
+import org.springframework.restdocs.snippet.Snippet;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import io.github.restdocsext.jersey.operation.record.OperationLogReader;
+import io.github.restdocsext.jersey.operation.record.RecordedDocumentationContext;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * Regenerates the snippets of operations recorded with an
+ * {@link io.github.restdocsext.jersey.operation.record.OperationRecorder}. This allows
+ * changes to snippet templates and descriptors to be rendered without running the
+ * documentation tests again.
+ *
+ * <pre>
+ * new SnippetRegenerator()
+ *         .withRequestDefaults(removeHeaders("User-Agent"))
+ *         .document("get-team", responseFields(fieldWithPath("name").description("Team name")))
+ *         .regenerate(new File("build/operations.log"));
+ * </pre>
+ *
+ * Every operation is documented with the default snippets, along with any snippets
+ * registered for its identifier. Snippets are written to the output directory of the
+ * original documentation context, with the encoding and template format it was recorded with.
+ *
+ * Operations can be regenerated in parallel with a {@code ForkJoinPool}. Operations that
+ * write to the same snippet directory are regenerated one after the other, in the order they
+ * were recorded, so the result is the same as regenerating them sequentially. The regenerator
+ * must be fully configured before snippets are regenerated.
+ *
+ * For regeneration from the command line, see {@link RegenerateSnippets}.
+ *
+ * @author Paul Samsotha
+ */
+public final class SnippetRegenerator {
+
+    private static final PropertyPlaceholderHelper PLACEHOLDER_HELPER
+            = new PropertyPlaceholderHelper("{", "}");
+
+    private final Map<String, RestDocumentationGenerator<OperationRequest, OperationResponse>> generators
+            = new HashMap<>();
+
+    private final ConcurrentMap<String, Map<String, Object>> configurations = new ConcurrentHashMap<>();
+
+    private Snippet[] defaultSnippets;
+
+    private OperationPreprocessor[] requestDefaults = new OperationPreprocessor[0];
+
+    private OperationPreprocessor[] responseDefaults = new OperationPreprocessor[0];
+
+    private File outputDirectory;
+
+    /**
+     * Replace the default snippets with the given {@code snippets}.
+     *
+     * @param snippets the default snippets
+     * @return {@code this}
+     */
+    public SnippetRegenerator withDefaults(Snippet... snippets) {
+        this.defaultSnippets = Arrays.copyOf(snippets, snippets.length);
+        this.configurations.clear();
+        return this;
+    }
+
+    /**
+     * Set the default preprocessors that are applied to every request.
+     *
+     * @param preprocessors the request preprocessors
+     * @return {@code this}
+     */
+    public SnippetRegenerator withRequestDefaults(OperationPreprocessor... preprocessors) {
+        this.requestDefaults = Arrays.copyOf(preprocessors, preprocessors.length);
+        this.configurations.clear();
+        return this;
+    }
+
+    /**
+     * Set the default preprocessors that are applied to every response.
+     *
+     * @param preprocessors the response preprocessors
+     * @return {@code this}
+     */
+    public SnippetRegenerator withResponseDefaults(OperationPreprocessor... preprocessors) {
+        this.responseDefaults = Arrays.copyOf(preprocessors, preprocessors.length);
+        this.configurations.clear();
+        return this;
+    }
+
+    /**
+     * Write the snippets to the {@code outputDirectory}, instead of the output directory
+     * the operations were recorded with.
+     *
+     * @param outputDirectory the output directory
+     * @return {@code this}
+     */
+    public SnippetRegenerator withOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+        return this;
+    }
+
+    /**
+     * Document operations recorded with the {@code identifier} with the given {@code snippets},
+     * in addition to the default snippets.
+     *
+     * @param identifier the identifier the operations were documented with
+     * @param snippets the snippets
+     * @return {@code this}
+     */
+    public SnippetRegenerator document(String identifier, Snippet... snippets) {
+        return document(identifier, Preprocessors.preprocessRequest(),
+                Preprocessors.preprocessResponse(), snippets);
+    }
+
+    /**
+     * Document operations recorded with the {@code identifier} with the given {@code snippets},
+     * in addition to the default snippets. The given {@code requestPreprocessor} and
+     * {@code responsePreprocessor} are applied to the request and response respectively
+     * before they are documented.
+     *
+     * @param identifier the identifier the operations were documented with
+     * @param requestPreprocessor the request preprocessor
+     * @param responsePreprocessor the response preprocessor
+     * @param snippets the snippets
+     * @return {@code this}
+     */
+    public SnippetRegenerator document(String identifier,
+            OperationRequestPreprocessor requestPreprocessor,
+            OperationResponsePreprocessor responsePreprocessor, Snippet... snippets) {
+        Preconditions.checkNotNull(identifier, "identifier must not be null");
+        this.generators.put(identifier, new RestDocumentationGenerator<>(identifier,
+                PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE,
+                requestPreprocessor, responsePreprocessor, snippets));
+        return this;
+    }
+
+    /**
+     * Regenerate the snippets of all the operations in the operation {@code log}, one after
+     * the other.
+     *
+     * @param log the operation log
+     * @return the number of regenerated operations
+     * @throws IOException if the log cannot be read
+     */
+    public int regenerate(File log) throws IOException {
+        int count = 0;
+        try (OperationLogReader reader = new OperationLogReader(log)) {
+            RecordedOperation operation;
+            while ((operation = reader.read()) != null) {
+                regenerate(operation);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Regenerate the snippets of the {@code operations} in parallel, using the {@code pool}.
+     * A failure to regenerate an operation does not stop the other operations from being
+     * regenerated. All failures are reported together once every operation is done.
+     *
+     * @param operations the recorded operations
+     * @param pool the pool to regenerate the snippets with
+     * @return the number of regenerated operations
+     * @throws SnippetRegenerationException if the snippets of any operation failed to
+     *         regenerate
+     */
+    public int regenerate(Collection<RecordedOperation> operations, ForkJoinPool pool) {
+        final List<List<RecordedOperation>> groups = groupByOutput(operations);
+        final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+        pool.invoke(new RegenerationTask(groups, 0, groups.size(), failures));
+        if (!failures.isEmpty()) {
+            throw new SnippetRegenerationException(failures.size(), operations.size(), failures);
+        }
+        return operations.size();
+    }
+
+    /**
+     * Regenerate the snippets of the recorded {@code operation}.
+     *
+     * @param operation the recorded operation
+     */
+    public void regenerate(RecordedOperation operation) {
+        final RestDocumentationContext context = getContext(operation);
+        final Map<String, Object> configuration = new HashMap<>(getConfiguration(operation, context));
+        configuration.put(RestDocumentationContext.class.getName(), context);
+        configuration.put(RestDocumentationGenerator.ATTRIBUTE_NAME_URL_TEMPLATE,
+                operation.getUrlTemplate());
+
+        getGenerator(operation.getIdentifier()).handle(operation.getRequest(),
+                operation.getResponse(), configuration);
+    }
+
+    private RestDocumentationContext getContext(RecordedOperation operation) {
+        return this.outputDirectory == null ? operation.getContext()
+                : RecordedDocumentationContext.copyOf(operation.getContext(), this.outputDirectory);
+    }
+
+    private RestDocumentationGenerator<OperationRequest, OperationResponse> getGenerator(
+            String identifier) {
+        RestDocumentationGenerator<OperationRequest, OperationResponse> generator
+                = this.generators.get(identifier);
+        if (generator == null) {
+            generator = new RestDocumentationGenerator<>(identifier,
+                    PassThroughConverters.REQUEST, PassThroughConverters.RESPONSE);
+        }
+        return generator;
+    }
+
+    /**
+     * Get the Spring REST Docs configuration for the snippet encoding and template format of
+     * the operation. The configuration does not depend on the operation otherwise, so it is
+     * cached instead of creating a new template engine for every operation.
+     */
+    private Map<String, Object> getConfiguration(RecordedOperation operation,
+            RestDocumentationContext context) {
+        final String key = operation.getSnippetEncoding() + ":"
+                + (operation.getTemplateFormat() == null ? null : operation.getTemplateFormat().getId());
+        Map<String, Object> configuration = this.configurations.get(key);
+        if (configuration == null) {
+            final JerseyRestDocumentationConfigurer configurer = new JerseyRestDocumentationConfigurer(null);
+            if (operation.getSnippetEncoding() != null) {
+                configurer.snippets().withEncoding(operation.getSnippetEncoding());
+            }
+            if (operation.getTemplateFormat() != null) {
+                configurer.snippets().withTemplateFormat(operation.getTemplateFormat());
+            }
+            if (this.defaultSnippets != null) {
+                configurer.snippets().withDefaults(this.defaultSnippets);
+            }
+            configurer.operationPreprocessors()
+                    .withRequestDefaults(this.requestDefaults)
+                    .withResponseDefaults(this.responseDefaults);
+
+            configuration = new HashMap<>();
+            configurer.applyConfiguration(configuration, context);
+            final Map<String, Object> existing = this.configurations.putIfAbsent(key, configuration);
+            configuration = existing == null ? configuration : existing;
+        }
+        return configuration;
+    }
+
+    /**
+     * Group the operations by the directory their snippets are written to, keeping the order
+     * they were recorded in. Only operations of different groups are regenerated concurrently.
+     */
+    private List<List<RecordedOperation>> groupByOutput(Collection<RecordedOperation> operations) {
+        final Map<String, List<RecordedOperation>> groups = new LinkedHashMap<>();
+        for (RecordedOperation operation : operations) {
+            final RestDocumentationContext context = getContext(operation);
+            String identifier;
+            try {
+                identifier = PLACEHOLDER_HELPER.replacePlaceholders(operation.getIdentifier(),
+                        new RestDocumentationContextPlaceholderResolverFactory().create(context));
+            } catch (RuntimeException ex) {
+                // Will fail again, and be reported, when the operation is regenerated.
+                identifier = operation.getIdentifier();
+            }
+            final String key = context.getOutputDirectory() + File.separator + identifier;
+            List<RecordedOperation> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key, group);
+            }
+            group.add(operation);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Fork/join task that regenerates a range of operation groups, splitting the range until
+     * it contains a single group.
+     */
+    private final class RegenerationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<RecordedOperation>> groups;
+
+        private final int from;
+
+        private final int to;
+
+        private final Queue<Failure> failures;
+
+        private RegenerationTask(List<List<RecordedOperation>> groups, int from, int to,
+                Queue<Failure> failures) {
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+            this.failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                for (int i = this.from; i < this.to; i++) {
+                    regenerateGroup(this.groups.get(i));
+                }
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RegenerationTask(this.groups, this.from, middle, this.failures),
+                    new RegenerationTask(this.groups, middle, this.to, this.failures));
+        }
+
+        private void regenerateGroup(List<RecordedOperation> group) {
+            for (RecordedOperation operation : group) {
+                try {
+                    regenerate(operation);
+                } catch (RuntimeException ex) {
+                    this.failures.add(new Failure(operation, ex));
+                }
+            }
+        }
+    }
+
+    /**
+     * An operation whose snippets failed to regenerate.
+     */
+    static final class Failure {
+
+        private final RecordedOperation operation;
+
+        private final RuntimeException cause;
+
+        private Failure(RecordedOperation operation, RuntimeException cause) {
+            this.operation = operation;
+            this.cause = cause;
+        }
+
+        RecordedOperation getOperation() {
+            return this.operation;
+        }
+
+        RuntimeException getCause() {
+            return this.cause;
+        }
+    }
+}
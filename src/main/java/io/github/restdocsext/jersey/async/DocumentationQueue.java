@@ -0,0 +1,342 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.async;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A bounded queue of snippet jobs, rendered and written by background threads, so that
+ * documenting does not add to the time of a request. What happens when the queue is full is
+ * decided by its {@link OverflowPolicy}; except for {@link OverflowPolicy#BLOCK}, the request
+ * thread never waits and memory is bounded by the capacity of the queue.
+ *
+ * <pre>
+ * DocumentationQueue queue = new DocumentationQueue(1000, OverflowPolicy.DROP_OLDEST);
+ * RestdocsClient client = ((RestdocsClient) ClientBuilder.newClient()).documentationQueue(queue);
+ * </pre>
+ *
+ * Closing the client closes the queue, which writes the queued snippets first. Snippets that
+ * fail in the background do not fail the request; they are counted, and the last failure kept.
+ *
+ * @author Paul Samsotha
+ */
+public final class DocumentationQueue implements Closeable {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Runnable> jobs;
+
+    private final int capacity;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Thread[] workers;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final Object idle = new Object();
+
+    private volatile Throwable lastFailure;
+
+    private volatile boolean closed;
+
+    /**
+     * Create a queue with a single background thread.
+     *
+     * @param capacity the maximum number of queued jobs
+     * @param overflowPolicy what to do with a job when the queue is full
+     */
+    public DocumentationQueue(int capacity, OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, 1);
+    }
+
+    /**
+     * Create a queue.
+     *
+     * @param capacity the maximum number of queued jobs
+     * @param overflowPolicy what to do with a job when the queue is full
+     * @param threads the number of background threads writing snippets
+     */
+    public DocumentationQueue(int capacity, OverflowPolicy overflowPolicy, int threads) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        Preconditions.checkArgument(threads > 0, "threads must be positive");
+        Preconditions.checkNotNull(overflowPolicy, "overflowPolicy must not be null");
+        this.jobs = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            this.workers[i] = new Thread(this::work, "restdocs-documentation-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    /**
+     * Queue a snippet job, according to the overflow policy.
+     *
+     * @param job the job
+     * @return {@code true} if the job was queued, {@code false} if it was dropped
+     */
+    public boolean submit(Runnable job) {
+        Preconditions.checkNotNull(job, "job must not be null");
+        if (this.closed || !admit()) {
+            this.dropped.increment();
+            return false;
+        }
+        this.pending.incrementAndGet();
+        final boolean queued;
+        switch (this.overflowPolicy) {
+            case BLOCK:
+                queued = put(job);
+                break;
+            case DROP_OLDEST:
+                while (!this.jobs.offer(job)) {
+                    if (this.jobs.poll() != null) {
+                        this.dropped.increment();
+                        done();
+                    }
+                }
+                queued = true;
+                break;
+            default:
+                queued = this.jobs.offer(job);
+        }
+        if (!queued) {
+            this.dropped.increment();
+            done();
+            return false;
+        }
+        // closed while queuing: the workers may be gone, so take the job back unless it was taken
+        if (this.closed && this.jobs.remove(job)) {
+            this.dropped.increment();
+            done();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean admit() {
+        if (this.overflowPolicy != OverflowPolicy.SAMPLE_DOWN) {
+            return true;
+        }
+        final int half = this.capacity / 2;
+        final int depth = this.jobs.size();
+        return depth < half || ThreadLocalRandom.current().nextInt(this.capacity - half) < this.capacity - depth;
+    }
+
+    private boolean put(Runnable job) {
+        try {
+            this.jobs.put(job);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void work() {
+        while (true) {
+            final Runnable job;
+            try {
+                job = this.closed ? this.jobs.poll() : this.jobs.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (job == null) {
+                if (this.closed) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                job.run();
+            } catch (RuntimeException ex) {
+                this.failed.increment();
+                this.lastFailure = ex;
+            } finally {
+                this.completed.increment();
+                done();
+            }
+        }
+    }
+
+    private void done() {
+        if (this.pending.decrementAndGet() == 0) {
+            synchronized (this.idle) {
+                this.idle.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until all the queued jobs are done. Jobs can still be submitted while waiting.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return {@code true} if all jobs are done, {@code false} if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.idle) {
+            while (this.pending.get() > 0) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.idle, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting jobs, and wait until the queued jobs are done.
+     */
+    @Override
+    public void close() {
+        close(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop accepting jobs, and wait until the queued jobs are done, or the timeout elapses. Jobs
+     * still queued after the timeout are dropped.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return {@code true} if all jobs were done, {@code false} if jobs were dropped
+     */
+    public boolean close(long timeout, TimeUnit unit) {
+        this.closed = true;
+        final long deadline = System.nanoTime() + Math.min(unit.toNanos(timeout), Long.MAX_VALUE / 2);
+        boolean interrupted = false;
+        for (Thread worker : this.workers) {
+            while (worker.isAlive()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                    break;
+                }
+            }
+        }
+        boolean drained = true;
+        while (this.jobs.poll() != null) {
+            this.dropped.increment();
+            done();
+            drained = false;
+        }
+        for (Thread worker : this.workers) {
+            worker.interrupt();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return drained;
+    }
+
+    /**
+     * Get the number of jobs queued or being written.
+     *
+     * @return the count
+     */
+    public long getPendingJobs() {
+        return this.pending.get();
+    }
+
+    /**
+     * Get the number of jobs waiting in the queue.
+     *
+     * @return the queue depth
+     */
+    public int getDepth() {
+        return this.jobs.size();
+    }
+
+    /**
+     * Get the maximum number of queued jobs.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Get the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Get the number of jobs that were done, including the failed ones.
+     *
+     * @return the count
+     */
+    public long getCompletedJobs() {
+        return this.completed.sum();
+    }
+
+    /**
+     * Get the number of jobs dropped because the queue was full or closed.
+     *
+     * @return the count
+     */
+    public long getDroppedJobs() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Get the number of jobs that failed.
+     *
+     * @return the count
+     */
+    public long getFailedJobs() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Get the failure of the last job that failed.
+     *
+     * @return the failure, or {@code null} if no job failed
+     */
+    public Throwable getLastFailure() {
+        return this.lastFailure;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.async;
+
+/**
+ * What a {@link DocumentationQueue} does with a snippet job when it is full.
+ *
+ * @author Paul Samsotha
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The request thread waits until there is room in the queue. No documentation is lost, but
+     * requests stall when snippets are written slower than requests are made.
+     */
+    BLOCK,
+
+    /**
+     * The new job is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest queued job is dropped to make room for the new job.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Once the queue is half full, new jobs are accepted with a probability that decreases
+     * linearly to zero as the queue fills up. Documentation is thinned out evenly instead of
+     * being cut off once the queue is full.
+     */
+    SAMPLE_DOWN
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
+
+import io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+import static io.github.restdocsext.jersey.DocumentationProperties.DEFERRED_DOCUMENTATION_KEY;
+
+/**
+ * An invoker that makes requests asynchronously and returns a {@code CompletionStage} of the
+ * response. The documentation of the response is not done in the response filter, but chained
+ * onto the completion of the request, on the documentation executor. The stage completes once
+ * the response is documented, or completes exceptionally if documenting fails, so a suite can
+ * make many requests at once and still see every documentation failure.
+ *
+ * <pre>
+ * List&lt;CompletableFuture&lt;Response&gt;&gt; responses = teams.stream()
+ *         .map(team -&gt; target.path("teams").path(team)
+ *                 .register(document("get-team-" + team))
+ *                 .rx(executor).get().toCompletableFuture())
+ *         .collect(toList());
+ * </pre>
+ *
+ * Like the {@code Invocation.Builder} it wraps, an invoker should not be shared by threads
+ * setting headers or properties, but requests can be made from it concurrently.
+ *
+ * @author Paul Samsotha
+ */
+public final class CompletionStageInvoker {
+
+    private final Invocation.Builder builder;
+
+    private final Executor executor;
+
+    private final JerseyRestDocumentationConfigurer configurer;
+
+    /**
+     * Create an invoker making the requests built by {@code builder}.
+     *
+     * @param builder the request builder
+     * @param executor the executor documenting the responses
+     */
+    public CompletionStageInvoker(Invocation.Builder builder, Executor executor) {
+        Preconditions.checkNotNull(builder, "builder must not be null");
+        Preconditions.checkNotNull(executor, "executor must not be null");
+        this.builder = builder;
+        this.executor = executor;
+        this.configurer = null;
+    }
+
+    CompletionStageInvoker(Invocation.Builder builder, Executor executor,
+            JerseyRestDocumentationConfigurer configurer) {
+        this.builder = builder;
+        this.executor = executor;
+        this.configurer = configurer;
+    }
+
+    /**
+     * Add a header to the requests.
+     *
+     * @param name the header name
+     * @param value the header value
+     * @return this invoker
+     */
+    public CompletionStageInvoker header(String name, Object value) {
+        this.builder.header(name, value);
+        return this;
+    }
+
+    /**
+     * Make a {@code GET} request.
+     *
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> get() {
+        return method(HttpMethod.GET);
+    }
+
+    /**
+     * Make a {@code DELETE} request.
+     *
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> delete() {
+        return method(HttpMethod.DELETE);
+    }
+
+    /**
+     * Make a {@code POST} request.
+     *
+     * @param entity the request entity
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> post(Entity<?> entity) {
+        return method(HttpMethod.POST, entity);
+    }
+
+    /**
+     * Make a {@code PUT} request.
+     *
+     * @param entity the request entity
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> put(Entity<?> entity) {
+        return method(HttpMethod.PUT, entity);
+    }
+
+    /**
+     * Make a request without an entity.
+     *
+     * @param name the request method
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> method(String name) {
+        return method(name, null);
+    }
+
+    /**
+     * Make a request.
+     *
+     * @param name the request method
+     * @param entity the request entity, may be {@code null}
+     * @return the stage of the documented response
+     */
+    public CompletionStage<Response> method(String name, Entity<?> entity) {
+        final Queue<Runnable> deferred = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        final InvocationCallback<Response> callback = new InvocationCallback<Response>() {
+            @Override
+            public void completed(Response response) {
+                try {
+                    CompletionStageInvoker.this.executor.execute(() -> document(deferred, response, result));
+                } catch (RejectedExecutionException ex) {
+                    response.close();
+                    result.completeExceptionally(ex);
+                }
+            }
+
+            @Override
+            public void failed(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        };
+        // the invocation copies the request, and its properties, when it is made
+        synchronized (this.builder) {
+            this.builder.property(DEFERRED_DOCUMENTATION_KEY, deferred);
+            if (this.configurer != null) {
+                this.configurer.bindContext(this.builder);
+            }
+            if (entity == null) {
+                this.builder.async().method(name, callback);
+            } else {
+                this.builder.async().method(name, entity, callback);
+            }
+        }
+        return result;
+    }
+
+    private static void document(Queue<Runnable> deferred, Response response,
+            CompletableFuture<Response> result) {
+        try {
+            Runnable job;
+            while ((job = deferred.poll()) != null) {
+                job.run();
+            }
+            result.complete(response);
+        } catch (RuntimeException ex) {
+            response.close();
+            result.completeExceptionally(ex);
+        }
+    }
+}
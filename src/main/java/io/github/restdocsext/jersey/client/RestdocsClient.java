@@ -34,10 +34,17 @@ import org.glassfish.jersey.client.JerseyWebTarget;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 
 import io.github.restdocsext.jersey.DocumentationProperties;
+import io.github.restdocsext.jersey.HeaderFilter;
 import io.github.restdocsext.jersey.RequestInterceptor;
 import io.github.restdocsext.jersey.ResponseInterceptor;
+import io.github.restdocsext.jersey.async.DocumentationQueue;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
 
+import static io.github.restdocsext.jersey.DocumentationProperties.CLIENT_MONITOR_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.DOCUMENTATION_QUEUE_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.PROPERTY_KEY_SET;
+import static io.github.restdocsext.jersey.DocumentationProperties.REQUEST_HEADER_FILTER_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.RESPONSE_HEADER_FILTER_KEY;
 
 /**
  * A JAX-RS {@code Client} that is used for created API documentation, using Spring RestDocs.
@@ -57,6 +64,10 @@ public class RestdocsClient implements Client {
 
     private final JerseyClient delegate;
 
+    private final DocumentationClientMonitor monitor = new DocumentationClientMonitor();
+
+    private DocumentationQueue documentationQueue;
+
     /**
      * Creates a RestDocs client using a {@code JerseyClient} delegate.
      *
@@ -64,13 +75,80 @@ public class RestdocsClient implements Client {
      */
     public RestdocsClient(JerseyClient delegate) {
         this.delegate = delegate;
+        this.delegate.property(CLIENT_MONITOR_KEY, this.monitor);
     }
 
     @Override
     public void close() {
+        if (this.documentationQueue != null) {
+            this.documentationQueue.close();
+        }
+        this.monitor.unregister();
         this.delegate.close();
     }
 
+    /**
+     * Write the snippets of the requests made with this client in the background, with the
+     * {@code queue}. The queue is closed, after writing the queued snippets, when the client is
+     * closed.
+     *
+     * @param queue the documentation queue
+     * @return this client
+     */
+    public RestdocsClient documentationQueue(DocumentationQueue queue) {
+        this.documentationQueue = queue;
+        this.delegate.property(DOCUMENTATION_QUEUE_KEY, queue);
+        this.monitor.setDocumentationQueue(queue);
+        return this;
+    }
+
+    /**
+     * Filter the headers of the requests documented by this client. Excluded headers are left
+     * out when the request is converted, before any preprocessor runs, so they are never
+     * converted or documented.
+     *
+     * @param filter the header filter, or {@code null} to document all the headers
+     * @return this client
+     */
+    public RestdocsClient requestHeaders(HeaderFilter filter) {
+        this.delegate.property(REQUEST_HEADER_FILTER_KEY, filter);
+        return this;
+    }
+
+    /**
+     * Filter the headers of the responses documented by this client, like
+     * {@link #requestHeaders(HeaderFilter)}.
+     *
+     * @param filter the header filter, or {@code null} to document all the headers
+     * @return this client
+     */
+    public RestdocsClient responseHeaders(HeaderFilter filter) {
+        this.delegate.property(RESPONSE_HEADER_FILTER_KEY, filter);
+        return this;
+    }
+
+    /**
+     * Get the monitor holding the statistics and runtime settings of this client.
+     *
+     * @return the monitor
+     */
+    public DocumentationClientMonitor getMonitor() {
+        return this.monitor;
+    }
+
+    /**
+     * Register the monitor of this client with the platform MBean server, so the statistics can
+     * be watched and the settings changed with a JMX console. The MBean is unregistered when the
+     * client is closed.
+     *
+     * @param name the name of the client, unique among the registered clients
+     * @return this client
+     */
+    public RestdocsClient registerMBean(String name) {
+        this.monitor.register(name);
+        return this;
+    }
+
     @Override
     public RestdocsWebTarget target(String uri) {
         final JerseyWebTarget target = this.delegate.target(uri);
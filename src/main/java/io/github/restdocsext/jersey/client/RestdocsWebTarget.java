@@ -18,27 +18,35 @@ package io.github.restdocsext.jersey.client;
 
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.client.JerseyWebTarget;
 
+import io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer;
 import io.github.restdocsext.jersey.JerseyRestDocumentationFilter;
+import io.github.restdocsext.jersey.performance.Measurement;
+import io.github.restdocsext.jersey.performance.PerformanceResult;
+import io.github.restdocsext.jersey.performance.RequestInvoker;
 import jersey.repackaged.com.google.common.base.Preconditions;
 
 import static io.github.restdocsext.jersey.DocumentationProperties.DOCS_FILTER_KEY;
-import static io.github.restdocsext.jersey.DocumentationProperties.PATH_BUILDER_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.PATH_TEMPLATE_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.PERFORMANCE_RESULT_KEY;
 import static io.github.restdocsext.jersey.DocumentationProperties.PROPERTY_KEY_SET;
-import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_BUILDER_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_TEMPLATE_KEY;
 
 /**
  * Decorator around {@code JerseyWebTarget} that builds the URL template, as its URI related
  * methods are called. This class is to help support the path and query parameters validation
- * feature of Spring REST Docs.
+ * feature of Spring REST Docs. Like the targets it decorates, every target holds its own URL
+ * template, so a target can be shared by concurrent, and asynchronous, requests.
  *
  * This class should act no different than the original {@code JerseyWebTarget}, except the methods
  * that normally return a new {@code JerseyWebTarget}, return {@code RestdocsWebTarget}
@@ -54,14 +62,9 @@ public final class RestdocsWebTarget implements WebTarget {
         this.delegate = delegate;
     }
 
-    private StringBuilder getBuilderProperty(String prop) {
+    private String getTemplateProperty(String prop) {
         final Object property = this.delegate.getConfiguration().getProperty(prop);
-        final StringBuilder builder = property == null
-                ? new StringBuilder() : (StringBuilder) property;
-        if (property == null) {
-            this.delegate.getConfiguration().property(prop, builder);
-        }
-        return builder;
+        return property == null ? "" : (String) property;
     }
 
     @Override
@@ -77,8 +80,9 @@ public final class RestdocsWebTarget implements WebTarget {
     @Override
     public RestdocsWebTarget path(String path) throws NullPointerException {
         Preconditions.checkNotNull(path, "path is 'null'.");
-        getBuilderProperty(PATH_BUILDER_KEY).append(getNormalizedPath(path));
-        return new RestdocsWebTarget(this.delegate.path(path));
+        final JerseyWebTarget target = this.delegate.path(path);
+        target.property(PATH_TEMPLATE_KEY, getTemplateProperty(PATH_TEMPLATE_KEY) + getNormalizedPath(path));
+        return new RestdocsWebTarget(target);
     }
 
     private String getNormalizedPath(String path) {
@@ -139,7 +143,7 @@ public final class RestdocsWebTarget implements WebTarget {
     @Override
     public RestdocsWebTarget queryParam(String name, Object... values)
             throws NullPointerException {
-        final StringBuilder sb = getBuilderProperty(QUERY_BUILDER_KEY);
+        final StringBuilder sb = new StringBuilder(getTemplateProperty(QUERY_TEMPLATE_KEY));
         for (Object value : values) {
             if (sb.length() == 0) {
                 sb.append(name).append("=").append(value.toString());
@@ -147,7 +151,9 @@ public final class RestdocsWebTarget implements WebTarget {
                 sb.append("&").append(name).append("=").append(value.toString());
             }
         }
-        return new RestdocsWebTarget(this.delegate.queryParam(name, values));
+        final JerseyWebTarget target = this.delegate.queryParam(name, values);
+        target.property(QUERY_TEMPLATE_KEY, sb.toString());
+        return new RestdocsWebTarget(target);
     }
 
     @Override
@@ -165,6 +171,41 @@ public final class RestdocsWebTarget implements WebTarget {
         return this.delegate.request(acceptedResponseTypes);
     }
 
+    /**
+     * Create an invoker that returns a {@code CompletionStage} of the response, and documents the
+     * response on the {@code executor} instead of in the response filter. The documentation
+     * context of each request is resolved on the thread making the request.
+     *
+     * @param executor the executor documenting the responses
+     * @return the invoker
+     */
+    public CompletionStageInvoker rx(Executor executor) {
+        Preconditions.checkNotNull(executor, "executor must not be null");
+        JerseyRestDocumentationConfigurer configurer = null;
+        for (Object instance : getConfiguration().getInstances()) {
+            if (instance instanceof JerseyRestDocumentationConfigurer) {
+                configurer = (JerseyRestDocumentationConfigurer) instance;
+                break;
+            }
+        }
+        return new CompletionStageInvoker(request(), executor, configurer);
+    }
+
+    /**
+     * Measure the latency and throughput of the request made by the {@code invoker}, then make
+     * the request once more and document it. The measured requests are not documented. The
+     * measurement is documented by the
+     * {@link io.github.restdocsext.jersey.performance.PerformanceSnippet}.
+     *
+     * @param measurement the measurement settings
+     * @param invoker the invoker of the request
+     * @return the response of the documented request
+     */
+    public Response measure(Measurement measurement, RequestInvoker invoker) {
+        final PerformanceResult result = measurement.run(this, invoker);
+        return invoker.invoke(request().property(PERFORMANCE_RESULT_KEY, result));
+    }
+
     @Override
     public Configuration getConfiguration() {
         return this.delegate.getConfiguration();
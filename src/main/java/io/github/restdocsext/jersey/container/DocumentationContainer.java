@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.container;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.BindException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.test.DeploymentContext;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainer;
+import org.glassfish.jersey.test.spi.TestContainerFactory;
+
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.client.RestdocsClientBuilder;
+import io.github.restdocsext.jersey.client.RestdocsWebTarget;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An application running in a Jersey test container, shared by all the documentation tests of
+ * a JVM. Where every {@code JerseyTest} starts and stops its own container, a container is
+ * started the first time it is asked for, with an application and container factory, and
+ * stopped when the JVM exits.
+ *
+ * <pre>
+ * public class TeamDocumentation {
+ *
+ *     &#64;Rule
+ *     public JUnitRestDocumentation restDocumentation = new JUnitRestDocumentation();
+ *
+ *     private final DocumentationContainer container
+ *             = DocumentationContainer.inMemory(MyApplication.class);
+ *
+ *     &#64;Test
+ *     public void getTeams() {
+ *         container.target()
+ *                 .register(documentationConfiguration(restDocumentation))
+ *                 .register(document("get-teams"))
+ *                 .path("teams").request().get();
+ *     }
+ * }
+ * </pre>
+ *
+ * The fastest way to document an application is {@link #inMemory(Class)}, which needs no
+ * server, sockets or ports. A container factory like {@code GrizzlyTestContainerFactory}
+ * documents the requests as they go over HTTP, on a free port. The port is picked by the
+ * container factory when it supports port {@code 0}; otherwise a free port is looked up, and
+ * the container is started again on another port if it is taken before the container binds it.
+ *
+ * <p>The client returned by {@link #getClient()} is shared by all the tests, and components
+ * should be registered on targets rather than on it. A test that needs a client of its own can
+ * create one with {@link #newClient()}.
+ *
+ * @author Paul Samsotha
+ */
+public final class DocumentationContainer {
+
+    private static final String IN_MEMORY_FACTORY = "org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory";
+
+    private static final URI IN_MEMORY_BASE_URI = URI.create("http://localhost:8080/");
+
+    private static final int BIND_ATTEMPTS = 5;
+
+    private static final ConcurrentMap<List<Class<?>>, LazyContainer> CONTAINERS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (LazyContainer container : CONTAINERS.values()) {
+                container.stop();
+            }
+        }, "restdocs-container-shutdown"));
+    }
+
+    private final TestContainer container;
+
+    private final RestdocsClient client;
+
+    private DocumentationContainer(TestContainer container) {
+        this.container = container;
+        this.client = newClient();
+    }
+
+    /**
+     * Get the container running {@code application} in a container created by an instance of
+     * {@code containerFactory}, starting it if it is not running yet. The application and the
+     * container factory must have public no-arg constructors.
+     *
+     * @param application the application class
+     * @param containerFactory the container factory class
+     * @return the running container
+     */
+    public static DocumentationContainer get(Class<? extends Application> application,
+            Class<? extends TestContainerFactory> containerFactory) {
+        Preconditions.checkNotNull(application, "application must not be null");
+        Preconditions.checkNotNull(containerFactory, "containerFactory must not be null");
+        // the container is started outside of the map, which only holds a placeholder per key
+        return CONTAINERS.computeIfAbsent(Arrays.<Class<?>>asList(application, containerFactory),
+                key -> new LazyContainer(application, containerFactory)).get();
+    }
+
+    /**
+     * Get the container running {@code application} in memory, starting it if it is not running
+     * yet. Requests are handed to the application by an in-memory connector, without sockets
+     * or a server, and the documented URIs use the base URI {@code http://localhost:8080/}, which
+     * can be changed with the {@code uris()} configurer. The snippets are the same as over HTTP,
+     * except for the {@code User-Agent} header, which names the connector. This requires the
+     * {@code jersey-test-framework-provider-inmemory} dependency.
+     *
+     * @param application the application class
+     * @return the running container
+     */
+    public static DocumentationContainer inMemory(Class<? extends Application> application) {
+        return get(application, InMemoryTestContainerFactory.class);
+    }
+
+    /**
+     * Create a container running the {@code application} instance in memory, for instance a
+     * {@code ResourceConfig}, like {@link #inMemory(Class)}. The container is not shared, and
+     * holds no resources that need to be released.
+     *
+     * @param application the application
+     * @return the running container
+     */
+    public static DocumentationContainer inMemory(Application application) {
+        Preconditions.checkNotNull(application, "application must not be null");
+        return new DocumentationContainer(start(DeploymentContext.newInstance(application),
+                new InMemoryTestContainerFactory(), IN_MEMORY_BASE_URI));
+    }
+
+    private static DocumentationContainer start(Class<? extends Application> application,
+            Class<? extends TestContainerFactory> factoryClass) {
+        final TestContainerFactory factory;
+        try {
+            factory = factoryClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException ex) {
+            throw new IllegalStateException("Could not create the container factory "
+                    + factoryClass.getName() + ".", ex);
+        }
+        // an in-memory container listens on no port, so its URIs can be the same on every run
+        if (IN_MEMORY_FACTORY.equals(factoryClass.getName())) {
+            return new DocumentationContainer(start(DeploymentContext.newInstance(application), factory,
+                    IN_MEMORY_BASE_URI));
+        }
+        final TestContainer container = start(DeploymentContext.newInstance(application), factory,
+                URI.create("http://localhost:0/"));
+        if (container.getBaseUri().getPort() > 0) {
+            return new DocumentationContainer(container);
+        }
+        // the factory does not report the port it bound, so pick one
+        container.stop();
+        for (int attempt = 1;; attempt++) {
+            try {
+                return new DocumentationContainer(start(DeploymentContext.newInstance(application), factory,
+                        URI.create("http://localhost:" + freePort() + "/")));
+            } catch (RuntimeException ex) {
+                if (attempt == BIND_ATTEMPTS || !isBindFailure(ex)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static TestContainer start(DeploymentContext context, TestContainerFactory factory, URI baseUri) {
+        final TestContainer container = factory.create(baseUri, context);
+        container.start();
+        return container;
+    }
+
+    private static boolean isBindFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BindException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the base URI of the application.
+     *
+     * @return the base URI
+     */
+    public URI getBaseUri() {
+        return this.container.getBaseUri();
+    }
+
+    /**
+     * Get the documenting client bound to the application, shared by all the tests.
+     *
+     * @return the shared client
+     */
+    public RestdocsClient getClient() {
+        return this.client;
+    }
+
+    /**
+     * Create a target at the base URI of the application, from the shared client.
+     *
+     * @return a new target
+     */
+    public RestdocsWebTarget target() {
+        return this.client.target(getBaseUri());
+    }
+
+    /**
+     * Create a new documenting client bound to the application. The caller is responsible for
+     * closing it.
+     *
+     * @return a new client
+     */
+    public RestdocsClient newClient() {
+        final ClientConfig config = this.container.getClientConfig();
+        return (RestdocsClient) new RestdocsClientBuilder()
+                .withConfig(config == null ? new ClientConfig() : config).build();
+    }
+
+    private void stop() {
+        this.client.close();
+        this.container.stop();
+    }
+
+    /**
+     * The container of an application and container factory, started by the first test that
+     * asks for it. Tests asking for the same container wait for it to start, while other
+     * containers are started concurrently. A container that fails to start is started again by
+     * the next test.
+     */
+    private static final class LazyContainer {
+
+        private final Class<? extends Application> application;
+
+        private final Class<? extends TestContainerFactory> containerFactory;
+
+        private volatile DocumentationContainer container;
+
+        private LazyContainer(Class<? extends Application> application,
+                Class<? extends TestContainerFactory> containerFactory) {
+            this.application = application;
+            this.containerFactory = containerFactory;
+        }
+
+        DocumentationContainer get() {
+            DocumentationContainer started = this.container;
+            if (started == null) {
+                synchronized (this) {
+                    started = this.container;
+                    if (started == null) {
+                        started = start(this.application, this.containerFactory);
+                        this.container = started;
+                    }
+                }
+            }
+            return started;
+        }
+
+        void stop() {
+            final DocumentationContainer started = this.container;
+            if (started != null) {
+                started.stop();
+            }
+        }
+    }
+}
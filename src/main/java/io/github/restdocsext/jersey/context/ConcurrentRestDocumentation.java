@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.context;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.RestDocumentationContextProvider;
+
+import io.github.restdocsext.jersey.operation.record.RecordedDocumentationContext;
+
+/**
+ * A {@code RestDocumentationContextProvider} that can be used by tests running in parallel.
+ * Where {@code JUnitRestDocumentation} and {@code ManualRestDocumentation} hold a single
+ * mutable context, this provider binds a test to the thread that runs it, and every call to
+ * {@link #beforeOperation()} returns an immutable snapshot of the test bound to the calling
+ * thread, with its own step count. Tests are bound through {@link #beforeTest(Class, String)}
+ * and {@link #afterTest()}, or with a {@link ConcurrentRestDocumentationRule} in JUnit 4, so a
+ * single instance, and the configurer and client using it, can be shared by all the tests
+ * running in parallel. This class does not depend on JUnit.
+ *
+ * <p>A test that makes requests from threads of its own can carry its binding to them with
+ * {@link #wrap(Runnable)} or {@link #wrap(Callable)}. Asynchronous requests made through
+ * {@link io.github.restdocsext.jersey.client.RestdocsWebTarget#rx} resolve their context on the
+ * calling thread, so they need nothing more.
+ *
+ * @author Paul Samsotha
+ */
+public final class ConcurrentRestDocumentation implements RestDocumentationContextProvider {
+
+    private final ThreadLocal<TestBinding> binding = new ThreadLocal<>();
+
+    private final File outputDirectory;
+
+    /**
+     * Create a provider writing snippets to the default output directory,
+     * {@code target/generated-snippets} for a Maven build and {@code build/generated-snippets}
+     * otherwise.
+     */
+    public ConcurrentRestDocumentation() {
+        this.outputDirectory = OutputDirectories.defaultOutputDirectory();
+    }
+
+    /**
+     * Create a provider writing snippets to {@code outputDirectory}.
+     *
+     * @param outputDirectory the output directory
+     */
+    public ConcurrentRestDocumentation(String outputDirectory) {
+        this.outputDirectory = new File(outputDirectory);
+    }
+
+    /**
+     * Bind a test to the calling thread. Must be followed by a call to {@link #afterTest()} on
+     * the same thread once the test is complete.
+     *
+     * @param testClass the test class
+     * @param testMethodName the test method name, may be {@code null} for a class rule
+     * @throws IllegalStateException if a test is already bound to the calling thread
+     */
+    public void beforeTest(Class<?> testClass, String testMethodName) {
+        if (this.binding.get() != null) {
+            throw new IllegalStateException(
+                    "A test is already bound to this thread. Did you forget to call afterTest()?");
+        }
+        this.binding.set(new TestBinding(testClass, testMethodName, this.outputDirectory));
+    }
+
+    /**
+     * Unbind the test bound to the calling thread.
+     */
+    public void afterTest() {
+        this.binding.remove();
+    }
+
+    @Override
+    public RestDocumentationContext beforeOperation() {
+        final TestBinding current = this.binding.get();
+        if (current == null) {
+            throw new IllegalStateException("No test is bound to this thread. Call beforeTest(), or "
+                    + "wrap the work of other threads with wrap().");
+        }
+        return current.nextContext();
+    }
+
+    /**
+     * Wrap {@code task} so that, wherever it runs, the test bound to the calling thread is bound
+     * to the thread running it. The step count is shared with the calling thread.
+     *
+     * @param task the task
+     * @return the wrapped task
+     * @throws IllegalStateException if no test is bound to the calling thread
+     */
+    public Runnable wrap(final Runnable task) {
+        final TestBinding current = currentBinding();
+        return () -> {
+            final TestBinding previous = this.binding.get();
+            this.binding.set(current);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap {@code task} so that, wherever it runs, the test bound to the calling thread is bound
+     * to the thread running it. The step count is shared with the calling thread.
+     *
+     * @param task the task
+     * @param <T> the result type of the task
+     * @return the wrapped task
+     * @throws IllegalStateException if no test is bound to the calling thread
+     */
+    public <T> Callable<T> wrap(final Callable<T> task) {
+        final TestBinding current = currentBinding();
+        return () -> {
+            final TestBinding previous = this.binding.get();
+            this.binding.set(current);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private TestBinding currentBinding() {
+        final TestBinding current = this.binding.get();
+        if (current == null) {
+            throw new IllegalStateException("No test is bound to this thread.");
+        }
+        return current;
+    }
+
+    private void restore(TestBinding previous) {
+        if (previous == null) {
+            this.binding.remove();
+        } else {
+            this.binding.set(previous);
+        }
+    }
+
+    /**
+     * A test bound to one or more threads, counting the operations documented for it.
+     */
+    private static final class TestBinding {
+
+        private final Class<?> testClass;
+
+        private final String testMethodName;
+
+        private final File outputDirectory;
+
+        private final AtomicInteger stepCount = new AtomicInteger();
+
+        private TestBinding(Class<?> testClass, String testMethodName, File outputDirectory) {
+            this.testClass = testClass;
+            this.testMethodName = testMethodName;
+            this.outputDirectory = outputDirectory;
+        }
+
+        private RestDocumentationContext nextContext() {
+            return RecordedDocumentationContext.of(this.testClass, this.testMethodName,
+                    this.stepCount.incrementAndGet(), this.outputDirectory);
+        }
+    }
+}
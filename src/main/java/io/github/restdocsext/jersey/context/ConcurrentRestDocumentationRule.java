@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.context;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.RestDocumentationContextProvider;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A JUnit 4 rule that binds each test to a {@link ConcurrentRestDocumentation} for as long as
+ * it runs. It is a {@code RestDocumentationContextProvider} itself, so it can be used like
+ * {@code JUnitRestDocumentation}, with tests running in parallel.
+ *
+ * <pre>
+ * &#64;Rule
+ * public ConcurrentRestDocumentationRule documentation = new ConcurrentRestDocumentationRule();
+ * </pre>
+ *
+ * @author Paul Samsotha
+ */
+public final class ConcurrentRestDocumentationRule implements RestDocumentationContextProvider, TestRule {
+
+    private final ConcurrentRestDocumentation documentation;
+
+    /**
+     * Create a rule writing snippets to the default output directory,
+     * {@code target/generated-snippets} for a Maven build and {@code build/generated-snippets}
+     * otherwise.
+     */
+    public ConcurrentRestDocumentationRule() {
+        this(new ConcurrentRestDocumentation());
+    }
+
+    /**
+     * Create a rule writing snippets to {@code outputDirectory}.
+     *
+     * @param outputDirectory the output directory
+     */
+    public ConcurrentRestDocumentationRule(String outputDirectory) {
+        this(new ConcurrentRestDocumentation(outputDirectory));
+    }
+
+    /**
+     * Create a rule binding tests to {@code documentation}.
+     *
+     * @param documentation the documentation the tests are bound to
+     */
+    public ConcurrentRestDocumentationRule(ConcurrentRestDocumentation documentation) {
+        Preconditions.checkNotNull(documentation, "documentation must not be null");
+        this.documentation = documentation;
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ConcurrentRestDocumentationRule.this.documentation.beforeTest(description.getTestClass(),
+                        description.getMethodName());
+                try {
+                    base.evaluate();
+                } finally {
+                    ConcurrentRestDocumentationRule.this.documentation.afterTest();
+                }
+            }
+        };
+    }
+
+    @Override
+    public RestDocumentationContext beforeOperation() {
+        return this.documentation.beforeOperation();
+    }
+
+    /**
+     * Get the documentation the tests are bound to, for instance to {@code wrap} the work of
+     * other threads.
+     *
+     * @return the documentation
+     */
+    public ConcurrentRestDocumentation getDocumentation() {
+        return this.documentation;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.context;
+
+import java.io.File;
+
+/**
+ * The default snippet output directory: {@code target/generated-snippets} for a Maven build,
+ * detected by a {@code pom.xml} in the working directory, and {@code build/generated-snippets}
+ * otherwise, like {@code JUnitRestDocumentation}.
+ *
+ * @author Paul Samsotha
+ */
+public final class OutputDirectories {
+
+    private OutputDirectories() {
+    }
+
+    /**
+     * Get the default snippet output directory.
+     *
+     * @return the default output directory
+     */
+    public static File defaultOutputDirectory() {
+        return new File(new File("pom.xml").exists() ? "target/generated-snippets" : "build/generated-snippets");
+    }
+}
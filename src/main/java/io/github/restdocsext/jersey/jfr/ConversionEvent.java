@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for the conversion of a Jersey request or response to a Spring REST
+ * Docs operation request or response.
+ *
+ * @author Paul Samsotha
+ */
+@Name(ConversionEvent.NAME)
+@Label("Conversion")
+@Category("RESTDocsEXT Jersey")
+@Description("A Jersey request or response converted to a Spring REST Docs operation")
+@StackTrace(false)
+final class ConversionEvent extends Event {
+
+    static final String NAME = "io.github.restdocsext.jersey.Conversion";
+
+    @Label("Request")
+    @Description("Whether the request, rather than the response, was converted")
+    private boolean request;
+
+    @Label("Content Size")
+    @DataAmount
+    private long contentSize;
+
+    @Label("Headers")
+    private int headers;
+
+    @Label("Parts")
+    private int parts;
+
+    @Label("Conversion Time")
+    @Timespan
+    private long conversionTime;
+
+    static void emit(boolean request, long bytes, int headers, int parts, long nanos) {
+        final ConversionEvent event = new ConversionEvent();
+        if (event.shouldCommit()) {
+            event.request = request;
+            event.contentSize = bytes;
+            event.headers = headers;
+            event.parts = parts;
+            event.conversionTime = nanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+
+/**
+ * Receives the events of the documentation pipeline.
+ *
+ * @author Paul Samsotha
+ */
+interface DocumentationEventSink {
+
+    void entityCaptured(boolean request, Object mediaType, long bytes, boolean truncated, long nanos);
+
+    void converted(boolean request, long bytes, int headers, int parts, long nanos);
+
+    DocumentationTimingListener phaseListener(DocumentationTimingListener delegate);
+}
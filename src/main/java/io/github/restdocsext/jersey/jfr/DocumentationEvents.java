@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+
+/**
+ * Emits Java Flight Recorder events for the documentation pipeline. When the Flight Recorder
+ * API is not available, all methods do nothing.
+ *
+ * @author Paul Samsotha
+ */
+public final class DocumentationEvents {
+
+    private static final String JFR_SINK_CLASS = "io.github.restdocsext.jersey.jfr.JfrEventSink";
+
+    private static final DocumentationEventSink SINK = createSink();
+
+    private DocumentationEvents() {
+    }
+
+    /**
+     * Whether the events are emitted to the Flight Recorder.
+     *
+     * @return {@code true} if the Flight Recorder API is available
+     */
+    public static boolean isAvailable() {
+        return !(SINK instanceof NoOpEventSink);
+    }
+
+    /**
+     * Emit an event for the capture of a request or response entity.
+     *
+     * @param request {@code true} for the request entity, {@code false} for the response entity
+     * @param mediaType the media type of the entity, may be {@code null}
+     * @param bytes the number of bytes captured
+     * @param truncated whether the captured entity was truncated
+     * @param nanos the time spent capturing the entity
+     */
+    public static void entityCaptured(boolean request, Object mediaType, long bytes, boolean truncated,
+            long nanos) {
+        SINK.entityCaptured(request, mediaType, bytes, truncated, nanos);
+    }
+
+    /**
+     * Emit an event for the conversion of a Jersey request or response to an operation.
+     *
+     * @param request {@code true} for the request, {@code false} for the response
+     * @param bytes the size of the converted content
+     * @param headers the number of converted headers
+     * @param parts the number of converted request parts
+     * @param nanos the time spent converting
+     */
+    public static void converted(boolean request, long bytes, int headers, int parts, long nanos) {
+        SINK.converted(request, bytes, headers, parts, nanos);
+    }
+
+    /**
+     * Get a timing listener that emits an event for every documentation phase, and then passes
+     * the timing to the {@code delegate}. If phase events are not recorded, the
+     * {@code delegate} itself is returned, so that phases are only timed when needed.
+     *
+     * @param delegate the listener to pass the timings to, may be {@code null}
+     * @return the listener, or {@code null} if {@code delegate} is {@code null} and phase events
+     *     are not recorded
+     */
+    public static DocumentationTimingListener phaseListener(DocumentationTimingListener delegate) {
+        return SINK.phaseListener(delegate);
+    }
+
+    private static DocumentationEventSink createSink() {
+        try {
+            // loaded reflectively, so that the JFR classes are never linked when they do not exist
+            return (DocumentationEventSink) Class.forName(JFR_SINK_CLASS, true,
+                    DocumentationEvents.class.getClassLoader()).newInstance();
+        } catch (ReflectiveOperationException | LinkageError | IllegalStateException ex) {
+            return new NoOpEventSink();
+        }
+    }
+
+    /**
+     * Sink used when the Flight Recorder API is not available.
+     */
+    private static final class NoOpEventSink implements DocumentationEventSink {
+
+        @Override
+        public void entityCaptured(boolean request, Object mediaType, long bytes, boolean truncated,
+                long nanos) {
+        }
+
+        @Override
+        public void converted(boolean request, long bytes, int headers, int parts, long nanos) {
+        }
+
+        @Override
+        public DocumentationTimingListener phaseListener(DocumentationTimingListener delegate) {
+            return delegate;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import io.github.restdocsext.jersey.timing.PhaseTiming;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a phase of documenting a request, such as rendering the snippets.
+ *
+ * @author Paul Samsotha
+ */
+@Name(DocumentationPhaseEvent.NAME)
+@Label("Documentation Phase")
+@Category("RESTDocsEXT Jersey")
+@Description("A phase of documenting a request")
+@StackTrace(false)
+final class DocumentationPhaseEvent extends Event {
+
+    static final String NAME = "io.github.restdocsext.jersey.DocumentationPhase";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Identifier")
+    private String identifier;
+
+    @Label("URL Template")
+    private String urlTemplate;
+
+    @Label("Size")
+    @DataAmount
+    private long size;
+
+    @Label("Phase Time")
+    @Timespan
+    private long phaseTime;
+
+    static boolean isRecorded() {
+        return new DocumentationPhaseEvent().isEnabled();
+    }
+
+    static void emit(PhaseTiming timing) {
+        final DocumentationPhaseEvent event = new DocumentationPhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = timing.getPhase().name();
+            event.identifier = timing.getIdentifier();
+            event.urlTemplate = timing.getUrlTemplate();
+            event.size = timing.getBytes();
+            event.phaseTime = timing.getElapsedNanos();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for the capture of a request or response entity by the client
+ * interceptors.
+ *
+ * @author Paul Samsotha
+ */
+@Name(EntityCaptureEvent.NAME)
+@Label("Entity Capture")
+@Category("RESTDocsEXT Jersey")
+@Description("A request or response entity captured for documentation")
+@StackTrace(false)
+final class EntityCaptureEvent extends Event {
+
+    static final String NAME = "io.github.restdocsext.jersey.EntityCapture";
+
+    @Label("Request")
+    @Description("Whether the request entity, rather than the response entity, was captured")
+    private boolean request;
+
+    @Label("Media Type")
+    private String mediaType;
+
+    @Label("Captured Size")
+    @DataAmount
+    private long capturedSize;
+
+    @Label("Truncated")
+    @Description("Whether the captured entity was cut off at the capture limit")
+    private boolean truncated;
+
+    @Label("Capture Time")
+    @Timespan
+    private long captureTime;
+
+    static void emit(boolean request, Object mediaType, long bytes, boolean truncated, long nanos) {
+        final EntityCaptureEvent event = new EntityCaptureEvent();
+        if (event.shouldCommit()) {
+            event.request = request;
+            event.mediaType = mediaType == null ? null : mediaType.toString();
+            event.capturedSize = bytes;
+            event.truncated = truncated;
+            event.captureTime = nanos;
+            event.commit();
+        }
+    }
+}
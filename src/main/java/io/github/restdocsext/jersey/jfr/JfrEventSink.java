@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.timing.PhaseTiming;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Sink that emits Flight Recorder events. Only loaded when the Flight Recorder API exists.
+ *
+ * @author Paul Samsotha
+ */
+final class JfrEventSink implements DocumentationEventSink {
+
+    JfrEventSink() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available.");
+        }
+    }
+
+    @Override
+    public void entityCaptured(boolean request, Object mediaType, long bytes, boolean truncated, long nanos) {
+        EntityCaptureEvent.emit(request, mediaType, bytes, truncated, nanos);
+    }
+
+    @Override
+    public void converted(boolean request, long bytes, int headers, int parts, long nanos) {
+        ConversionEvent.emit(request, bytes, headers, parts, nanos);
+    }
+
+    @Override
+    public DocumentationTimingListener phaseListener(DocumentationTimingListener delegate) {
+        return DocumentationPhaseEvent.isRecorded() ? new PhaseEventListener(delegate) : delegate;
+    }
+
+    /**
+     * Listener that emits a phase event before passing the timing on.
+     */
+    private static final class PhaseEventListener implements DocumentationTimingListener {
+
+        private final DocumentationTimingListener delegate;
+
+        private PhaseEventListener(DocumentationTimingListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void phaseCompleted(PhaseTiming timing) {
+            DocumentationPhaseEvent.emit(timing);
+            if (this.delegate != null) {
+                this.delegate.phaseCompleted(timing);
+            }
+        }
+    }
+}
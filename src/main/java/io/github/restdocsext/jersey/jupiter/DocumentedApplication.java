@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jupiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainerFactory;
+
+/**
+ * Describes the application documented by a test class using the
+ * {@link JerseyRestDocumentationExtension}. Test classes describing the same application and
+ * container factory share one running
+ * {@link io.github.restdocsext.jersey.container.DocumentationContainer}.
+ *
+ * <pre>
+ * &#64;ExtendWith(JerseyRestDocumentationExtension.class)
+ * &#64;DocumentedApplication(MyApplication.class)
+ * class TeamDocumentation {
+ *
+ *     &#64;Test
+ *     void getTeams(RestdocsWebTarget target) {
+ *         target.path("teams").register(document("get-teams")).request().get();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Paul Samsotha
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DocumentedApplication {
+
+    /**
+     * The application to document. It must have a public no-arg constructor.
+     *
+     * @return the application class
+     */
+    Class<? extends Application> value();
+
+    /**
+     * The factory of the container running the application. It must have a public no-arg
+     * constructor. Defaults to running the application in memory, which requires the
+     * {@code jersey-test-framework-provider-inmemory} dependency.
+     *
+     * @return the container factory class
+     */
+    Class<? extends TestContainerFactory> containerFactory() default InMemoryTestContainerFactory.class;
+
+    /**
+     * The directory snippets are written to. Defaults to {@code target/generated-snippets} for
+     * a Maven build and {@code build/generated-snippets} otherwise.
+     *
+     * @return the output directory
+     */
+    String outputDirectory() default "";
+}
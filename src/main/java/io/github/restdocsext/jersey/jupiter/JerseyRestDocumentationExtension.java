@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jupiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer;
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.client.RestdocsWebTarget;
+import io.github.restdocsext.jersey.container.DocumentationContainer;
+import io.github.restdocsext.jersey.context.ConcurrentRestDocumentation;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+
+/**
+ * A JUnit Jupiter extension documenting the application described by the
+ * {@link DocumentedApplication} annotation of the test class. The application is started once,
+ * and shared by all the test classes describing it. The extension injects the following
+ * parameters into test methods:
+ *
+ * <ul>
+ *   <li>{@link RestdocsClient}, the documenting client bound to the running application. It can
+ *       also be injected into the constructor of the test class.</li>
+ *   <li>{@link JerseyRestDocumentationConfigurer}, the documentation configuration of the
+ *       test.</li>
+ *   <li>{@link RestdocsWebTarget}, a target at the base URI of the application, with the
+ *       configurer of the test already registered.</li>
+ * </ul>
+ *
+ * Every test has its own documentation context, bound to the thread running it by a
+ * {@link ConcurrentRestDocumentation}, so tests can run concurrently. The client is shared, so
+ * tests should register components on their targets rather than on the client.
+ *
+ * @author Paul Samsotha
+ */
+public class JerseyRestDocumentationExtension
+        implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE
+            = ExtensionContext.Namespace.create(JerseyRestDocumentationExtension.class);
+
+    private static final ConcurrentMap<String, ConcurrentRestDocumentation> DOCUMENTATIONS
+            = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        final DocumentedApplication application = findApplication(context.getRequiredTestClass());
+        final ConcurrentRestDocumentation documentation = DOCUMENTATIONS.computeIfAbsent(
+                application.outputDirectory(), directory -> directory.isEmpty()
+                        ? new ConcurrentRestDocumentation() : new ConcurrentRestDocumentation(directory));
+        // the container is started first, so a failure to start it leaves no test bound
+        final DocumentationContainer container = container(application);
+        documentation.beforeTest(context.getRequiredTestClass(), context.getRequiredTestMethod().getName());
+        context.getStore(NAMESPACE).put(TestState.class, new TestState(container,
+                documentation, documentationConfiguration(documentation)));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        final TestState state = context.getStore(NAMESPACE).remove(TestState.class, TestState.class);
+        if (state != null) {
+            state.documentation.afterTest();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        final Class<?> type = parameterContext.getParameter().getType();
+        return RestdocsClient.class.equals(type)
+                || JerseyRestDocumentationConfigurer.class.equals(type)
+                || RestdocsWebTarget.class.equals(type);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        final Class<?> type = parameterContext.getParameter().getType();
+        final TestState state = extensionContext.getStore(NAMESPACE).get(TestState.class, TestState.class);
+        if (RestdocsClient.class.equals(type)) {
+            return state != null ? state.container.getClient()
+                    : container(findApplication(extensionContext.getRequiredTestClass())).getClient();
+        }
+        if (state == null) {
+            throw new ParameterResolutionException(type.getSimpleName()
+                    + " can only be injected into test methods and their lifecycle methods.");
+        }
+        if (JerseyRestDocumentationConfigurer.class.equals(type)) {
+            return state.configurer;
+        }
+        return state.container.target().register(state.configurer);
+    }
+
+    private static DocumentationContainer container(DocumentedApplication application) {
+        return DocumentationContainer.get(application.value(), application.containerFactory());
+    }
+
+    private static DocumentedApplication findApplication(Class<?> testClass) {
+        for (Class<?> type = testClass; type != null; type = type.getEnclosingClass()) {
+            final DocumentedApplication application = type.getAnnotation(DocumentedApplication.class);
+            if (application != null) {
+                return application;
+            }
+        }
+        throw new IllegalStateException(testClass.getName() + " is not annotated with @"
+                + DocumentedApplication.class.getSimpleName() + ".");
+    }
+
+    /**
+     * The state of a single test.
+     */
+    private static final class TestState {
+
+        private final DocumentationContainer container;
+
+        private final ConcurrentRestDocumentation documentation;
+
+        private final JerseyRestDocumentationConfigurer configurer;
+
+        private TestState(DocumentationContainer container, ConcurrentRestDocumentation documentation,
+                JerseyRestDocumentationConfigurer configurer) {
+            this.container = container;
+            this.documentation = documentation;
+            this.configurer = configurer;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Contains a JUnit Jupiter extension for documenting a Jersey application. The
+ * {@link io.github.restdocsext.jersey.jupiter.JerseyRestDocumentationExtension} starts the
+ * application described by
+ * {@link io.github.restdocsext.jersey.jupiter.DocumentedApplication} once, and injects documenting
+ * clients bound to it into the tests, which may run concurrently.
+ */
+package io.github.restdocsext.jersey.jupiter;
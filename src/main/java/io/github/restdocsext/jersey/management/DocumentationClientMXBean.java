@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.management;
+
+/**
+ * Management interface of a documentation client. Exposes the statistics of the client, and
+ * lets the sampling rate and capture limit be changed while the client is running.
+ *
+ * @author Paul Samsotha
+ */
+public interface DocumentationClientMXBean {
+
+    /**
+     * Get the number of documented requests.
+     *
+     * @return the count
+     */
+    long getDocumentedRequests();
+
+    /**
+     * Get the number of requests that were not documented because they were sampled out. The
+     * requests of a performance measurement are not counted.
+     *
+     * @return the count
+     */
+    long getSkippedRequests();
+
+    /**
+     * Get the total size of the captured request and response entities.
+     *
+     * @return the bytes captured
+     */
+    long getCapturedBytes();
+
+    /**
+     * Get the number of exchanges whose request or response entity was cut off at the capture
+     * limit.
+     *
+     * @return the count
+     */
+    long getTruncatedCaptures();
+
+    /**
+     * Get the number of snippet jobs that are waiting to be written in the background.
+     *
+     * @return the count
+     */
+    long getPendingSnippetJobs();
+
+    /**
+     * Get the number of snippet jobs dropped because the background queue was full.
+     *
+     * @return the count
+     */
+    long getDroppedSnippetJobs();
+
+    /**
+     * Get the average time spent converting a request and response to an operation.
+     *
+     * @return the average in milliseconds
+     */
+    double getAverageConversionMillis();
+
+    /**
+     * Get the fraction of requests that are documented.
+     *
+     * @return the sampling rate, between {@code 0} and {@code 1}
+     */
+    double getSamplingRate();
+
+    /**
+     * Set the fraction of requests that are documented. Requests that are not sampled are
+     * sent as usual, without capturing or documenting them.
+     *
+     * @param samplingRate the sampling rate, between {@code 0} and {@code 1}
+     */
+    void setSamplingRate(double samplingRate);
+
+    /**
+     * Get the maximum number of bytes captured from a response entity.
+     *
+     * @return the capture limit
+     */
+    int getCaptureLimit();
+
+    /**
+     * Set the maximum number of bytes captured from a response entity. Larger entities are
+     * truncated in the documentation.
+     *
+     * @param captureLimit the capture limit, between {@code 1} and 16 MB
+     */
+    void setCaptureLimit(int captureLimit);
+
+    /**
+     * Reset all statistics to zero. The settings are not changed.
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import io.github.restdocsext.jersey.async.DocumentationQueue;
+
+/**
+ * The statistics and runtime settings of a documentation client. The client interceptors and
+ * documentation filters find the monitor of their client in the
+ * {@code DocumentationProperties.CLIENT_MONITOR_KEY} configuration property, so that settings
+ * changed through JMX apply to the next request.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationClientMonitor implements DocumentationClientMXBean {
+
+    /**
+     * The default maximum number of bytes captured from a request or response entity.
+     */
+    public static final int DEFAULT_CAPTURE_LIMIT = 8 * 1024;
+
+    /**
+     * The largest capture limit, in bytes.
+     */
+    public static final int MAX_CAPTURE_LIMIT = 16 * 1024 * 1024;
+
+    /**
+     * The JMX domain of registered monitors.
+     */
+    public static final String JMX_DOMAIN = "io.github.restdocsext.jersey";
+
+    private final LongAdder documentedRequests = new LongAdder();
+
+    private final LongAdder skippedRequests = new LongAdder();
+
+    private final LongAdder capturedBytes = new LongAdder();
+
+    private final LongAdder truncatedCaptures = new LongAdder();
+
+    private final LongAdder conversions = new LongAdder();
+
+    private final LongAdder conversionNanos = new LongAdder();
+
+    private volatile double samplingRate = 1;
+
+    private volatile int captureLimit = DEFAULT_CAPTURE_LIMIT;
+
+    private volatile DocumentationQueue documentationQueue;
+
+    private ObjectName objectName;
+
+    @Override
+    public long getDocumentedRequests() {
+        return this.documentedRequests.sum();
+    }
+
+    @Override
+    public long getSkippedRequests() {
+        return this.skippedRequests.sum();
+    }
+
+    @Override
+    public long getCapturedBytes() {
+        return this.capturedBytes.sum();
+    }
+
+    @Override
+    public long getTruncatedCaptures() {
+        return this.truncatedCaptures.sum();
+    }
+
+    @Override
+    public long getPendingSnippetJobs() {
+        final DocumentationQueue queue = this.documentationQueue;
+        return queue == null ? 0 : queue.getPendingJobs();
+    }
+
+    @Override
+    public long getDroppedSnippetJobs() {
+        final DocumentationQueue queue = this.documentationQueue;
+        return queue == null ? 0 : queue.getDroppedJobs();
+    }
+
+    @Override
+    public double getAverageConversionMillis() {
+        final long count = this.conversions.sum();
+        return count == 0 ? 0 : (double) this.conversionNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public double getSamplingRate() {
+        return this.samplingRate;
+    }
+
+    @Override
+    public void setSamplingRate(double samplingRate) {
+        if (!(samplingRate >= 0 && samplingRate <= 1)) {
+            throw new IllegalArgumentException("samplingRate must be between 0 and 1.");
+        }
+        this.samplingRate = samplingRate;
+    }
+
+    @Override
+    public int getCaptureLimit() {
+        return this.captureLimit;
+    }
+
+    @Override
+    public void setCaptureLimit(int captureLimit) {
+        this.captureLimit = checkCaptureLimit(captureLimit);
+    }
+
+    /**
+     * Check that {@code captureLimit} is between {@code 1} and {@link #MAX_CAPTURE_LIMIT}.
+     *
+     * @param captureLimit the capture limit
+     * @return the capture limit
+     * @throws IllegalArgumentException if the capture limit is out of range
+     */
+    public static int checkCaptureLimit(int captureLimit) {
+        if (captureLimit < 1 || captureLimit > MAX_CAPTURE_LIMIT) {
+            throw new IllegalArgumentException("captureLimit must be between 1 and " + MAX_CAPTURE_LIMIT + ".");
+        }
+        return captureLimit;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.documentedRequests.reset();
+        this.skippedRequests.reset();
+        this.capturedBytes.reset();
+        this.truncatedCaptures.reset();
+        this.conversions.reset();
+        this.conversionNanos.reset();
+    }
+
+    /**
+     * Decide whether the next request is documented, according to the sampling rate.
+     *
+     * @return {@code true} if the request should be documented
+     */
+    public boolean sample() {
+        final double rate = this.samplingRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Count a documented request.
+     */
+    public void requestDocumented() {
+        this.documentedRequests.increment();
+    }
+
+    /**
+     * Count a request that was sampled out.
+     */
+    public void requestSkipped() {
+        this.skippedRequests.increment();
+    }
+
+    /**
+     * Count the entities captured for a request.
+     *
+     * @param bytes the size of the captured request and response entities
+     * @param truncated whether the request or response entity was truncated
+     */
+    public void entitiesCaptured(long bytes, boolean truncated) {
+        this.capturedBytes.add(bytes);
+        if (truncated) {
+            this.truncatedCaptures.increment();
+        }
+    }
+
+    /**
+     * Count the conversion of a request and response to an operation.
+     *
+     * @param nanos the time spent converting
+     */
+    public void converted(long nanos) {
+        this.conversions.increment();
+        this.conversionNanos.add(nanos);
+    }
+
+    /**
+     * Report the snippet jobs of the background queue the client documents with.
+     *
+     * @param documentationQueue the queue, or {@code null} if snippets are written on the
+     *     request thread
+     */
+    public void setDocumentationQueue(DocumentationQueue documentationQueue) {
+        this.documentationQueue = documentationQueue;
+    }
+
+    /**
+     * Register this monitor with the platform MBean server, as
+     * {@code io.github.restdocsext.jersey:type=RestdocsClient,name=<name>}.
+     *
+     * @param name the name of the client
+     * @throws IllegalStateException if the monitor could not be registered, for instance because
+     *     a monitor with the same name is already registered
+     */
+    public synchronized void register(String name) {
+        if (this.objectName != null) {
+            throw new IllegalStateException("Monitor already registered as " + this.objectName + ".");
+        }
+        try {
+            final ObjectName candidate = new ObjectName(JMX_DOMAIN + ":type=RestdocsClient,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            this.objectName = candidate;
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not register monitor " + name + ".", ex);
+        }
+    }
+
+    /**
+     * Unregister this monitor from the platform MBean server, if it is registered.
+     */
+    public synchronized void unregister() {
+        if (this.objectName == null) {
+            return;
+        }
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not unregister monitor " + this.objectName + ".", ex);
+        } finally {
+            this.objectName = null;
+        }
+    }
+
+    /**
+     * Get the name the monitor is registered with.
+     *
+     * @return the object name, or {@code null} if the monitor is not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return this.objectName;
+    }
+}
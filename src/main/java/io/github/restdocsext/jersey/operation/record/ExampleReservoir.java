@@ -0,0 +1,289 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An {@link OperationRecorder} that keeps a bounded sample of the operations of every endpoint,
+ * an endpoint being a request method and URL template. It is meant for documenting a client from
+ * real traffic, in a shadow or production deployment, where recording every operation is not an
+ * option: memory is bounded by the number of endpoints times the number of examples kept,
+ * whatever the volume of traffic.
+ *
+ * The examples of an endpoint are sampled so that every response status seen is represented,
+ * and the operations of each status are sampled uniformly. The best example of an endpoint,
+ * the smallest successful exchange if there is one, can be published to a
+ * {@code SnippetRegenerator} on a schedule.
+ *
+ * <pre>
+ * ExampleReservoir examples = new ExampleReservoir(4);
+ * target.register(documentationConfiguration(documentation).operationRecorder(examples))
+ *         .register(record("teams"));
+ * examples.schedulePublishing(executor, regenerator::regenerate, 10, TimeUnit.MINUTES);
+ * </pre>
+ *
+ * Examples are kept with a snapshot of their documentation context, so that an example published
+ * long after it was recorded is written with the step count of its own request.
+ *
+ * @author Paul Samsotha
+ */
+public final class ExampleReservoir implements OperationRecorder {
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final int examplesPerEndpoint;
+
+    /**
+     * Create a reservoir keeping up to {@code examplesPerEndpoint} examples of every endpoint.
+     *
+     * @param examplesPerEndpoint the number of examples kept per endpoint
+     */
+    public ExampleReservoir(int examplesPerEndpoint) {
+        Preconditions.checkArgument(examplesPerEndpoint > 0, "examplesPerEndpoint must be positive");
+        this.examplesPerEndpoint = examplesPerEndpoint;
+    }
+
+    @Override
+    public void record(RecordedOperation operation) {
+        this.endpoints.computeIfAbsent(endpointOf(operation), key -> new Endpoint(this.examplesPerEndpoint))
+                .offer(operation.snapshot());
+    }
+
+    private static String endpointOf(RecordedOperation operation) {
+        final String urlTemplate = operation.getUrlTemplate() != null
+                ? operation.getUrlTemplate() : operation.getRequest().getUri().getPath();
+        return operation.getRequest().getMethod() + " " + urlTemplate;
+    }
+
+    /**
+     * Get the endpoints that examples were recorded for, as the request method and URL template.
+     *
+     * @return the endpoints, sorted
+     */
+    public List<String> getEndpoints() {
+        final List<String> keys = new ArrayList<>(this.endpoints.keySet());
+        keys.sort(null);
+        return keys;
+    }
+
+    /**
+     * Get the examples kept for an endpoint.
+     *
+     * @param endpoint the request method and URL template, e.g. {@code GET /teams/{id}}
+     * @return the examples, empty if the endpoint is unknown
+     */
+    public List<RecordedOperation> getExamples(String endpoint) {
+        final Endpoint examples = this.endpoints.get(endpoint);
+        return examples == null ? new ArrayList<RecordedOperation>() : examples.getExamples();
+    }
+
+    /**
+     * Get the best example of every endpoint. A successful exchange is preferred over a redirect,
+     * and a redirect over an error, then the exchange with the smallest payload.
+     *
+     * @return the best examples, by endpoint
+     */
+    public Map<String, RecordedOperation> getBestExamples() {
+        final Map<String, RecordedOperation> best = new TreeMap<>();
+        for (Map.Entry<String, Endpoint> entry : this.endpoints.entrySet()) {
+            best.put(entry.getKey(), entry.getValue().getBest());
+        }
+        return best;
+    }
+
+    /**
+     * Pass the best example of every endpoint whose examples changed since the last time they
+     * were published to {@code recorder}, for instance a {@code SnippetRegenerator}.
+     *
+     * @param recorder the recorder to publish to
+     * @return the number of examples published
+     * @throws IOException if an example could not be recorded
+     */
+    public int publishTo(OperationRecorder recorder) throws IOException {
+        int published = 0;
+        for (Endpoint endpoint : this.endpoints.values()) {
+            final RecordedOperation best = endpoint.takeChangedBest();
+            if (best != null) {
+                try {
+                    recorder.record(best);
+                } catch (IOException | RuntimeException ex) {
+                    endpoint.markChanged();
+                    throw ex;
+                }
+                published++;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Publish the best examples to {@code recorder} at a fixed rate. A failure to publish is
+     * retried on the next run.
+     *
+     * @param executor the executor to publish with
+     * @param recorder the recorder to publish to
+     * @param period the time between two publications
+     * @param unit the unit of the period
+     * @return the future to cancel publishing with
+     */
+    public ScheduledFuture<?> schedulePublishing(ScheduledExecutorService executor,
+            final OperationRecorder recorder, long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(() -> {
+            try {
+                publishTo(recorder);
+            } catch (IOException | RuntimeException ex) {
+                // keep the schedule, the examples are published again next time
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * The examples of an endpoint. Sampling is done under the lock of the endpoint, which only
+     * contends with exchanges of the same endpoint.
+     */
+    private static final class Endpoint {
+
+        private final RecordedOperation[] examples;
+
+        private final Map<Integer, long[]> seenByStatus = new HashMap<>();
+
+        private int size;
+
+        private boolean changed;
+
+        private Endpoint(int capacity) {
+            this.examples = new RecordedOperation[capacity];
+        }
+
+        synchronized void offer(RecordedOperation operation) {
+            final int status = statusOf(operation);
+            final long seen = ++this.seenByStatus.computeIfAbsent(status, key -> new long[1])[0];
+            if (this.size < this.examples.length) {
+                this.examples[this.size++] = operation;
+                this.changed = true;
+                return;
+            }
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int kept = countStatus(status);
+            if (kept == 0) {
+                // a new status takes the place of an example of the most sampled status
+                final int mostSampled = mostSampledStatus();
+                if (countStatus(mostSampled) > 1) {
+                    replace(mostSampled, random.nextInt(countStatus(mostSampled)), operation);
+                }
+            } else if (random.nextLong(seen) < kept) {
+                // uniform sample of the operations with this status
+                replace(status, random.nextInt(kept), operation);
+            }
+        }
+
+        private void replace(int status, int index, RecordedOperation operation) {
+            int found = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (statusOf(this.examples[i]) == status && found++ == index) {
+                    this.examples[i] = operation;
+                    this.changed = true;
+                    return;
+                }
+            }
+        }
+
+        private int countStatus(int status) {
+            int count = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (statusOf(this.examples[i]) == status) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int mostSampledStatus() {
+            int most = statusOf(this.examples[0]);
+            int mostCount = 0;
+            for (int i = 0; i < this.size; i++) {
+                final int status = statusOf(this.examples[i]);
+                final int count = countStatus(status);
+                if (count > mostCount) {
+                    most = status;
+                    mostCount = count;
+                }
+            }
+            return most;
+        }
+
+        synchronized List<RecordedOperation> getExamples() {
+            return new ArrayList<>(Arrays.asList(this.examples).subList(0, this.size));
+        }
+
+        synchronized RecordedOperation getBest() {
+            RecordedOperation best = null;
+            for (int i = 0; i < this.size; i++) {
+                if (best == null || isBetter(this.examples[i], best)) {
+                    best = this.examples[i];
+                }
+            }
+            return best;
+        }
+
+        synchronized RecordedOperation takeChangedBest() {
+            if (!this.changed) {
+                return null;
+            }
+            this.changed = false;
+            return getBest();
+        }
+
+        synchronized void markChanged() {
+            this.changed = true;
+        }
+
+        private static boolean isBetter(RecordedOperation candidate, RecordedOperation best) {
+            final int candidateClass = statusOf(candidate) / 100;
+            final int bestClass = statusOf(best) / 100;
+            if (candidateClass != bestClass) {
+                return candidateClass < bestClass && candidateClass >= 2;
+            }
+            return payloadOf(candidate) < payloadOf(best);
+        }
+
+        private static int statusOf(RecordedOperation operation) {
+            return operation.getResponse().getStatus().value();
+        }
+
+        private static long payloadOf(RecordedOperation operation) {
+            final byte[] request = operation.getRequest().getContent();
+            final byte[] response = operation.getResponse().getContent();
+            return (request == null ? 0 : request.length) + (response == null ? 0 : response.length);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.QueryStringParser;
+import org.springframework.restdocs.operation.RequestCookie;
+import org.springframework.util.Base64Utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An {@link OperationRecorder} that writes operations to an HTTP Archive (HAR 1.2) file, so
+ * the documented exchanges can be inspected with standard HTTP tooling, for instance to
+ * analyze the latency of the documented endpoints.
+ *
+ * <pre>
+ * HarWriter har = new HarWriter(new File("build/operations.har"));
+ *
+ * client.target(uri)
+ *         .register(documentationConfiguration(this.restDocumentation).operationRecorder(har))
+ *         .register(document("get-teams"))
+ * </pre>
+ *
+ * Entries are streamed to the file as operations are recorded, so operations are not kept in
+ * memory. The archive is only complete once the writer is closed. The documentation identifier
+ * and URL template of each entry are written as the custom {@code _identifier} and
+ * {@code _urlTemplate} fields.
+ *
+ * @author Paul Samsotha
+ */
+public final class HarWriter implements OperationRecorder, Closeable {
+
+    private static final String HTTP_VERSION = "HTTP/1.1";
+
+    private static final QueryStringParser QUERY_STRING_PARSER = new QueryStringParser();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT);
+
+    private final JsonGenerator json;
+
+    private boolean closed;
+
+    private long droppedOperations;
+
+    /**
+     * Create a writer that writes a new HTTP Archive to the {@code file}.
+     *
+     * @param file the HAR file
+     * @throws IOException if the file cannot be written
+     */
+    public HarWriter(File file) throws IOException {
+        Preconditions.checkNotNull(file, "file must not be null");
+        if (file.getAbsoluteFile().getParentFile() != null) {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        this.dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        this.json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.json.writeStartObject();
+        this.json.writeObjectFieldStart("log");
+        this.json.writeStringField("version", "1.2");
+        this.json.writeObjectFieldStart("creator");
+        this.json.writeStringField("name", "RESTDocsEXT Jersey");
+        this.json.writeStringField("version", getVersion());
+        this.json.writeEndObject();
+        this.json.writeArrayFieldStart("entries");
+        this.json.flush();
+    }
+
+    private static String getVersion() {
+        final String version = HarWriter.class.getPackage().getImplementationVersion();
+        return version == null ? "unknown" : version;
+    }
+
+    @Override
+    public synchronized void record(RecordedOperation operation) throws IOException {
+        if (this.closed) {
+            this.droppedOperations++;
+            return;
+        }
+        final OperationTiming timing = operation.getTiming();
+        final long startTime = timing == null ? System.currentTimeMillis() : timing.getStartTimeMillis();
+        final double time = timing == null ? 0 : timing.getElapsedNanos() / 1000000.0;
+
+        this.json.writeStartObject();
+        this.json.writeStringField("startedDateTime", this.dateFormat.format(new Date(startTime)));
+        this.json.writeNumberField("time", time);
+        writeRequest(operation.getRequest());
+        writeResponse(operation.getResponse());
+        this.json.writeObjectFieldStart("cache");
+        this.json.writeEndObject();
+        this.json.writeObjectFieldStart("timings");
+        // only the total time is measured, so it is all counted as waiting
+        this.json.writeNumberField("send", -1);
+        this.json.writeNumberField("wait", time);
+        this.json.writeNumberField("receive", -1);
+        this.json.writeEndObject();
+        this.json.writeStringField("_identifier", operation.getIdentifier());
+        this.json.writeStringField("_urlTemplate", operation.getUrlTemplate());
+        this.json.writeEndObject();
+        this.json.flush();
+    }
+
+    private void writeRequest(OperationRequest request) throws IOException {
+        this.json.writeObjectFieldStart("request");
+        this.json.writeStringField("method", request.getMethod().name());
+        this.json.writeStringField("url", request.getUri().toString());
+        this.json.writeStringField("httpVersion", HTTP_VERSION);
+        this.json.writeArrayFieldStart("cookies");
+        for (RequestCookie cookie : request.getCookies()) {
+            writeNameValue(cookie.getName(), cookie.getValue());
+        }
+        this.json.writeEndArray();
+        writeHeaders(request.getHeaders());
+        this.json.writeArrayFieldStart("queryString");
+        writeNameValues(QUERY_STRING_PARSER.parse(request.getUri()));
+        this.json.writeEndArray();
+        final byte[] content = request.getContent();
+        if (content.length > 0) {
+            final MediaType contentType = request.getHeaders().getContentType();
+            this.json.writeObjectFieldStart("postData");
+            this.json.writeStringField("mimeType", contentType == null ? "" : contentType.toString());
+            writeText(content, contentType, "_encoding");
+            this.json.writeEndObject();
+        }
+        this.json.writeNumberField("headersSize", -1);
+        this.json.writeNumberField("bodySize", content.length);
+        this.json.writeEndObject();
+    }
+
+    private void writeResponse(OperationResponse response) throws IOException {
+        final HttpHeaders headers = response.getHeaders();
+        final MediaType contentType = headers.getContentType();
+        final byte[] content = response.getContent();
+        this.json.writeObjectFieldStart("response");
+        this.json.writeNumberField("status", response.getStatus().value());
+        this.json.writeStringField("statusText", response.getStatus().getReasonPhrase());
+        this.json.writeStringField("httpVersion", HTTP_VERSION);
+        this.json.writeArrayFieldStart("cookies");
+        this.json.writeEndArray();
+        writeHeaders(headers);
+        this.json.writeObjectFieldStart("content");
+        this.json.writeNumberField("size", content.length);
+        this.json.writeStringField("mimeType", contentType == null ? "" : contentType.toString());
+        if (content.length > 0) {
+            writeText(content, contentType, "encoding");
+        }
+        this.json.writeEndObject();
+        final String location = headers.getFirst(HttpHeaders.LOCATION);
+        this.json.writeStringField("redirectURL", location == null ? "" : location);
+        this.json.writeNumberField("headersSize", -1);
+        this.json.writeNumberField("bodySize", content.length);
+        this.json.writeEndObject();
+    }
+
+    /**
+     * Write the content as text, or encoded with base64 if it is not text. The HAR format only
+     * defines the encoding of response content, so request content uses a custom field.
+     */
+    private void writeText(byte[] content, MediaType contentType, String encodingField) throws IOException {
+        if (isText(contentType)) {
+            this.json.writeStringField("text", new String(content, getCharset(contentType)));
+        } else {
+            this.json.writeStringField("text", Base64Utils.encodeToString(content));
+            this.json.writeStringField(encodingField, "base64");
+        }
+    }
+
+    private void writeHeaders(HttpHeaders headers) throws IOException {
+        this.json.writeArrayFieldStart("headers");
+        writeNameValues(headers);
+        this.json.writeEndArray();
+    }
+
+    private void writeNameValues(Map<String, List<String>> values) throws IOException {
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+            for (String value : entry.getValue()) {
+                writeNameValue(entry.getKey(), value);
+            }
+        }
+    }
+
+    private void writeNameValue(String name, String value) throws IOException {
+        this.json.writeStartObject();
+        this.json.writeStringField("name", name);
+        this.json.writeStringField("value", value);
+        this.json.writeEndObject();
+    }
+
+    private static boolean isText(MediaType contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        final String subtype = contentType.getSubtype();
+        return "text".equals(contentType.getType()) || subtype.contains("json") || subtype.contains("xml")
+                || subtype.contains("javascript") || subtype.equals("x-www-form-urlencoded");
+    }
+
+    private static Charset getCharset(MediaType contentType) {
+        return contentType == null || contentType.getCharset() == null
+                ? StandardCharsets.UTF_8 : contentType.getCharset();
+    }
+
+    /**
+     * Get the number of operations that were dropped because they were recorded after the
+     * writer was closed.
+     *
+     * @return the count
+     */
+    public synchronized long getDroppedOperations() {
+        return this.droppedOperations;
+    }
+
+    /**
+     * Completes the archive and closes the file. Operations recorded afterwards are dropped.
+     *
+     * @throws IOException if the archive cannot be completed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.json.writeEndArray();
+        this.json.writeEndObject();
+        this.json.writeEndObject();
+        this.json.close();
+    }
+}
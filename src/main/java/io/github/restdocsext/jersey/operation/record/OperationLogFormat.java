@@ -0,0 +1,336 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationRequestFactory;
+import org.springframework.restdocs.operation.OperationRequestPart;
+import org.springframework.restdocs.operation.OperationRequestPartFactory;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.OperationResponseFactory;
+import org.springframework.restdocs.operation.Parameters;
+import org.springframework.restdocs.operation.RequestCookie;
+import org.springframework.restdocs.templates.TemplateFormat;
+import org.springframework.restdocs.templates.TemplateFormats;
+
+/**
+ * The binary format of an operation log. A log starts with a header, consisting of a magic
+ * number and the format version, followed by any number of frames. Each frame holds a
+ * single operation and is written as a flags byte, the length of the payload and the payload.
+ * Frames are independent from each other, so a log can be appended to with or without
+ * compression.
+ *
+ * All strings are written as UTF-8 bytes, prefixed with their length. A length of {@code -1}
+ * denotes a {@code null} string.
+ *
+ * @author Paul Samsotha
+ */
+final class OperationLogFormat {
+
+    /**
+     * Magic number at the start of every operation log ("RDOL").
+     */
+    static final int MAGIC = 0x52444F4C;
+
+    /**
+     * Current format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Length of the log header in bytes.
+     */
+    static final int HEADER_LENGTH = 5;
+
+    /**
+     * Length of the flags and payload length that start every frame, in bytes.
+     */
+    static final int FRAME_HEADER_LENGTH = 5;
+
+    /**
+     * Frame flag for a payload that is deflate-compressed.
+     */
+    static final int FLAG_DEFLATED = 1;
+
+    private static final OperationRequestFactory REQUEST_FACTORY = new OperationRequestFactory();
+
+    private static final OperationRequestPartFactory PART_FACTORY = new OperationRequestPartFactory();
+
+    private static final OperationResponseFactory RESPONSE_FACTORY = new OperationResponseFactory();
+
+    private OperationLogFormat() {
+    }
+
+    static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    static void readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an operation log.");
+        }
+        final int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported operation log version " + version + ".");
+        }
+    }
+
+    static void writeOperation(DataOutput out, RecordedOperation operation) throws IOException {
+        writeString(out, operation.getIdentifier());
+        writeString(out, operation.getUrlTemplate());
+        writeString(out, operation.getSnippetEncoding());
+        writeTemplateFormat(out, operation.getTemplateFormat());
+        writeContext(out, operation.getContext());
+        writeRequest(out, operation.getRequest());
+        writeResponse(out, operation.getResponse());
+        writeTiming(out, operation.getTiming());
+        out.writeBoolean(operation.isTruncated());
+    }
+
+    static RecordedOperation readOperation(DataInput in) throws IOException {
+        final String identifier = readString(in);
+        final String urlTemplate = readString(in);
+        final String snippetEncoding = readString(in);
+        final TemplateFormat templateFormat = readTemplateFormat(in);
+        final RestDocumentationContext context = readContext(in);
+        final OperationRequest request = readRequest(in);
+        final OperationResponse response = readResponse(in);
+        final RecordedOperation operation = new RecordedOperation(identifier, urlTemplate, request,
+                response, context, snippetEncoding, templateFormat);
+        final OperationTiming timing = readTiming(in);
+        final RecordedOperation timed = timing == null ? operation : operation.withTiming(timing);
+        return in.readBoolean() ? timed.asTruncated() : timed;
+    }
+
+    private static void writeTiming(DataOutput out, OperationTiming timing) throws IOException {
+        out.writeBoolean(timing != null);
+        if (timing != null) {
+            out.writeLong(timing.getStartTimeMillis());
+            out.writeLong(timing.getElapsedNanos());
+        }
+    }
+
+    private static OperationTiming readTiming(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new OperationTiming(in.readLong(), in.readLong());
+    }
+
+    private static void writeTemplateFormat(DataOutput out, TemplateFormat format) throws IOException {
+        writeString(out, format == null ? null : format.getId());
+        writeString(out, format == null ? null : format.getFileExtension());
+    }
+
+    private static TemplateFormat readTemplateFormat(DataInput in) throws IOException {
+        final String id = readString(in);
+        final String fileExtension = readString(in);
+        if (id == null) {
+            return null;
+        }
+        if (TemplateFormats.asciidoctor().getId().equals(id)) {
+            return TemplateFormats.asciidoctor();
+        }
+        if (TemplateFormats.markdown().getId().equals(id)) {
+            return TemplateFormats.markdown();
+        }
+        return new RecordedTemplateFormat(id, fileExtension);
+    }
+
+    private static void writeContext(DataOutput out, RestDocumentationContext context)
+            throws IOException {
+        final String testClassName;
+        if (context instanceof RecordedDocumentationContext) {
+            testClassName = ((RecordedDocumentationContext) context).getTestClassName();
+        } else {
+            testClassName = context.getTestClass() == null ? null : context.getTestClass().getName();
+        }
+        writeString(out, testClassName);
+        writeString(out, context.getTestMethodName());
+        out.writeInt(context.getStepCount());
+        writeString(out, context.getOutputDirectory() == null
+                ? null : context.getOutputDirectory().getPath());
+    }
+
+    private static RestDocumentationContext readContext(DataInput in) throws IOException {
+        final String testClassName = readString(in);
+        final String testMethodName = readString(in);
+        final int stepCount = in.readInt();
+        final String outputDirectory = readString(in);
+        return new RecordedDocumentationContext(testClassName, testMethodName, stepCount,
+                outputDirectory == null ? null : new File(outputDirectory));
+    }
+
+    private static void writeRequest(DataOutput out, OperationRequest request) throws IOException {
+        writeString(out, request.getUri().toString());
+        writeString(out, request.getMethod().name());
+        writeHeaders(out, request.getHeaders());
+        writeBytes(out, request.getContent());
+        writeMultiValueMap(out, request.getParameters());
+        out.writeInt(request.getParts().size());
+        for (OperationRequestPart part : request.getParts()) {
+            writeString(out, part.getName());
+            writeString(out, part.getSubmittedFileName());
+            writeBytes(out, part.getContent());
+            writeHeaders(out, part.getHeaders());
+        }
+        out.writeInt(request.getCookies().size());
+        for (RequestCookie cookie : request.getCookies()) {
+            writeString(out, cookie.getName());
+            writeString(out, cookie.getValue());
+        }
+    }
+
+    private static OperationRequest readRequest(DataInput in) throws IOException {
+        final URI uri = URI.create(readString(in));
+        final HttpMethod method = HttpMethod.valueOf(readString(in));
+        final HttpHeaders headers = readHeaders(in);
+        final byte[] content = readBytes(in);
+        final Parameters parameters = new Parameters();
+        readMultiValueMap(in, parameters);
+        final int partCount = in.readInt();
+        final List<OperationRequestPart> parts = new ArrayList<>(partCount);
+        for (int i = 0; i < partCount; i++) {
+            final String name = readString(in);
+            final String submittedFileName = readString(in);
+            final byte[] partContent = readBytes(in);
+            parts.add(PART_FACTORY.create(name, submittedFileName, partContent, readHeaders(in)));
+        }
+        final int cookieCount = in.readInt();
+        final List<RequestCookie> cookies = new ArrayList<>(cookieCount);
+        for (int i = 0; i < cookieCount; i++) {
+            cookies.add(new RequestCookie(readString(in), readString(in)));
+        }
+        return REQUEST_FACTORY.create(uri, method, content, headers, parameters, parts, cookies);
+    }
+
+    private static void writeResponse(DataOutput out, OperationResponse response) throws IOException {
+        out.writeShort(response.getStatus().value());
+        writeHeaders(out, response.getHeaders());
+        writeBytes(out, response.getContent());
+    }
+
+    private static OperationResponse readResponse(DataInput in) throws IOException {
+        final HttpStatus status = HttpStatus.valueOf(in.readUnsignedShort());
+        final HttpHeaders headers = readHeaders(in);
+        return RESPONSE_FACTORY.create(status, headers, readBytes(in));
+    }
+
+    private static void writeHeaders(DataOutput out, HttpHeaders headers) throws IOException {
+        writeMultiValueMap(out, headers);
+    }
+
+    private static HttpHeaders readHeaders(DataInput in) throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        readMultiValueMap(in, headers);
+        return headers;
+    }
+
+    private static void writeMultiValueMap(DataOutput out, Map<String, List<String>> map)
+            throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String value : entry.getValue()) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static void readMultiValueMap(DataInput in, Map<String, List<String>> map)
+            throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            final String key = readString(in);
+            final int valueCount = in.readInt();
+            final List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(readString(in));
+            }
+            map.put(key, values);
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        final byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * A template format that is not one of the formats provided by Spring REST Docs.
+     */
+    private static final class RecordedTemplateFormat implements TemplateFormat {
+
+        private final String id;
+
+        private final String fileExtension;
+
+        private RecordedTemplateFormat(String id, String fileExtension) {
+            this.id = id;
+            this.fileExtension = fileExtension;
+        }
+
+        @Override
+        public String getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getFileExtension() {
+            return this.fileExtension;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads the operations from an operation log written by an {@link OperationLogWriter}.
+ *
+ * <pre>
+ * try (OperationLogReader reader = new OperationLogReader(file)) {
+ *     RecordedOperation operation;
+ *     while ((operation = reader.read()) != null) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * A frame that is cut short at the end of the log, for instance because the writing JVM
+ * was killed, is ignored. A frame with a negative length is rejected as corrupt.
+ *
+ * @author Paul Samsotha
+ */
+public final class OperationLogReader implements Closeable {
+
+    private final DataInputStream in;
+
+    private long remaining;
+
+    /**
+     * Create a reader for the operation log {@code file}.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be opened or is not an operation log
+     */
+    public OperationLogReader(File file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            OperationLogFormat.readHeader(this.in);
+            this.remaining = file.length() - OperationLogFormat.HEADER_LENGTH;
+        } catch (IOException ex) {
+            this.in.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Read all the operations in the operation log {@code file}.
+     *
+     * @param file the log file
+     * @return the recorded operations, in the order they were recorded
+     * @throws IOException if the log cannot be read
+     */
+    public static List<RecordedOperation> readAll(File file) throws IOException {
+        final List<RecordedOperation> operations = new ArrayList<>();
+        try (OperationLogReader reader = new OperationLogReader(file)) {
+            RecordedOperation operation;
+            while ((operation = reader.read()) != null) {
+                operations.add(operation);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Read the next operation.
+     *
+     * @return the next operation, or {@code null} if the end of the log is reached
+     * @throws IOException if the log cannot be read
+     */
+    public RecordedOperation read() throws IOException {
+        final int flags = this.in.read();
+        if (flags == -1) {
+            return null;
+        }
+        if (this.remaining < OperationLogFormat.FRAME_HEADER_LENGTH) {
+            return null;
+        }
+        final int length = this.in.readInt();
+        this.remaining -= OperationLogFormat.FRAME_HEADER_LENGTH;
+        if (length < 0) {
+            throw new IOException("Corrupt operation log frame of length " + length + ".");
+        }
+        if (length > this.remaining) {
+            // cut short, the length is not trusted to allocate the frame
+            return null;
+        }
+        final byte[] frame = new byte[length];
+        this.in.readFully(frame);
+        this.remaining -= length;
+
+        InputStream payload = new ByteArrayInputStream(frame);
+        if ((flags & OperationLogFormat.FLAG_DEFLATED) != 0) {
+            payload = new InflaterInputStream(payload);
+        }
+        try (DataInputStream payloadIn = new DataInputStream(payload)) {
+            return OperationLogFormat.readOperation(payloadIn);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
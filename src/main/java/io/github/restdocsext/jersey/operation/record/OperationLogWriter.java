@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An {@link OperationRecorder} that appends operations to an operation log file. If the file
+ * already exists, operations are appended to the end of it, after the last complete frame; a
+ * frame cut short because the writing JVM died is removed first. Each operation is written as
+ * soon as it is recorded, so the log can be read even if the writer is never closed.
+ *
+ * <pre>
+ * OperationLogWriter log = new OperationLogWriter(new File("build/operations.log"), true);
+ *
+ * client.target(uri)
+ *         .register(documentationConfiguration(this.restDocumentation).operationRecorder(log))
+ *         .register(document("get-teams"))
+ * </pre>
+ *
+ * The log can be read with an {@link OperationLogReader}, and the snippets regenerated with
+ * a {@link io.github.restdocsext.jersey.SnippetRegenerator}.
+ *
+ * @author Paul Samsotha
+ */
+public final class OperationLogWriter implements OperationRecorder, Closeable {
+
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+    private final DataOutputStream payloadOut = new DataOutputStream(this.payload);
+
+    private final Deflater deflater;
+
+    private final DataOutputStream out;
+
+    /**
+     * Create a writer that appends uncompressed operations to the {@code file}.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be opened or is not an operation log
+     */
+    public OperationLogWriter(File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * Create a writer that appends operations to the {@code file}.
+     *
+     * @param file the log file
+     * @param compress whether operations should be deflate-compressed
+     * @throws IOException if the file cannot be opened or is not an operation log
+     */
+    public OperationLogWriter(File file, boolean compress) throws IOException {
+        Preconditions.checkNotNull(file, "file must not be null");
+        final boolean append = file.exists() && file.length() > 0;
+        if (append) {
+            truncateIncompleteFrame(file);
+        } else if (file.getAbsoluteFile().getParentFile() != null) {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        if (!append) {
+            OperationLogFormat.writeHeader(this.out);
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Check that the existing file is an operation log of the current version, and cut it after
+     * its last complete frame, so the frames appended to it can be read. Only the frame headers
+     * are read.
+     */
+    private static void truncateIncompleteFrame(File file) throws IOException {
+        try (RandomAccessFile log = new RandomAccessFile(file, "rw")) {
+            OperationLogFormat.readHeader(log);
+            final long length = log.length();
+            long end = OperationLogFormat.HEADER_LENGTH;
+            while (length - end >= OperationLogFormat.FRAME_HEADER_LENGTH) {
+                log.seek(end + 1);
+                final int frameLength = log.readInt();
+                if (frameLength < 0 || frameLength > length - end - OperationLogFormat.FRAME_HEADER_LENGTH) {
+                    break;
+                }
+                end += OperationLogFormat.FRAME_HEADER_LENGTH + frameLength;
+            }
+            if (end < length) {
+                log.setLength(end);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void record(RecordedOperation operation) throws IOException {
+        this.payload.reset();
+        OperationLogFormat.writeOperation(this.payloadOut, operation);
+        this.payloadOut.flush();
+
+        if (this.deflater == null) {
+            writeFrame(0, this.payload);
+        } else {
+            this.compressed.reset();
+            this.deflater.reset();
+            final DeflaterOutputStream deflaterOut
+                    = new DeflaterOutputStream(this.compressed, this.deflater);
+            this.payload.writeTo(deflaterOut);
+            deflaterOut.finish();
+            writeFrame(OperationLogFormat.FLAG_DEFLATED, this.compressed);
+        }
+        this.out.flush();
+    }
+
+    private void writeFrame(int flags, ByteArrayOutputStream frame) throws IOException {
+        this.out.writeByte(flags);
+        this.out.writeInt(frame.size());
+        frame.writeTo(this.out);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.deflater != null) {
+            this.deflater.end();
+        }
+        this.out.close();
+    }
+}
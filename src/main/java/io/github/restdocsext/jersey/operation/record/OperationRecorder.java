@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.IOException;
+
+/**
+ * A recorder of documented operations. A recorder is configured with
+ * {@link io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer#operationRecorder}
+ * and will be passed every operation, after it is converted and before it is documented.
+ *
+ * @author Paul Samsotha
+ */
+public interface OperationRecorder {
+
+    /**
+     * Record the operation.
+     *
+     * @param operation the recorded operation
+     * @throws IOException if the operation could not be recorded
+     */
+    void record(RecordedOperation operation) throws IOException;
+}
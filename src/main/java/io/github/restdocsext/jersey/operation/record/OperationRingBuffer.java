@@ -0,0 +1,241 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An {@link OperationRecorder} that keeps the last operations in memory, overwriting the oldest
+ * operation when it is full. It is meant for debugging a client in a running service: memory is
+ * fixed by the capacity and the capture limit, and recording takes no lock, so requests made
+ * from many threads do not contend on it.
+ *
+ * <pre>
+ * OperationRingBuffer recent = new OperationRingBuffer(512);
+ * target.register(documentationConfiguration(documentation).operationRecorder(recent))
+ *         .register(record("payments"));
+ * recent.register("payments");
+ * </pre>
+ *
+ * The operations are recorded with {@code JerseyRestDocumentation.record(String)}, which writes
+ * no snippets on the request thread, or along with their documentation with
+ * {@code JerseyRestDocumentation.document}.
+ *
+ * The operations held can be listed and dumped to an HTTP Archive from a JMX console, or read
+ * with {@link #getOperations()}. A snapshot taken while operations are recorded may miss the
+ * operations being written, but never returns an operation twice.
+ *
+ * @author Paul Samsotha
+ */
+public final class OperationRingBuffer implements OperationRecorder, OperationRingBufferMXBean {
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final int mask;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile long clearedSequence;
+
+    private ObjectName objectName;
+
+    /**
+     * Create a ring buffer holding at least {@code capacity} operations. The capacity is rounded
+     * up to a power of two.
+     *
+     * @param capacity the minimum number of operations held
+     */
+    public OperationRingBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30,
+                "capacity must be between 1 and 2^30");
+        final int size = Integer.highestOneBit(capacity) == capacity
+                ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void record(RecordedOperation operation) {
+        final long next = this.sequence.getAndIncrement();
+        this.slots.set((int) (next & this.mask), new Slot(next, operation));
+    }
+
+    /**
+     * Get the operations currently held, oldest first.
+     *
+     * @return a snapshot of the operations
+     */
+    public List<RecordedOperation> getOperations() {
+        final long end = this.sequence.get();
+        final long start = Math.max(this.clearedSequence, end - this.slots.length());
+        final List<RecordedOperation> operations = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            final Slot slot = this.slots.get((int) (i & this.mask));
+            if (slot != null && slot.sequence == i) {
+                operations.add(slot.operation);
+            }
+        }
+        return operations;
+    }
+
+    @Override
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    @Override
+    public int getSize() {
+        return (int) Math.min(this.sequence.get() - this.clearedSequence, this.slots.length());
+    }
+
+    @Override
+    public long getRecordedOperations() {
+        return this.sequence.get();
+    }
+
+    @Override
+    public String[] listOperations() {
+        final List<RecordedOperation> operations = getOperations();
+        final String[] lines = new String[operations.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = describe(operations.get(i));
+        }
+        return lines;
+    }
+
+    private static String describe(RecordedOperation operation) {
+        final StringBuilder sb = new StringBuilder()
+                .append(operation.getIdentifier()).append(": ")
+                .append(operation.getRequest().getMethod()).append(' ')
+                .append(operation.getUrlTemplate()).append(" -> ")
+                .append(operation.getResponse().getStatus().value());
+        final OperationTiming timing = operation.getTiming();
+        if (timing != null) {
+            sb.append(String.format(Locale.ROOT, " (%.3f ms)", timing.getElapsedNanos() / 1000000.0));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int dump(String file) throws IOException {
+        return dump(new File(file));
+    }
+
+    /**
+     * Write the operations currently held to an HTTP Archive.
+     *
+     * @param file the HAR file
+     * @return the number of operations written
+     * @throws IOException if the file cannot be written
+     */
+    public int dump(File file) throws IOException {
+        try (HarWriter writer = new HarWriter(file)) {
+            return dumpTo(writer);
+        }
+    }
+
+    /**
+     * Pass the operations currently held to another recorder, oldest first. An operation log
+     * writer, for instance, lets their snippets be regenerated.
+     *
+     * @param recorder the recorder
+     * @return the number of operations passed
+     * @throws IOException if an operation could not be recorded
+     */
+    public int dumpTo(OperationRecorder recorder) throws IOException {
+        final List<RecordedOperation> operations = getOperations();
+        for (RecordedOperation operation : operations) {
+            recorder.record(operation);
+        }
+        return operations.size();
+    }
+
+    @Override
+    public void clear() {
+        this.clearedSequence = this.sequence.get();
+    }
+
+    /**
+     * Register this buffer with the platform MBean server, as
+     * {@code io.github.restdocsext.jersey:type=OperationRingBuffer,name=<name>}.
+     *
+     * @param name the name of the buffer
+     * @throws IllegalStateException if the buffer could not be registered, for instance because
+     *     a buffer with the same name is already registered
+     */
+    public synchronized void register(String name) {
+        if (this.objectName != null) {
+            throw new IllegalStateException("Buffer already registered as " + this.objectName + ".");
+        }
+        try {
+            final ObjectName candidate = new ObjectName(
+                    "io.github.restdocsext.jersey:type=OperationRingBuffer,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            this.objectName = candidate;
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not register buffer " + name + ".", ex);
+        }
+    }
+
+    /**
+     * Unregister this buffer from the platform MBean server, if it is registered.
+     */
+    public synchronized void unregister() {
+        if (this.objectName == null) {
+            return;
+        }
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not unregister buffer " + this.objectName + ".", ex);
+        } finally {
+            this.objectName = null;
+        }
+    }
+
+    /**
+     * An operation and the sequence it was recorded at, so that a reader can tell an operation
+     * from the one that overwrote it.
+     */
+    private static final class Slot {
+
+        private final long sequence;
+
+        private final RecordedOperation operation;
+
+        private Slot(long sequence, RecordedOperation operation) {
+            this.sequence = sequence;
+            this.operation = operation;
+        }
+    }
+}
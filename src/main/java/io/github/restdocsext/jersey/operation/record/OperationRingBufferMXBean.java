@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.IOException;
+
+/**
+ * Management interface of an {@link OperationRingBuffer}. Lets the most recent operations be
+ * listed, and dumped to a file, from a JMX console.
+ *
+ * @author Paul Samsotha
+ */
+public interface OperationRingBufferMXBean {
+
+    /**
+     * Get the maximum number of operations held.
+     *
+     * @return the capacity
+     */
+    int getCapacity();
+
+    /**
+     * Get the number of operations currently held.
+     *
+     * @return the size
+     */
+    int getSize();
+
+    /**
+     * Get the number of operations recorded since the buffer was created.
+     *
+     * @return the count
+     */
+    long getRecordedOperations();
+
+    /**
+     * List the operations currently held, oldest first, one line per operation.
+     *
+     * @return the operation summaries
+     */
+    String[] listOperations();
+
+    /**
+     * Write the operations currently held to an HTTP Archive.
+     *
+     * @param file the path of the HAR file
+     * @return the number of operations written
+     * @throws IOException if the file cannot be written
+     */
+    int dump(String file) throws IOException;
+
+    /**
+     * Remove all the operations held.
+     */
+    void clear();
+}
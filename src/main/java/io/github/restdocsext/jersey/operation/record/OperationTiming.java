@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+/**
+ * Timing of a documented exchange, measured on the client. The elapsed time starts after the
+ * last request filter and ends before the documentation response filters run, so it excludes
+ * the time it takes to document the operation.
+ *
+ * @author Paul Samsotha
+ */
+public final class OperationTiming {
+
+    private final long startTimeMillis;
+
+    private final long elapsedNanos;
+
+    /**
+     * Create a new timing.
+     *
+     * @param startTimeMillis the time the request was sent, in milliseconds since the epoch
+     * @param elapsedNanos the time until the response was received, in nanoseconds
+     */
+    public OperationTiming(long startTimeMillis, long elapsedNanos) {
+        this.startTimeMillis = startTimeMillis;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the time the request was sent.
+     *
+     * @return the start time, in milliseconds since the epoch
+     */
+    public long getStartTimeMillis() {
+        return this.startTimeMillis;
+    }
+
+    /**
+     * Get the time between sending the request and receiving the response.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+
+import org.springframework.restdocs.RestDocumentationContext;
+
+/**
+ * An immutable {@code RestDocumentationContext}, for operations that are documented after
+ * their test has moved on: recorded, queued, captured on the server or read from an operation
+ * log. A context read from a log only loads its test class when it is requested, as it is only
+ * needed to resolve some identifier placeholders.
+ *
+ * @author Paul Samsotha
+ */
+public final class RecordedDocumentationContext implements RestDocumentationContext {
+
+    private final Class<?> testClass;
+
+    private final String testClassName;
+
+    private final String testMethodName;
+
+    private final int stepCount;
+
+    private final File outputDirectory;
+
+    RecordedDocumentationContext(String testClassName, String testMethodName, int stepCount,
+            File outputDirectory) {
+        this(null, testClassName, testMethodName, stepCount, outputDirectory);
+    }
+
+    private RecordedDocumentationContext(Class<?> testClass, String testClassName, String testMethodName,
+            int stepCount, File outputDirectory) {
+        this.testClass = testClass;
+        this.testClassName = testClassName;
+        this.testMethodName = testMethodName;
+        this.stepCount = stepCount;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Create a context for a single operation.
+     *
+     * @param testClass the test class, or {@code null} if there is no test
+     * @param testMethodName the test method name, or {@code null} if there is no test
+     * @param stepCount the step count of the operation
+     * @param outputDirectory the snippet output directory
+     * @return the context
+     */
+    public static RecordedDocumentationContext of(Class<?> testClass, String testMethodName, int stepCount,
+            File outputDirectory) {
+        return new RecordedDocumentationContext(testClass, testClass == null ? null : testClass.getName(),
+                testMethodName, stepCount, outputDirectory);
+    }
+
+    /**
+     * Take a snapshot of {@code context}, whose step count no longer changes.
+     *
+     * @param context the context
+     * @return the snapshot
+     */
+    public static RecordedDocumentationContext copyOf(RestDocumentationContext context) {
+        return copyOf(context, context.getOutputDirectory());
+    }
+
+    /**
+     * Take a snapshot of {@code context}, writing its snippets to {@code outputDirectory}.
+     *
+     * @param context the context
+     * @param outputDirectory the snippet output directory
+     * @return the snapshot
+     */
+    public static RecordedDocumentationContext copyOf(RestDocumentationContext context, File outputDirectory) {
+        if (context instanceof RecordedDocumentationContext) {
+            final RecordedDocumentationContext recorded = (RecordedDocumentationContext) context;
+            return new RecordedDocumentationContext(recorded.testClass, recorded.testClassName,
+                    recorded.testMethodName, recorded.stepCount, outputDirectory);
+        }
+        return of(context.getTestClass(), context.getTestMethodName(), context.getStepCount(), outputDirectory);
+    }
+
+    String getTestClassName() {
+        return this.testClassName;
+    }
+
+    @Override
+    public Class<?> getTestClass() {
+        if (this.testClass != null || this.testClassName == null) {
+            return this.testClass;
+        }
+        try {
+            return Class.forName(this.testClassName, false,
+                    Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("Test class " + this.testClassName
+                    + " must be on the class path to resolve the snippet identifier.", ex);
+        }
+    }
+
+    @Override
+    public String getTestMethodName() {
+        return this.testMethodName;
+    }
+
+    @Override
+    public int getStepCount() {
+        return this.stepCount;
+    }
+
+    @Override
+    public File getOutputDirectory() {
+        return this.outputDirectory;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.templates.TemplateFormat;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A documented operation, along with everything needed to generate its snippets again: the
+ * documentation identifier, the URL template, the documentation context and the snippet
+ * encoding and template format.
+ *
+ * The request and response are the converted operations, before any preprocessing is applied.
+ *
+ * @author Paul Samsotha
+ */
+public final class RecordedOperation {
+
+    private final String identifier;
+
+    private final String urlTemplate;
+
+    private final OperationRequest request;
+
+    private final OperationResponse response;
+
+    private final RestDocumentationContext context;
+
+    private final String snippetEncoding;
+
+    private final TemplateFormat templateFormat;
+
+    private final OperationTiming timing;
+
+    private final boolean truncated;
+
+    /**
+     * Create a new recorded operation.
+     *
+     * @param identifier the documentation identifier
+     * @param urlTemplate the URL template
+     * @param request the converted request
+     * @param response the converted response
+     * @param context the documentation context
+     * @param snippetEncoding the snippet encoding
+     * @param templateFormat the snippet template format
+     */
+    public RecordedOperation(String identifier, String urlTemplate, OperationRequest request,
+            OperationResponse response, RestDocumentationContext context, String snippetEncoding,
+            TemplateFormat templateFormat) {
+        Preconditions.checkNotNull(identifier, "identifier must not be null");
+        Preconditions.checkNotNull(request, "request must not be null");
+        Preconditions.checkNotNull(response, "response must not be null");
+        Preconditions.checkNotNull(context, "context must not be null");
+        this.identifier = identifier;
+        this.urlTemplate = urlTemplate;
+        this.request = request;
+        this.response = response;
+        this.context = context;
+        this.snippetEncoding = snippetEncoding;
+        this.templateFormat = templateFormat;
+        this.timing = null;
+        this.truncated = false;
+    }
+
+    private RecordedOperation(RecordedOperation operation, RestDocumentationContext context,
+            OperationTiming timing, boolean truncated) {
+        this.identifier = operation.identifier;
+        this.urlTemplate = operation.urlTemplate;
+        this.request = operation.request;
+        this.response = operation.response;
+        this.context = context;
+        this.snippetEncoding = operation.snippetEncoding;
+        this.templateFormat = operation.templateFormat;
+        this.timing = timing;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Create a copy of this operation with the given {@code timing}.
+     *
+     * @param timing the timing of the exchange
+     * @return the operation with the timing
+     */
+    public RecordedOperation withTiming(OperationTiming timing) {
+        return new RecordedOperation(this, this.context, timing, this.truncated);
+    }
+
+    /**
+     * Create a copy of this operation whose request or response entity was cut off at the
+     * capture limit.
+     *
+     * @return the truncated operation
+     */
+    public RecordedOperation asTruncated() {
+        return new RecordedOperation(this, this.context, this.timing, true);
+    }
+
+    /**
+     * Get this operation with a snapshot of its context, for recorders keeping it after its test
+     * has moved on.
+     *
+     * @return this operation if its context is already a snapshot, or a copy of it
+     */
+    RecordedOperation snapshot() {
+        return this.context instanceof RecordedDocumentationContext
+                ? this : new RecordedOperation(this, RecordedDocumentationContext.copyOf(this.context), this.timing,
+                        this.truncated);
+    }
+
+    /**
+     * Get the documentation identifier. Any placeholders in the identifier are not resolved.
+     *
+     * @return the identifier
+     */
+    public String getIdentifier() {
+        return this.identifier;
+    }
+
+    /**
+     * Get the URL template.
+     *
+     * @return the URL template
+     */
+    public String getUrlTemplate() {
+        return this.urlTemplate;
+    }
+
+    /**
+     * Get the converted request.
+     *
+     * @return the request
+     */
+    public OperationRequest getRequest() {
+        return this.request;
+    }
+
+    /**
+     * Get the converted response.
+     *
+     * @return the response
+     */
+    public OperationResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Get the documentation context the operation was documented with.
+     *
+     * @return the context
+     */
+    public RestDocumentationContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * Get the snippet encoding.
+     *
+     * @return the snippet encoding
+     */
+    public String getSnippetEncoding() {
+        return this.snippetEncoding;
+    }
+
+    /**
+     * Get the snippet template format.
+     *
+     * @return the template format
+     */
+    public TemplateFormat getTemplateFormat() {
+        return this.templateFormat;
+    }
+
+    /**
+     * Get the timing of the exchange.
+     *
+     * @return the timing, or {@code null} if the exchange was not timed
+     */
+    public OperationTiming getTiming() {
+        return this.timing;
+    }
+
+    /**
+     * Get whether the request or response entity was cut off at the capture limit, in which case
+     * the content ends with a truncation marker instead of the rest of the entity.
+     *
+     * @return {@code true} if the operation is truncated
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+}
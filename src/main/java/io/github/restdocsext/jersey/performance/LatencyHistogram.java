@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size histogram of latencies, in nanoseconds. Values are counted in buckets with a
+ * relative width of at most 1/64 of their value, so percentiles are accurate to within about
+ * 1.6%, and recording a value is a few arithmetic operations and an atomic increment.
+ * Values can be recorded concurrently; the count, total, minimum and maximum are
+ * {@link LongAdder}s and {@link LongAccumulator}s, so threads recording at once do not contend
+ * on them.
+ *
+ * Values below 128 have a bucket of their own. Above that, each power of two is split into
+ * 64 buckets of equal width.
+ *
+ * @author Paul Samsotha
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - LINEAR_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as {@code 0}
+     */
+    public void record(long nanos) {
+        final long value = Math.max(nanos, 0);
+        this.counts.incrementAndGet(indexOf(value));
+        this.count.increment();
+        this.total.add(value);
+        this.min.accumulate(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Get the number of recorded latencies.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Get the sum of the recorded latencies.
+     *
+     * @return the total in nanoseconds
+     */
+    public long getTotal() {
+        return this.total.sum();
+    }
+
+    /**
+     * Get the lowest recorded latency.
+     *
+     * @return the minimum in nanoseconds, or {@code 0} if nothing is recorded
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0 : this.min.get();
+    }
+
+    /**
+     * Get the highest recorded latency.
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Get the mean of the recorded latencies.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing is recorded
+     */
+    public double getMean() {
+        final long recorded = getCount();
+        return recorded == 0 ? 0 : (double) this.total.sum() / recorded;
+    }
+
+    /**
+     * Get the latency at the given percentile. The result is the highest value of the bucket
+     * the percentile falls into, capped by the highest recorded value.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the latency in nanoseconds, or {@code 0} if nothing is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long recorded = getCount();
+        if (recorded == 0) {
+            return 0;
+        }
+        final double clamped = Math.min(Math.max(percentile, 0), 100);
+        final long target = Math.max(1, (long) Math.ceil(clamped / 100 * recorded));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += this.counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT
+                + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_BITS;
+        final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
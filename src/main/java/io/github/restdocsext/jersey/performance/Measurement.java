@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
+
+/**
+ * Settings of a performance measurement: the number of measured requests, the number of
+ * warmup requests made before them, and the number of threads making the requests.
+ *
+ * <pre>
+ * Response response = target("teams")
+ *         .register(documentationConfiguration(this.restDocumentation))
+ *         .register(document("get-teams", performance()))
+ *         .measure(Measurement.iterations(500).warmup(100).concurrency(4), new RequestInvoker() {
+ *             &#64;Override
+ *             public Response invoke(Invocation.Builder request) {
+ *                 return request.get();
+ *             }
+ *         });
+ * </pre>
+ *
+ * Measured requests are not documented. The latency of a request is the time it takes the
+ * {@link RequestInvoker} to return the response.
+ *
+ * @author Paul Samsotha
+ */
+public final class Measurement {
+
+    private final int iterations;
+
+    private final int warmup;
+
+    private final int concurrency;
+
+    private Measurement(int iterations, int warmup, int concurrency) {
+        Preconditions.checkArgument(iterations > 0, "iterations must be positive");
+        Preconditions.checkArgument(warmup >= 0, "warmup must not be negative");
+        Preconditions.checkArgument(concurrency > 0, "concurrency must be positive");
+        this.iterations = iterations;
+        this.warmup = warmup;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Create a measurement of {@code iterations} requests, without warmup, from a single thread.
+     *
+     * @param iterations the number of measured requests
+     * @return the measurement
+     */
+    public static Measurement iterations(int iterations) {
+        return new Measurement(iterations, 0, 1);
+    }
+
+    /**
+     * Make {@code warmup} requests that are not measured before the measured requests.
+     *
+     * @param warmup the number of warmup requests
+     * @return a new measurement
+     */
+    public Measurement warmup(int warmup) {
+        return new Measurement(this.iterations, warmup, this.concurrency);
+    }
+
+    /**
+     * Make the requests from {@code concurrency} threads.
+     *
+     * @param concurrency the number of threads
+     * @return a new measurement
+     */
+    public Measurement concurrency(int concurrency) {
+        return new Measurement(this.iterations, this.warmup, concurrency);
+    }
+
+    /**
+     * Get the number of measured requests.
+     *
+     * @return the number of requests
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Get the number of warmup requests.
+     *
+     * @return the number of warmup requests
+     */
+    public int getWarmup() {
+        return this.warmup;
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return the concurrency
+     */
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+
+    /**
+     * Run the measurement against the {@code target}. The requests are not documented.
+     *
+     * @param target the target to measure
+     * @param invoker the invoker of the request
+     * @return the result
+     */
+    public PerformanceResult run(WebTarget target, RequestInvoker invoker) {
+        final ExecutorService executor = this.concurrency == 1 ? null
+                : Executors.newFixedThreadPool(this.concurrency);
+        try {
+            execute(executor, target, invoker, this.warmup, null);
+            final LatencyHistogram histogram = new LatencyHistogram();
+            final long start = System.nanoTime();
+            final int errors = execute(executor, target, invoker, this.iterations, histogram);
+            return new PerformanceResult(this, errors, System.nanoTime() - start, histogram);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private int execute(ExecutorService executor, WebTarget target, RequestInvoker invoker,
+            int requests, LatencyHistogram histogram) {
+        final Worker worker = new Worker(target, invoker, new AtomicInteger(requests), histogram);
+        if (executor == null) {
+            return worker.call();
+        }
+        final List<Future<Integer>> futures = new ArrayList<>(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            futures.add(executor.submit(worker));
+        }
+        int errors = 0;
+        try {
+            for (Future<Integer> future : futures) {
+                errors += future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Measurement was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new ProcessingException("Measurement failed", ex.getCause());
+        }
+        return errors;
+    }
+
+    private static boolean invoke(WebTarget target, RequestInvoker invoker, LatencyHistogram histogram) {
+        final long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = invoker.invoke(target.request().property(SKIP_DOCUMENTATION_KEY, Boolean.TRUE));
+            if (histogram != null) {
+                histogram.record(System.nanoTime() - start);
+            }
+            return response.getStatus() < 400;
+        } catch (ProcessingException ex) {
+            if (histogram != null) {
+                histogram.record(System.nanoTime() - start);
+            }
+            return false;
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Makes requests until all requests of the measurement are made, and counts the errors.
+     */
+    private static final class Worker implements Callable<Integer> {
+
+        private final WebTarget target;
+
+        private final RequestInvoker invoker;
+
+        private final AtomicInteger remaining;
+
+        private final LatencyHistogram histogram;
+
+        private Worker(WebTarget target, RequestInvoker invoker, AtomicInteger remaining,
+                LatencyHistogram histogram) {
+            this.target = target;
+            this.invoker = invoker;
+            this.remaining = remaining;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public Integer call() {
+            int errors = 0;
+            while (this.remaining.getAndDecrement() > 0) {
+                if (!invoke(this.target, this.invoker, this.histogram)) {
+                    errors++;
+                }
+            }
+            return errors;
+        }
+    }
+}
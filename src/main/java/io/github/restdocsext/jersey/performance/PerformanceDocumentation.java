@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Static factory methods for documenting the performance of a request.
+ *
+ * @author Paul Samsotha
+ */
+public abstract class PerformanceDocumentation {
+
+    private PerformanceDocumentation() {
+    }
+
+    /**
+     * Returns a new {@code Snippet} that will document the measured latency and throughput of
+     * the request.
+     *
+     * @return the snippet
+     */
+    public static PerformanceSnippet performance() {
+        return new PerformanceSnippet(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Returns a new {@code Snippet} that will document the measured latency and throughput of
+     * the request. The given {@code attributes} will be available during snippet generation.
+     *
+     * @param attributes the attributes
+     * @return the snippet
+     */
+    public static PerformanceSnippet performance(Map<String, Object> attributes) {
+        return new PerformanceSnippet(attributes);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+/**
+ * The result of a {@link Measurement}: the latency distribution and throughput of the
+ * measured requests.
+ *
+ * @author Paul Samsotha
+ */
+public final class PerformanceResult {
+
+    private final int iterations;
+
+    private final int concurrency;
+
+    private final int errors;
+
+    private final long elapsedNanos;
+
+    private final LatencyHistogram histogram;
+
+    PerformanceResult(Measurement measurement, int errors, long elapsedNanos, LatencyHistogram histogram) {
+        this.iterations = measurement.getIterations();
+        this.concurrency = measurement.getConcurrency();
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Get the number of measured requests, excluding the warmup requests.
+     *
+     * @return the number of requests
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Get the number of threads the requests were made from.
+     *
+     * @return the concurrency
+     */
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+
+    /**
+     * Get the number of requests that failed with an exception or an error status.
+     *
+     * @return the number of errors
+     */
+    public int getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Get the wall clock time of the measured requests.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Get the number of requests completed per second.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return this.elapsedNanos == 0 ? 0 : this.iterations * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Get the latency histogram of the measured requests.
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getHistogram() {
+        return this.histogram;
+    }
+}
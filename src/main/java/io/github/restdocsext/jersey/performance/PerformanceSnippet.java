@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.restdocs.operation.Operation;
+import org.springframework.restdocs.snippet.SnippetException;
+import org.springframework.restdocs.snippet.TemplatedSnippet;
+
+/**
+ * A {@link org.springframework.restdocs.snippet.Snippet} that documents the latency and
+ * throughput of a request that was measured with
+ * {@link io.github.restdocsext.jersey.client.RestdocsWebTarget#measure(Measurement, RequestInvoker)}.
+ * Latencies are documented in milliseconds.
+ *
+ * @author Paul Samsotha
+ * @see PerformanceDocumentation#performance()
+ */
+public class PerformanceSnippet extends TemplatedSnippet {
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Create a new snippet with the given additional {@code attributes} that will be
+     * included in the model during template rendering.
+     *
+     * @param attributes the additional attributes
+     */
+    protected PerformanceSnippet(Map<String, Object> attributes) {
+        super("performance", attributes);
+    }
+
+    @Override
+    protected Map<String, Object> createModel(Operation operation) {
+        final PerformanceResult result
+                = (PerformanceResult) operation.getAttributes().get(PerformanceResult.class.getName());
+        if (result == null) {
+            throw new SnippetException("Performance of operation '" + operation.getName()
+                    + "' was not measured. Use RestdocsWebTarget.measure to measure and document it.");
+        }
+        final LatencyHistogram histogram = result.getHistogram();
+        final Map<String, Object> model = new HashMap<>();
+        model.put("iterations", result.getIterations());
+        model.put("concurrency", result.getConcurrency());
+        model.put("errors", result.getErrors());
+        model.put("throughput", format(result.getThroughput()));
+        model.put("min", millis(histogram.getMin()));
+        model.put("mean", millis(histogram.getMean()));
+        model.put("max", millis(histogram.getMax()));
+
+        final List<Map<String, Object>> metrics = new ArrayList<>();
+        metrics.add(metric("Requests", String.valueOf(result.getIterations())));
+        metrics.add(metric("Concurrency", String.valueOf(result.getConcurrency())));
+        metrics.add(metric("Errors", String.valueOf(result.getErrors())));
+        metrics.add(metric("Throughput (requests/s)", format(result.getThroughput())));
+        metrics.add(metric("Min latency (ms)", millis(histogram.getMin())));
+        metrics.add(metric("Mean latency (ms)", millis(histogram.getMean())));
+        for (double percentile : PERCENTILES) {
+            final String name = percentile == Math.rint(percentile)
+                    ? String.valueOf((int) percentile) : String.valueOf(percentile);
+            final String value = millis(histogram.getValueAtPercentile(percentile));
+            model.put("p" + name.replace('.', '_'), value);
+            metrics.add(metric("p" + name + " latency (ms)", value));
+        }
+        metrics.add(metric("Max latency (ms)", millis(histogram.getMax())));
+        model.put("metrics", metrics);
+        return model;
+    }
+
+    private static Map<String, Object> metric(String name, String value) {
+        final Map<String, Object> metric = new HashMap<>();
+        metric.put("name", name);
+        metric.put("value", value);
+        return metric;
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
+
+/**
+ * Invokes the request that is measured, for instance {@code request.get()} or
+ * {@code request.post(entity)}.
+ *
+ * @author Paul Samsotha
+ */
+public interface RequestInvoker {
+
+    /**
+     * Invoke the request.
+     *
+     * @param request the request builder of the target that is measured
+     * @return the response
+     */
+    Response invoke(Invocation.Builder request);
+}
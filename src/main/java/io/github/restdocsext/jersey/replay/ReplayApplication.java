@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.glassfish.jersey.server.ResourceConfig;
+
+import io.github.restdocsext.jersey.operation.record.OperationLogReader;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Jersey application that replays recorded operations. Each request is answered with the
+ * recorded response of the operation with the same method, URL template and query
+ * parameters, without a real backend. Operations truncated at the capture limit are not
+ * replayed, as their recorded response is incomplete.
+ *
+ * The application can be deployed to any Jersey container, for instance in a
+ * {@code JerseyTest} with the in-memory or Grizzly test container.
+ *
+ * <pre>
+ * &#64;Override
+ * public ResourceConfig configure() {
+ *     return ReplayApplication.fromLog(new File("build/operations.log"));
+ * }
+ * </pre>
+ *
+ * @author Paul Samsotha
+ */
+public class ReplayApplication extends ResourceConfig {
+
+    /**
+     * Create an application that replays the {@code operations}.
+     *
+     * @param operations the recorded operations
+     */
+    public ReplayApplication(Collection<RecordedOperation> operations) {
+        register(new ReplayFilter(new ReplayIndex(operations)));
+    }
+
+    /**
+     * Create an application that replays the operations of the operation {@code logs}.
+     *
+     * @param logs the operation logs
+     * @return the replay application
+     * @throws IOException if a log cannot be read
+     */
+    public static ReplayApplication fromLog(File... logs) throws IOException {
+        final List<RecordedOperation> operations = new ArrayList<>();
+        for (File log : logs) {
+            operations.addAll(OperationLogReader.readAll(log));
+        }
+        return new ReplayApplication(operations);
+    }
+}
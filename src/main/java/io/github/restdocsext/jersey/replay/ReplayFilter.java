@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.replay;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.springframework.restdocs.operation.OperationResponse;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Pre-matching filter that aborts every request with the response of the matching recorded
+ * operation, or with a {@code 404 Not Found} if no recorded operation matches. An operation
+ * whose entity was truncated at the capture limit is refused with a
+ * {@code 500 Internal Server Error}, rather than replaying the start of its response.
+ *
+ * @author Paul Samsotha
+ */
+@PreMatching
+@Priority(Priorities.USER)
+final class ReplayFilter implements ContainerRequestFilter {
+
+    private final ReplayIndex index;
+
+    ReplayFilter(ReplayIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        final String path = "/" + requestContext.getUriInfo().getPath(false);
+        final RecordedOperation operation = this.index.find(requestContext.getMethod(), path,
+                requestContext.getUriInfo().getQueryParameters());
+        if (operation == null) {
+            requestContext.abortWith(Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.TEXT_PLAIN_TYPE)
+                    .entity("No recorded operation for " + requestContext.getMethod() + " " + path)
+                    .build());
+            return;
+        }
+        if (operation.isTruncated()) {
+            requestContext.abortWith(Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.TEXT_PLAIN_TYPE)
+                    .entity("Recorded operation " + operation.getIdentifier() + " for " + requestContext.getMethod()
+                            + " " + path + " was truncated at the capture limit; record it with a larger limit")
+                    .build());
+            return;
+        }
+        requestContext.abortWith(toResponse(operation.getResponse()));
+    }
+
+    private static Response toResponse(OperationResponse recorded) {
+        final Response.ResponseBuilder builder = Response.status(recorded.getStatus().value());
+        for (Map.Entry<String, List<String>> header : recorded.getHeaders().entrySet()) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())
+                    || "Transfer-Encoding".equalsIgnoreCase(header.getKey())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        final byte[] content = recorded.getContent();
+        if (content != null && content.length > 0) {
+            builder.entity(content);
+        }
+        return builder.build();
+    }
+}
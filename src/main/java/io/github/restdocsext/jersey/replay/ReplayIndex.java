@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.replay;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.restdocs.operation.Parameters;
+import org.springframework.restdocs.operation.QueryStringParser;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import io.github.restdocsext.jersey.uri.UrlTemplateIndex;
+
+/**
+ * Index of recorded operations, used to find the operation that matches a request. Operations
+ * are indexed by HTTP method, then by their literal path. Operations documented with a URL
+ * template that has variables are only matched against their template when no literal path
+ * matches, using a {@link UrlTemplateIndex} of the templates. When several operations match the path,
+ * the operation with the most matching query parameters is chosen.
+ *
+ * @author Paul Samsotha
+ */
+final class ReplayIndex {
+
+    private static final QueryStringParser QUERY_STRING_PARSER = new QueryStringParser();
+
+    private final Map<String, MethodIndex> methods = new HashMap<>();
+
+    ReplayIndex(Collection<RecordedOperation> operations) {
+        for (RecordedOperation operation : operations) {
+            final String method = operation.getRequest().getMethod().name();
+            MethodIndex index = this.methods.get(method);
+            if (index == null) {
+                index = new MethodIndex();
+                this.methods.put(method, index);
+            }
+            index.add(operation);
+        }
+        for (MethodIndex index : this.methods.values()) {
+            index.indexTemplates();
+        }
+    }
+
+    /**
+     * Find the recorded operation for a request.
+     *
+     * @param method the HTTP method of the request
+     * @param path the path of the request, relative to the application, starting with a slash
+     * @param queryParameters the query parameters of the request
+     * @return the matching operation or {@code null} if there is none
+     */
+    RecordedOperation find(String method, String path, Map<String, List<String>> queryParameters) {
+        final MethodIndex index = this.methods.get(method);
+        if (index == null) {
+            return null;
+        }
+        final List<Candidate> literals = index.literals.get(path);
+        if (literals != null) {
+            final RecordedOperation operation = bestMatch(literals, queryParameters);
+            if (operation != null) {
+                return operation;
+            }
+        }
+        final String template = index.templateIndex.find(path);
+        return template == null ? null : bestMatch(index.templates.get(template), queryParameters);
+    }
+
+    /**
+     * Find the candidate with the most query parameters, all of which are in the request.
+     */
+    private static RecordedOperation bestMatch(List<Candidate> candidates,
+            Map<String, List<String>> queryParameters) {
+        Candidate best = null;
+        for (Candidate candidate : candidates) {
+            if (candidate.matches(queryParameters)
+                    && (best == null || candidate.parameters.size() > best.parameters.size())) {
+                best = candidate;
+            }
+        }
+        return best == null ? null : best.operation;
+    }
+
+    /**
+     * Get the path of the URL template, or of the recorded request if it was documented
+     * without a template. A template of {@code /} for a request to another path is the template
+     * of the base target, not of the request, so it is ignored like a missing template.
+     */
+    private static String getPath(RecordedOperation operation) {
+        final String requestPath = operation.getRequest().getUri().getRawPath();
+        String path = operation.getUrlTemplate();
+        if (path != null) {
+            final int query = path.indexOf('?');
+            path = query < 0 ? path : path.substring(0, query);
+        }
+        if (path == null || path.isEmpty() || ("/".equals(path) && !isRoot(requestPath))) {
+            path = requestPath;
+        }
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static boolean isRoot(String path) {
+        return path == null || path.isEmpty() || "/".equals(path);
+    }
+
+    /**
+     * Normalize a template the way {@link UrlTemplateIndex} returns it, with a single leading
+     * slash and no trailing slash.
+     */
+    private static String normalize(String template) {
+        int start = 0;
+        int end = template.length();
+        while (start < end && template.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && template.charAt(end - 1) == '/') {
+            end--;
+        }
+        return "/" + template.substring(start, end);
+    }
+
+    /**
+     * The operations of a single HTTP method.
+     */
+    private static final class MethodIndex {
+
+        private final Map<String, List<Candidate>> literals = new HashMap<>();
+
+        private final Map<String, List<Candidate>> templates = new HashMap<>();
+
+        private UrlTemplateIndex templateIndex;
+
+        private void add(RecordedOperation operation) {
+            final String path = getPath(operation);
+            final Candidate candidate = new Candidate(operation);
+            final boolean literal = path.indexOf('{') < 0;
+            final Map<String, List<Candidate>> index = literal ? this.literals : this.templates;
+            final String key = literal ? path : normalize(path);
+            List<Candidate> candidates = index.get(key);
+            if (candidates == null) {
+                candidates = new ArrayList<>();
+                index.put(key, candidates);
+            }
+            candidates.add(candidate);
+        }
+
+        private void indexTemplates() {
+            this.templateIndex = UrlTemplateIndex.ofTemplates("", this.templates.keySet());
+        }
+    }
+
+    /**
+     * A recorded operation, with the query parameters a request must have to match it.
+     */
+    private static final class Candidate {
+
+        private final RecordedOperation operation;
+
+        private final Parameters parameters;
+
+        private Candidate(RecordedOperation operation) {
+            this.operation = operation;
+            this.parameters = QUERY_STRING_PARSER.parse(operation.getRequest().getUri());
+        }
+
+        private boolean matches(Map<String, List<String>> queryParameters) {
+            for (Map.Entry<String, List<String>> parameter : this.parameters.entrySet()) {
+                final List<String> values = queryParameters.get(parameter.getKey());
+                if (values == null || !values.containsAll(parameter.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
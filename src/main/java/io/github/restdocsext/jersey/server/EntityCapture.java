@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.github.restdocsext.jersey.ResponseInterceptor;
+
+/**
+ * The start of an entity, copied as it is read or written, up to a capture limit. The entity
+ * itself is streamed, never buffered, so capturing costs at most the capture limit in memory.
+ *
+ * @author Paul Samsotha
+ */
+final class EntityCapture {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private final int limit;
+
+    private boolean truncated;
+
+    EntityCapture(int limit) {
+        this.limit = limit;
+    }
+
+    InputStream capture(InputStream in) {
+        return new CapturingInputStream(in);
+    }
+
+    OutputStream capture(OutputStream out) {
+        return new CapturingOutputStream(out);
+    }
+
+    /**
+     * Get the captured bytes, followed by the truncation marker if the entity is larger than
+     * the capture limit.
+     *
+     * @return the captured entity
+     */
+    byte[] getContent() {
+        if (!this.truncated) {
+            return this.buffer.toByteArray();
+        }
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(this.buffer.size() + 16);
+        content.write(this.buffer.toByteArray(), 0, this.buffer.size());
+        final byte[] marker = ResponseInterceptor.TRUNCATION_MARKER.getBytes(StandardCharsets.UTF_8);
+        content.write(marker, 0, marker.length);
+        return content.toByteArray();
+    }
+
+    /**
+     * Get whether the entity is larger than the capture limit.
+     *
+     * @return {@code true} if the captured entity is truncated
+     */
+    boolean isTruncated() {
+        return this.truncated;
+    }
+
+    private void copy(int b) {
+        if (this.buffer.size() < this.limit) {
+            this.buffer.write(b);
+        } else {
+            this.truncated = true;
+        }
+    }
+
+    private void copy(byte[] bytes, int offset, int length) {
+        final int remaining = this.limit - this.buffer.size();
+        if (length > remaining) {
+            this.truncated = true;
+        }
+        if (remaining > 0) {
+            this.buffer.write(bytes, offset, Math.min(length, remaining));
+        }
+    }
+
+    /**
+     * Copies the bytes read from the stream.
+     */
+    private final class CapturingInputStream extends FilterInputStream {
+
+        private CapturingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                copy(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            final int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                copy(bytes, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Copies the bytes written to the stream.
+     */
+    private final class CapturingOutputStream extends FilterOutputStream {
+
+        private CapturingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            copy(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            this.out.write(bytes, offset, length);
+            copy(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.uri.UriTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationRequestFactory;
+import org.springframework.restdocs.operation.OperationRequestPart;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.OperationResponseFactory;
+import org.springframework.restdocs.operation.Parameters;
+import org.springframework.restdocs.operation.RequestCookie;
+
+import io.github.restdocsext.jersey.operation.record.OperationTiming;
+import io.github.restdocsext.jersey.operation.record.RecordedDocumentationContext;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Captures the sampled exchanges of a Jersey application, for the
+ * {@link ServerDocumentationFeature}. The request filter samples the request, the reader
+ * interceptor captures the request entity as the application reads it, and the operation is
+ * recorded by the response filter, or after the response entity is written by the writer
+ * interceptor. Failures to capture or record are counted by the feature, and never fail the
+ * exchange.
+ *
+ * @author Paul Samsotha
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+final class ServerCaptureFilter implements ContainerRequestFilter, ContainerResponseFilter,
+        ReaderInterceptor, WriterInterceptor {
+
+    static final String EXCHANGE_KEY = "io.github.restdocsext.jersey.server.exchange";
+
+    private static final OperationRequestFactory REQUEST_FACTORY = new OperationRequestFactory();
+
+    private static final OperationResponseFactory RESPONSE_FACTORY = new OperationResponseFactory();
+
+    private static final String SNIPPET_ENCODING = "UTF-8";
+
+    private final ServerDocumentationFeature feature;
+
+    ServerCaptureFilter(ServerDocumentationFeature feature) {
+        this.feature = feature;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        final double samplingRate = this.feature.getSamplingRate();
+        if (samplingRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return;
+        }
+        request.setProperty(EXCHANGE_KEY, new Exchange(System.currentTimeMillis(), System.nanoTime()));
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+        final Exchange exchange = (Exchange) context.getProperty(EXCHANGE_KEY);
+        if (exchange != null && exchange.requestEntity == null) {
+            exchange.requestEntity = new EntityCapture(this.feature.getCaptureLimit());
+            context.setInputStream(exchange.requestEntity.capture(context.getInputStream()));
+        }
+        return context.proceed();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+        final Exchange exchange = (Exchange) request.getProperty(EXCHANGE_KEY);
+        if (exchange == null) {
+            return;
+        }
+        try {
+            exchange.operationRequest = convert(request, exchange);
+            exchange.uriInfo = (ExtendedUriInfo) request.getUriInfo();
+        } catch (RuntimeException ex) {
+            request.removeProperty(EXCHANGE_KEY);
+            this.feature.failed(ex);
+            return;
+        }
+        if (response.hasEntity()) {
+            // recorded once the entity is written, with the headers set by the entity provider
+            exchange.response = response;
+        } else {
+            request.removeProperty(EXCHANGE_KEY);
+            record(exchange, response, new byte[0], false);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final Exchange exchange = (Exchange) context.getProperty(EXCHANGE_KEY);
+        if (exchange == null || exchange.response == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(EXCHANGE_KEY);
+        final EntityCapture capture = new EntityCapture(this.feature.getCaptureLimit());
+        final OutputStream original = context.getOutputStream();
+        try {
+            context.setOutputStream(capture.capture(original));
+            context.proceed();
+        } finally {
+            context.setOutputStream(original);
+        }
+        record(exchange, exchange.response, capture.getContent(), capture.isTruncated());
+    }
+
+    private void record(Exchange exchange, ContainerResponseContext response, byte[] content,
+            boolean truncated) {
+        try {
+            final OperationResponse operationResponse = RESPONSE_FACTORY.create(
+                    HttpStatus.valueOf(response.getStatus()), headers(response.getStringHeaders()), content);
+            // a captured operation has no test
+            final RecordedDocumentationContext context = RecordedDocumentationContext.of(
+                    null, null, this.feature.nextStep(), this.feature.getOutputDirectory());
+            final RecordedOperation operation = new RecordedOperation(identifier(exchange.uriInfo),
+                    urlTemplate(exchange.uriInfo), exchange.operationRequest, operationResponse,
+                    context, SNIPPET_ENCODING, this.feature.getTemplateFormat());
+            final RecordedOperation timed = operation.withTiming(new OperationTiming(
+                    exchange.startTimeMillis, System.nanoTime() - exchange.startNanos));
+            final boolean requestTruncated = exchange.requestEntity != null && exchange.requestEntity.isTruncated();
+            this.feature.getRecorder().record(truncated || requestTruncated ? timed.asTruncated() : timed);
+            this.feature.recorded();
+        } catch (IOException | RuntimeException ex) {
+            this.feature.failed(ex);
+        }
+    }
+
+    private static OperationRequest convert(ContainerRequestContext request, Exchange exchange) {
+        final UriInfo uriInfo = request.getUriInfo();
+        final Parameters parameters = new Parameters();
+        for (Map.Entry<String, List<String>> entry : uriInfo.getQueryParameters().entrySet()) {
+            parameters.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        final List<RequestCookie> cookies = new ArrayList<>();
+        for (Cookie cookie : request.getCookies().values()) {
+            cookies.add(new RequestCookie(cookie.getName(), cookie.getValue()));
+        }
+        final byte[] content = exchange.requestEntity == null ? new byte[0] : exchange.requestEntity.getContent();
+        return REQUEST_FACTORY.create(uriInfo.getRequestUri(), HttpMethod.valueOf(request.getMethod()), content,
+                headers(request.getHeaders()), parameters, Collections.<OperationRequestPart>emptyList(), cookies);
+    }
+
+    private static HttpHeaders headers(MultivaluedMap<String, String> headers) {
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            httpHeaders.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return httpHeaders;
+    }
+
+    /**
+     * Derive the identifier from the resource method, for instance {@code team-resource/get-team}
+     * for {@code TeamResource.getTeam}.
+     */
+    static String identifier(ExtendedUriInfo uriInfo) {
+        final ResourceMethod resourceMethod = uriInfo.getMatchedResourceMethod();
+        if (resourceMethod == null) {
+            return "unmatched";
+        }
+        final Method method = resourceMethod.getInvocable().getDefinitionMethod();
+        return hyphenate(method.getDeclaringClass().getSimpleName()) + "/" + hyphenate(method.getName());
+    }
+
+    /**
+     * Join the matched templates of the resources and resource method, from the root resource.
+     */
+    static String urlTemplate(ExtendedUriInfo uriInfo) {
+        final List<UriTemplate> templates = uriInfo.getMatchedTemplates();
+        final StringBuilder sb = new StringBuilder();
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            final String template = templates.get(i).getTemplate();
+            if (template.isEmpty() || "/".equals(template)) {
+                continue;
+            }
+            if (!template.startsWith("/")) {
+                sb.append('/');
+            }
+            sb.append(template.endsWith("/") ? template.substring(0, template.length() - 1) : template);
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    private static String hyphenate(String name) {
+        final StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0 && !Character.isUpperCase(name.charAt(i - 1))) {
+                    sb.append('-');
+                }
+                sb.append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The state of a sampled exchange, kept in a request property.
+     */
+    private static final class Exchange {
+
+        private final long startTimeMillis;
+
+        private final long startNanos;
+
+        private EntityCapture requestEntity;
+
+        private OperationRequest operationRequest;
+
+        private ExtendedUriInfo uriInfo;
+
+        private ContainerResponseContext response;
+
+        private Exchange(long startTimeMillis, long startNanos) {
+            this.startTimeMillis = startTimeMillis;
+            this.startNanos = startNanos;
+        }
+    }
+}
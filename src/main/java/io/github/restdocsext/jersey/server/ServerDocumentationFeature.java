@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.server;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.WriterInterceptor;
+
+import org.springframework.restdocs.templates.TemplateFormat;
+import org.springframework.restdocs.templates.TemplateFormats;
+
+import io.github.restdocsext.jersey.context.OutputDirectories;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
+import io.github.restdocsext.jersey.operation.record.OperationRecorder;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A feature that captures the operations served by a Jersey application, and passes them to an
+ * {@link OperationRecorder}. Any client can then drive the documentation, for instance a load
+ * tool, or the users of a running server. The recorded operations are documented later, from an
+ * operation log or HAR file, with a {@link io.github.restdocsext.jersey.SnippetRegenerator}.
+ *
+ * <pre>
+ * ExampleReservoir examples = new ExampleReservoir(3);
+ * ResourceConfig config = new ResourceConfig(TeamResource.class)
+ *         .register(new ServerDocumentationFeature(examples).samplingRate(0.01));
+ * </pre>
+ *
+ * The identifier of an operation is derived from the resource method that served it, for
+ * instance {@code team-resource/get-team} for the {@code getTeam} method of
+ * {@code TeamResource}, and its URL template is the matched {@code @Path} template of the
+ * resource and resource method.
+ *
+ * The overhead on the server is bounded: only the sampled requests are captured, the
+ * entities are streamed and only their start is copied, up to the capture limit, and the
+ * operations are passed to the recorder on the request thread, so the recorder should be cheap,
+ * like an {@link io.github.restdocsext.jersey.operation.record.ExampleReservoir} or an
+ * {@link io.github.restdocsext.jersey.operation.record.OperationRingBuffer}. The sampling rate and
+ * capture limit can be changed while the application is running.
+ *
+ * @author Paul Samsotha
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public class ServerDocumentationFeature implements Feature {
+
+    private final OperationRecorder recorder;
+
+    private final AtomicInteger stepCount = new AtomicInteger();
+
+    private final LongAdder recorded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile double samplingRate = 1.0;
+
+    private volatile int captureLimit = DocumentationClientMonitor.DEFAULT_CAPTURE_LIMIT;
+
+    private volatile File outputDirectory = OutputDirectories.defaultOutputDirectory();
+
+    private volatile TemplateFormat templateFormat = TemplateFormats.asciidoctor();
+
+    private volatile Throwable lastFailure;
+
+    /**
+     * Create a feature passing the captured operations to {@code recorder}.
+     *
+     * @param recorder the operation recorder
+     */
+    public ServerDocumentationFeature(OperationRecorder recorder) {
+        Preconditions.checkNotNull(recorder, "recorder must not be null");
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        final ServerCaptureFilter filter = new ServerCaptureFilter(this);
+        final Map<Class<?>, Integer> contracts = new HashMap<>();
+        // request filters run in ascending and response filters in descending priority, so both
+        // filters run last of the application filters and see their changes; the interceptors are
+        // the closest to the entity providers, so the entities are captured as they are read and written
+        contracts.put(ContainerRequestFilter.class, Integer.MAX_VALUE);
+        contracts.put(ContainerResponseFilter.class, 0);
+        contracts.put(ReaderInterceptor.class, Integer.MAX_VALUE);
+        contracts.put(WriterInterceptor.class, Integer.MAX_VALUE);
+        context.register(filter, contracts);
+        return true;
+    }
+
+    /**
+     * Set the fraction of requests that are captured, between {@code 0.0} and {@code 1.0}.
+     * Defaults to {@code 1.0}.
+     *
+     * @param samplingRate the sampling rate
+     * @return {@code this}
+     * @throws IllegalArgumentException if the rate is not between {@code 0.0} and {@code 1.0}
+     */
+    public ServerDocumentationFeature samplingRate(double samplingRate) {
+        if (!(samplingRate >= 0.0 && samplingRate <= 1.0)) {
+            throw new IllegalArgumentException("samplingRate must be between 0.0 and 1.0");
+        }
+        this.samplingRate = samplingRate;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of bytes captured of each entity. Larger entities are truncated.
+     * Defaults to {@value DocumentationClientMonitor#DEFAULT_CAPTURE_LIMIT}.
+     *
+     * @param captureLimit the capture limit
+     * @return {@code this}
+     * @throws IllegalArgumentException if the limit is not between {@code 1} and
+     *         {@value DocumentationClientMonitor#MAX_CAPTURE_LIMIT}
+     */
+    public ServerDocumentationFeature captureLimit(int captureLimit) {
+        this.captureLimit = DocumentationClientMonitor.checkCaptureLimit(captureLimit);
+        return this;
+    }
+
+    /**
+     * Set the directory the snippets of the recorded operations are written to, when they are
+     * regenerated.
+     *
+     * @param outputDirectory the output directory
+     * @return {@code this}
+     */
+    public ServerDocumentationFeature outputDirectory(String outputDirectory) {
+        Preconditions.checkNotNull(outputDirectory, "outputDirectory must not be null");
+        this.outputDirectory = new File(outputDirectory);
+        return this;
+    }
+
+    /**
+     * Set the template format of the snippets of the recorded operations. Defaults to
+     * Asciidoctor.
+     *
+     * @param templateFormat the template format
+     * @return {@code this}
+     */
+    public ServerDocumentationFeature templateFormat(TemplateFormat templateFormat) {
+        Preconditions.checkNotNull(templateFormat, "templateFormat must not be null");
+        this.templateFormat = templateFormat;
+        return this;
+    }
+
+    /**
+     * Get the fraction of requests that are captured.
+     *
+     * @return the sampling rate
+     */
+    public double getSamplingRate() {
+        return this.samplingRate;
+    }
+
+    /**
+     * Get the maximum number of bytes captured of each entity.
+     *
+     * @return the capture limit
+     */
+    public int getCaptureLimit() {
+        return this.captureLimit;
+    }
+
+    /**
+     * Get the number of operations passed to the recorder.
+     *
+     * @return the number of recorded operations
+     */
+    public long getRecorded() {
+        return this.recorded.sum();
+    }
+
+    /**
+     * Get the number of operations that could not be captured or recorded.
+     *
+     * @return the number of failures
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Get the last failure to capture or record an operation.
+     *
+     * @return the last failure, or {@code null}
+     */
+    public Throwable getLastFailure() {
+        return this.lastFailure;
+    }
+
+    OperationRecorder getRecorder() {
+        return this.recorder;
+    }
+
+    File getOutputDirectory() {
+        return this.outputDirectory;
+    }
+
+    TemplateFormat getTemplateFormat() {
+        return this.templateFormat;
+    }
+
+    int nextStep() {
+        return this.stepCount.incrementAndGet();
+    }
+
+    void recorded() {
+        this.recorded.increment();
+    }
+
+    void failed(Throwable failure) {
+        this.failed.increment();
+        this.lastFailure = failure;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Contains support for capturing documented operations on the server. A
+ * {@link io.github.restdocsext.jersey.server.ServerDocumentationFeature} registered on a Jersey
+ * application records the requests it serves, whatever client makes them, so the snippets can
+ * be generated later with a {@link io.github.restdocsext.jersey.SnippetRegenerator}.
+ */
+package io.github.restdocsext.jersey.server;
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.github.restdocsext.jersey.operation.record.OperationRecorder;
+import io.github.restdocsext.jersey.operation.record.OperationTiming;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A report of where the time of a documentation build goes. It lists the slowest documented
+ * operations, the largest captured payloads and the truncated captures, and compares the total
+ * time spent documenting with the time spent in the HTTP exchanges themselves. The report is
+ * written as {@code documentation-performance.adoc} and {@code documentation-performance.json}
+ * to the output directory.
+ *
+ * The report collects the timing of the documentation phases and the recorded operations, so it
+ * is registered both as a timing listener and as an operation recorder, which
+ * {@code JerseyRestDocumentationConfigurer.performanceReport} does. The report is written with
+ * {@link #write()}, or by a {@link DocumentationPerformanceReportRule} when all the tests of a
+ * JUnit 4 class have run.
+ *
+ * <pre>
+ * DocumentationPerformanceReport report = new DocumentationPerformanceReport("build/generated-snippets");
+ * target.register(documentationConfiguration(this.documentation).performanceReport(report))
+ * ...
+ * report.write();
+ * </pre>
+ *
+ * The HTTP time of an operation is measured from the last request filter to the first response
+ * filter, so it includes writing the request entity.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationPerformanceReport implements DocumentationTimingListener, OperationRecorder {
+
+    /**
+     * Name of the report files, without extension.
+     */
+    public static final String REPORT_NAME = "documentation-performance";
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ConcurrentMap<String, OperationSummary> operations = new ConcurrentHashMap<>();
+
+    private final File outputDirectory;
+
+    private final int limit;
+
+    /**
+     * Create a report written to {@code outputDirectory}, listing the ten slowest operations and
+     * largest payloads.
+     *
+     * @param outputDirectory the directory the report is written to
+     */
+    public DocumentationPerformanceReport(String outputDirectory) {
+        this(outputDirectory, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Create a report written to {@code outputDirectory}.
+     *
+     * @param outputDirectory the directory the report is written to
+     * @param limit the number of operations listed as slowest and as largest
+     */
+    public DocumentationPerformanceReport(String outputDirectory, int limit) {
+        Preconditions.checkNotNull(outputDirectory, "outputDirectory must not be null");
+        Preconditions.checkArgument(limit > 0, "limit must be positive");
+        this.outputDirectory = new File(outputDirectory);
+        this.limit = limit;
+    }
+
+    @Override
+    public void phaseCompleted(PhaseTiming timing) {
+        if (timing.getIdentifier() != null) {
+            summaryOf(timing.getIdentifier()).documentationNanos.add(timing.getElapsedNanos());
+        }
+    }
+
+    @Override
+    public void record(RecordedOperation operation) {
+        final OperationSummary summary = summaryOf(operation.getIdentifier());
+        summary.count.increment();
+        final OperationTiming timing = operation.getTiming();
+        if (timing != null) {
+            summary.httpNanos.add(timing.getElapsedNanos());
+        }
+        final byte[] requestContent = operation.getRequest().getContent();
+        final byte[] responseContent = operation.getResponse().getContent();
+        final long bytes = length(requestContent) + length(responseContent);
+        summary.capturedBytes.add(bytes);
+        summary.largestCapture.accumulate(bytes);
+        if (operation.isTruncated()) {
+            summary.truncatedCaptures.increment();
+        }
+    }
+
+    private OperationSummary summaryOf(String identifier) {
+        return this.operations.computeIfAbsent(identifier, OperationSummary::new);
+    }
+
+    private static long length(byte[] content) {
+        return content == null ? 0 : content.length;
+    }
+
+    /**
+     * Get the summaries of all the operations, in no particular order.
+     *
+     * @return the operation summaries
+     */
+    public List<OperationSummary> getOperations() {
+        return new ArrayList<>(this.operations.values());
+    }
+
+    /**
+     * Get the operations that took longest to document, slowest first.
+     *
+     * @return at most {@code limit} operations
+     */
+    public List<OperationSummary> getSlowestOperations() {
+        return top(Comparator.comparingLong(OperationSummary::getDocumentationNanos));
+    }
+
+    /**
+     * Get the operations with the largest captured payload, largest first.
+     *
+     * @return at most {@code limit} operations
+     */
+    public List<OperationSummary> getLargestOperations() {
+        return top(Comparator.comparingLong(OperationSummary::getLargestCaptureBytes));
+    }
+
+    /**
+     * Get the operations with a request or response entity that was truncated at the capture limit.
+     *
+     * @return the operations, by identifier
+     */
+    public List<OperationSummary> getTruncatedOperations() {
+        final List<OperationSummary> truncated = new ArrayList<>();
+        for (OperationSummary summary : this.operations.values()) {
+            if (summary.getTruncatedCaptures() > 0) {
+                truncated.add(summary);
+            }
+        }
+        Collections.sort(truncated, Comparator.comparing(OperationSummary::getIdentifier));
+        return truncated;
+    }
+
+    private List<OperationSummary> top(Comparator<OperationSummary> comparator) {
+        final List<OperationSummary> sorted = getOperations();
+        Collections.sort(sorted, comparator.reversed().thenComparing(OperationSummary::getIdentifier));
+        return sorted.size() > this.limit ? sorted.subList(0, this.limit) : sorted;
+    }
+
+    /**
+     * Get the total time spent in the HTTP exchanges.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getHttpNanos() {
+        long total = 0;
+        for (OperationSummary summary : this.operations.values()) {
+            total += summary.getHttpNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Get the total time spent documenting the exchanges.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getDocumentationNanos() {
+        long total = 0;
+        for (OperationSummary summary : this.operations.values()) {
+            total += summary.getDocumentationNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Write the Asciidoc and JSON report to the output directory. Nothing is written if no
+     * operation was documented.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    public void write() throws IOException {
+        if (this.operations.isEmpty()) {
+            return;
+        }
+        if (!this.outputDirectory.isDirectory() && !this.outputDirectory.mkdirs()) {
+            throw new IOException("Could not create directory " + this.outputDirectory + ".");
+        }
+        try (Writer writer = newWriter(REPORT_NAME + ".adoc")) {
+            writeAsciidoc(writer);
+        }
+        try (Writer writer = newWriter(REPORT_NAME + ".json")) {
+            writeJson(writer);
+        }
+    }
+
+    private Writer newWriter(String name) throws IOException {
+        return new OutputStreamWriter(new FileOutputStream(new File(this.outputDirectory, name)),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the report as Asciidoc.
+     *
+     * @param writer the writer to write to, which is not closed
+     */
+    public void writeAsciidoc(Writer writer) {
+        final PrintWriter out = new PrintWriter(writer);
+        out.println("= Documentation performance");
+        out.println();
+        out.println("|===");
+        out.println("|Operations |HTTP (ms) |Documentation (ms)");
+        out.println();
+        out.println("|" + getOperationCount() + " |" + millis(getHttpNanos()) + " |"
+                + millis(getDocumentationNanos()));
+        out.println("|===");
+        out.println();
+        out.println("== Slowest operations");
+        out.println();
+        out.println("|===");
+        out.println("|Operation |Calls |HTTP (ms) |Documentation (ms)");
+        out.println();
+        for (OperationSummary summary : getSlowestOperations()) {
+            out.println("|" + summary.getIdentifier() + " |" + summary.getCount() + " |"
+                    + millis(summary.getHttpNanos()) + " |" + millis(summary.getDocumentationNanos()));
+        }
+        out.println("|===");
+        out.println();
+        out.println("== Largest payloads");
+        out.println();
+        out.println("|===");
+        out.println("|Operation |Largest capture (bytes) |Captured (bytes)");
+        out.println();
+        for (OperationSummary summary : getLargestOperations()) {
+            out.println("|" + summary.getIdentifier() + " |" + summary.getLargestCaptureBytes() + " |"
+                    + summary.getCapturedBytes());
+        }
+        out.println("|===");
+        out.println();
+        out.println("== Truncated captures");
+        out.println();
+        final List<OperationSummary> truncated = getTruncatedOperations();
+        if (truncated.isEmpty()) {
+            out.println("None.");
+        }
+        for (OperationSummary summary : truncated) {
+            out.println("* " + summary.getIdentifier() + " (" + summary.getTruncatedCaptures() + ")");
+        }
+        out.flush();
+    }
+
+    /**
+     * Write the report as JSON.
+     *
+     * @param writer the writer to write to, which is not closed
+     * @throws IOException if the report cannot be written
+     */
+    public void writeJson(Writer writer) throws IOException {
+        final JsonGenerator json = JSON_FACTORY.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.useDefaultPrettyPrinter();
+        json.writeStartObject();
+        json.writeNumberField("operations", getOperationCount());
+        json.writeNumberField("httpMillis", getHttpNanos() / NANOS_PER_MILLI);
+        json.writeNumberField("documentationMillis", getDocumentationNanos() / NANOS_PER_MILLI);
+        writeJsonArray(json, "slowest", getSlowestOperations());
+        writeJsonArray(json, "largest", getLargestOperations());
+        writeJsonArray(json, "truncated", getTruncatedOperations());
+        json.writeEndObject();
+        json.close();
+    }
+
+    private static void writeJsonArray(JsonGenerator json, String name, List<OperationSummary> summaries)
+            throws IOException {
+        json.writeArrayFieldStart(name);
+        for (OperationSummary summary : summaries) {
+            json.writeStartObject();
+            json.writeStringField("identifier", summary.getIdentifier());
+            json.writeNumberField("calls", summary.getCount());
+            json.writeNumberField("httpMillis", summary.getHttpNanos() / NANOS_PER_MILLI);
+            json.writeNumberField("documentationMillis", summary.getDocumentationNanos() / NANOS_PER_MILLI);
+            json.writeNumberField("largestCaptureBytes", summary.getLargestCaptureBytes());
+            json.writeNumberField("capturedBytes", summary.getCapturedBytes());
+            json.writeNumberField("truncatedCaptures", summary.getTruncatedCaptures());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private long getOperationCount() {
+        long total = 0;
+        for (OperationSummary summary : this.operations.values()) {
+            total += summary.getCount();
+        }
+        return total;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * The timing and captured payloads of all the documented calls with the same identifier.
+     */
+    public static final class OperationSummary {
+
+        private final String identifier;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder httpNanos = new LongAdder();
+
+        private final LongAdder documentationNanos = new LongAdder();
+
+        private final LongAdder capturedBytes = new LongAdder();
+
+        private final LongAccumulator largestCapture = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder truncatedCaptures = new LongAdder();
+
+        private OperationSummary(String identifier) {
+            this.identifier = identifier;
+        }
+
+        /**
+         * Get the operation identifier.
+         *
+         * @return the identifier
+         */
+        public String getIdentifier() {
+            return this.identifier;
+        }
+
+        /**
+         * Get the number of documented calls.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * Get the time spent in the HTTP exchanges.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getHttpNanos() {
+            return this.httpNanos.sum();
+        }
+
+        /**
+         * Get the time spent documenting, over all the documentation phases.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getDocumentationNanos() {
+            return this.documentationNanos.sum();
+        }
+
+        /**
+         * Get the total size of the captured request and response entities.
+         *
+         * @return the size in bytes
+         */
+        public long getCapturedBytes() {
+            return this.capturedBytes.sum();
+        }
+
+        /**
+         * Get the size of the largest captured request and response entities of a single call.
+         *
+         * @return the size in bytes
+         */
+        public long getLargestCaptureBytes() {
+            return this.largestCapture.get();
+        }
+
+        /**
+         * Get the number of calls whose request or response entity was truncated at the capture
+         * limit.
+         *
+         * @return the count
+         */
+        public long getTruncatedCaptures() {
+            return this.truncatedCaptures.sum();
+        }
+    }
+}
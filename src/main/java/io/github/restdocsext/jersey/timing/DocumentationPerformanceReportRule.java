@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * A JUnit 4 rule that writes a {@link DocumentationPerformanceReport} once the tests it applies
+ * to have run, whether they pass or not. As a class rule, next to {@code JUnitRestDocumentation},
+ * the report covers all the tests of the class.
+ *
+ * <pre>
+ * &#64;ClassRule
+ * public static DocumentationPerformanceReportRule report
+ *         = new DocumentationPerformanceReportRule("build/generated-snippets");
+ *
+ * target.register(documentationConfiguration(this.documentation).performanceReport(report.getReport()))
+ * </pre>
+ *
+ * @author Paul Samsotha
+ */
+public final class DocumentationPerformanceReportRule implements TestRule {
+
+    private final DocumentationPerformanceReport report;
+
+    /**
+     * Create a rule writing a report to {@code outputDirectory}.
+     *
+     * @param outputDirectory the directory the report is written to
+     */
+    public DocumentationPerformanceReportRule(String outputDirectory) {
+        this(new DocumentationPerformanceReport(outputDirectory));
+    }
+
+    /**
+     * Create a rule writing {@code report}.
+     *
+     * @param report the report
+     */
+    public DocumentationPerformanceReportRule(DocumentationPerformanceReport report) {
+        Preconditions.checkNotNull(report, "report must not be null");
+        this.report = report;
+    }
+
+    @Override
+    public Statement apply(final Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    base.evaluate();
+                } finally {
+                    DocumentationPerformanceReportRule.this.report.write();
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the report written by this rule, to register with
+     * {@code JerseyRestDocumentationConfigurer.performanceReport}.
+     *
+     * @return the report
+     */
+    public DocumentationPerformanceReport getReport() {
+        return this.report;
+    }
+}
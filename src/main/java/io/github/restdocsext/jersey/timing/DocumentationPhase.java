@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+/**
+ * The phases of documenting a request.
+ *
+ * @author Paul Samsotha
+ */
+public enum DocumentationPhase {
+
+    /**
+     * Capturing the request and response entities in the client interceptors, including
+     * serializing the request entity into the capture buffer.
+     */
+    CAPTURE,
+
+    /**
+     * Converting the Jersey request and response to Spring REST Docs operations.
+     */
+    CONVERSION,
+
+    /**
+     * Applying the operation preprocessors to the request and response.
+     */
+    PREPROCESSING,
+
+    /**
+     * Creating the snippet models and rendering the snippet templates.
+     */
+    RENDERING,
+
+    /**
+     * Resolving the snippet files and writing the rendered snippets.
+     */
+    WRITE
+}
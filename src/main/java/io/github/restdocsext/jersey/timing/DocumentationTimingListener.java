@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+/**
+ * Listener that is notified of the time spent in each {@link DocumentationPhase} of documenting
+ * a request. It is registered with
+ * {@code JerseyRestDocumentationConfigurer.timingListener(DocumentationTimingListener)}.
+ *
+ * Listeners are called on the thread that documents the request, once the request has been
+ * documented, so they should return quickly. A listener may be called concurrently when
+ * requests are documented in parallel.
+ *
+ * @author Paul Samsotha
+ */
+public interface DocumentationTimingListener {
+
+    /**
+     * Called when a phase of documenting a request has completed.
+     *
+     * @param timing the timing of the phase
+     */
+    void phaseCompleted(PhaseTiming timing);
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link DocumentationTimingListener} that aggregates the timings into {@link PhaseStatistics}
+ * per phase, and into the total documentation time per operation identifier. It can be shared by
+ * all the tests of a suite, and its {@link #toString()} summary printed at the end, to see where
+ * documentation time goes.
+ *
+ * <pre>
+ * private static final DocumentationTimingStatistics TIMINGS = new DocumentationTimingStatistics();
+ *
+ * target.register(documentationConfiguration(this.documentation).timingListener(TIMINGS))
+ * </pre>
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationTimingStatistics implements DocumentationTimingListener {
+
+    private final Map<DocumentationPhase, PhaseStatistics> phases = new EnumMap<>(DocumentationPhase.class);
+
+    private final ConcurrentMap<String, LongAdder> identifierNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Create empty statistics.
+     */
+    public DocumentationTimingStatistics() {
+        for (DocumentationPhase phase : DocumentationPhase.values()) {
+            this.phases.put(phase, new PhaseStatistics());
+        }
+    }
+
+    @Override
+    public void phaseCompleted(PhaseTiming timing) {
+        this.phases.get(timing.getPhase()).record(timing.getElapsedNanos(), timing.getBytes());
+        if (timing.getIdentifier() != null) {
+            this.identifierNanos.computeIfAbsent(timing.getIdentifier(), key -> new LongAdder())
+                    .add(timing.getElapsedNanos());
+        }
+    }
+
+    /**
+     * Get the statistics of a phase.
+     *
+     * @param phase the documentation phase
+     * @return the statistics
+     */
+    public PhaseStatistics getStatistics(DocumentationPhase phase) {
+        return this.phases.get(phase);
+    }
+
+    /**
+     * Get the total time spent documenting each operation, over all phases, with the
+     * slowest operation first.
+     *
+     * @return the time in nanoseconds by operation identifier
+     */
+    public Map<String, Long> getNanosByIdentifier() {
+        final List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : this.identifierNanos.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        Collections.sort(entries, Collections.reverseOrder(Map.Entry.<String, Long>comparingByValue()));
+        final Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a table of the statistics of every phase, with times in milliseconds.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        final StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-14s %8s %12s %10s %10s %10s %14s%n",
+                "phase", "count", "total ms", "mean ms", "p99 ms", "max ms", "bytes"));
+        for (Map.Entry<DocumentationPhase, PhaseStatistics> entry : this.phases.entrySet()) {
+            final PhaseStatistics statistics = entry.getValue();
+            summary.append(String.format(Locale.ROOT, "%-14s %8d %12.3f %10.3f %10.3f %10.3f %14d%n",
+                    entry.getKey(), statistics.getCount(), millis(statistics.getTotalNanos()),
+                    millis(statistics.getMeanNanos()), millis(statistics.getPercentileNanos(99)),
+                    millis(statistics.getMaxNanos()), statistics.getTotalBytes()));
+        }
+        return summary.toString();
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.restdocsext.jersey.performance.LatencyHistogram;
+
+/**
+ * Statistics of the timings of one {@link DocumentationPhase}. Timings are counted in a
+ * {@link LatencyHistogram}, so percentiles are accurate to within about 1.6%, which is enough
+ * to see where documentation time goes. The counts and totals, here and in the histogram, are
+ * {@link LongAdder}s, so recording does not contend when requests are documented in parallel.
+ *
+ * @author Paul Samsotha
+ */
+public final class PhaseStatistics {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final LongAdder totalBytes = new LongAdder();
+
+    void record(long nanos, long bytes) {
+        this.histogram.record(nanos);
+        this.totalBytes.add(Math.max(bytes, 0));
+    }
+
+    /**
+     * Get the number of recorded timings.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return this.histogram.getCount();
+    }
+
+    /**
+     * Get the total time spent in the phase.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.histogram.getTotal();
+    }
+
+    /**
+     * Get the total bytes handled in the phase.
+     *
+     * @return the total bytes
+     */
+    public long getTotalBytes() {
+        return this.totalBytes.sum();
+    }
+
+    /**
+     * Get the longest time spent in the phase.
+     *
+     * @return the maximum time in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long getMaxNanos() {
+        return this.histogram.getMax();
+    }
+
+    /**
+     * Get the mean time spent in the phase.
+     *
+     * @return the mean time in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public double getMeanNanos() {
+        return this.histogram.getMean();
+    }
+
+    /**
+     * Get the time at the given percentile, the highest value of the histogram bucket the
+     * percentile falls into, and never more than the maximum.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the time in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        return this.histogram.getValueAtPercentile(percentile);
+    }
+}
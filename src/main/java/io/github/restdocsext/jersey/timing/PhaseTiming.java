@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+/**
+ * The time spent, and the bytes handled, in one phase of documenting a request.
+ *
+ * @author Paul Samsotha
+ */
+public final class PhaseTiming {
+
+    private final DocumentationPhase phase;
+
+    private final String identifier;
+
+    private final String urlTemplate;
+
+    private final long elapsedNanos;
+
+    private final long bytes;
+
+    /**
+     * Create a timing.
+     *
+     * @param phase the documentation phase
+     * @param identifier the identifier of the documented operation
+     * @param urlTemplate the URL template of the documented request
+     * @param elapsedNanos the time spent in the phase, in nanoseconds
+     * @param bytes the bytes handled in the phase
+     */
+    public PhaseTiming(DocumentationPhase phase, String identifier, String urlTemplate,
+            long elapsedNanos, long bytes) {
+        this.phase = phase;
+        this.identifier = identifier;
+        this.urlTemplate = urlTemplate;
+        this.elapsedNanos = elapsedNanos;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Get the documentation phase.
+     *
+     * @return the phase
+     */
+    public DocumentationPhase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Get the identifier of the documented operation.
+     *
+     * @return the identifier
+     */
+    public String getIdentifier() {
+        return this.identifier;
+    }
+
+    /**
+     * Get the URL template of the documented request.
+     *
+     * @return the URL template
+     */
+    public String getUrlTemplate() {
+        return this.urlTemplate;
+    }
+
+    /**
+     * Get the time spent in the phase.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Get the bytes handled in the phase. For the capture, conversion and preprocessing phases,
+     * this is the size of the request and response content. For the rendering and write phases,
+     * it is the number of characters of the rendered snippets.
+     *
+     * @return the byte count
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "PhaseTiming{phase=" + this.phase + ", identifier=" + this.identifier
+                + ", urlTemplate=" + this.urlTemplate + ", elapsedNanos=" + this.elapsedNanos
+                + ", bytes=" + this.bytes + '}';
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.uri;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import jersey.repackaged.com.google.common.base.Preconditions;
+
+/**
+ * An index of the URL templates of an application, built from its resource model. It resolves
+ * the template of a request path by matching the path against the templates, so requests made
+ * to targets created from a {@code Link} or an absolute URI get the same templates as requests
+ * built with {@code path()}. Register it with
+ * {@link io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer#urlTemplates}.
+ *
+ * <p>The templates are compiled into a trie of path segments. Literal segments are looked up in
+ * a hash map, and only the template segments of a node are matched with regular expressions,
+ * so the time to resolve a path depends on its number of segments, not on the size of the
+ * application. Literal segments are preferred to template segments, and template segments with
+ * more literal characters to those with fewer, then to those with more regular expressions, as
+ * when Jersey matches requests. Template parameters with a regular expression that can match a
+ * {@code /}, like {@code {path: .*}}, match the rest of the path.
+ *
+ * <p>An index is immutable and can be shared by threads.
+ *
+ * @author Paul Samsotha
+ */
+public final class UrlTemplateIndex {
+
+    private static final int MAX_LOCATOR_DEPTH = 8;
+
+    private static final String DEFAULT_PARAMETER_REGEX = "[^/]+";
+
+    private static final Pattern REGEX_PARAMETER = Pattern.compile("\\{[^}:]*:");
+
+    private final Node root = new Node();
+
+    private final String basePath;
+
+    private int size;
+
+    private UrlTemplateIndex(String basePath) {
+        final String trimmed = trim(basePath);
+        this.basePath = trimmed.isEmpty() ? "" : "/" + trimmed;
+    }
+
+    /**
+     * Create an index of the resources of {@code application}: its resource classes and
+     * singletons and, for a {@code ResourceConfig}, its programmatic resources.
+     *
+     * @param application the application
+     * @return the index
+     */
+    public static UrlTemplateIndex of(Application application) {
+        return of("", application);
+    }
+
+    /**
+     * Create an index of the resources of {@code application}, deployed under
+     * {@code basePath}, for instance the context path of the web application.
+     *
+     * @param basePath the path of the application
+     * @param application the application
+     * @return the index
+     */
+    public static UrlTemplateIndex of(String basePath, Application application) {
+        Preconditions.checkNotNull(application, "application must not be null");
+        final List<Resource> resources = new ArrayList<>();
+        for (Class<?> type : application.getClasses()) {
+            addResource(resources, type);
+        }
+        for (Object singleton : application.getSingletons()) {
+            addResource(resources, singleton.getClass());
+        }
+        if (application instanceof ResourceConfig) {
+            resources.addAll(((ResourceConfig) application).getResources());
+        }
+        return of(basePath, resources);
+    }
+
+    /**
+     * Create an index of the resources of a resource model.
+     *
+     * @param basePath the path of the application
+     * @param resourceModel the resource model
+     * @return the index
+     */
+    public static UrlTemplateIndex of(String basePath, ResourceModel resourceModel) {
+        Preconditions.checkNotNull(resourceModel, "resourceModel must not be null");
+        return of(basePath, resourceModel.getRootResources());
+    }
+
+    /**
+     * Create an index of {@code resources}.
+     *
+     * @param basePath the path of the application
+     * @param resources the resources
+     * @return the index
+     */
+    public static UrlTemplateIndex of(String basePath, Collection<Resource> resources) {
+        Preconditions.checkNotNull(basePath, "basePath must not be null");
+        Preconditions.checkNotNull(resources, "resources must not be null");
+        final UrlTemplateIndex index = new UrlTemplateIndex(basePath);
+        for (Resource resource : resources) {
+            index.index(resource, "", 0);
+        }
+        index.root.sort();
+        return index;
+    }
+
+    /**
+     * Create an index of URL templates, for instance the templates of recorded operations.
+     *
+     * @param basePath the path of the application
+     * @param templates the URL templates, relative to the base path
+     * @return the index
+     */
+    public static UrlTemplateIndex ofTemplates(String basePath, Collection<String> templates) {
+        Preconditions.checkNotNull(basePath, "basePath must not be null");
+        Preconditions.checkNotNull(templates, "templates must not be null");
+        final UrlTemplateIndex index = new UrlTemplateIndex(basePath);
+        for (String template : templates) {
+            index.add(trim(template));
+        }
+        index.root.sort();
+        return index;
+    }
+
+    private static void addResource(List<Resource> resources, Class<?> type) {
+        if (Resource.getPath(type) != null && Resource.isAcceptable(type)) {
+            resources.add(Resource.from(type));
+        }
+    }
+
+    /**
+     * Find the template of {@code path}, the raw path of a request URI.
+     *
+     * @param path the request path
+     * @return the template, starting with the base path, or {@code null} if no template
+     *     matches the path
+     */
+    public String find(String path) {
+        if (path == null || !path.startsWith(this.basePath)) {
+            return null;
+        }
+        final String relative = path.substring(this.basePath.length());
+        if (!relative.isEmpty() && !relative.startsWith("/")) {
+            return null;
+        }
+        final String template = this.root.find(split(relative), 0);
+        return template == null ? null : this.basePath + template;
+    }
+
+    /**
+     * Get the number of templates in the index.
+     *
+     * @return the number of templates
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private void index(Resource resource, String parent, int locatorDepth) {
+        final String template = resource.getPath() == null ? parent : join(parent, resource.getPath());
+        if (!resource.getResourceMethods().isEmpty()) {
+            add(template);
+        }
+        for (Resource child : resource.getChildResources()) {
+            index(child, template, locatorDepth);
+        }
+        final ResourceMethod locator = resource.getResourceLocator();
+        if (locator != null && locatorDepth < MAX_LOCATOR_DEPTH) {
+            final Class<?> type = locator.getInvocable().getRawResponseType();
+            if (type != null && type != Object.class && Resource.isAcceptable(type)) {
+                index(Resource.builder(type, true).build(), template, locatorDepth + 1);
+            }
+        }
+    }
+
+    private void add(String template) {
+        final List<String> segments = split(template);
+        Node node = this.root;
+        for (int i = 0; i < segments.size(); i++) {
+            final String segment = segments.get(i);
+            if (segment.indexOf('{') < 0) {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+                continue;
+            }
+            final String regex = toRegex(segment);
+            if (Pattern.compile(regex).matcher("a/b").matches()) {
+                // the parameter can span several segments, so it is matched with the rest of the path
+                final String rest = String.join("/", segments.subList(i, segments.size()));
+                node.tails.add(new Edge(rest, toRegex(rest), "/" + trim(template)));
+                this.size++;
+                return;
+            }
+            node = node.child(segment, regex);
+        }
+        if (node.template == null) {
+            node.template = template.isEmpty() ? "/" : "/" + trim(template);
+            this.size++;
+        }
+    }
+
+    /**
+     * Convert a template to a regular expression, quoting its literal parts.
+     */
+    private static String toRegex(String template) {
+        final StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            final int open = template.indexOf('{', i);
+            if (open < 0) {
+                regex.append(Pattern.quote(template.substring(i)));
+                break;
+            }
+            if (open > i) {
+                regex.append(Pattern.quote(template.substring(i, open)));
+            }
+            final int close = closingBrace(template, open);
+            final String parameter = template.substring(open + 1, close);
+            final int colon = parameter.indexOf(':');
+            regex.append("(?:")
+                    .append(colon < 0 ? DEFAULT_PARAMETER_REGEX : parameter.substring(colon + 1).trim())
+                    .append(')');
+            i = close + 1;
+        }
+        return regex.toString();
+    }
+
+    private static int closingBrace(String template, int open) {
+        int depth = 0;
+        for (int i = open; i < template.length(); i++) {
+            final char c = template.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unclosed template parameter in " + template);
+    }
+
+    /**
+     * Split a path or template into segments, keeping the regular expressions of template
+     * parameters whole, and ignoring matrix parameters of the path.
+     */
+    private static List<String> split(String path) {
+        final List<String> segments = new ArrayList<>();
+        final String trimmed = trim(path);
+        if (trimmed.isEmpty()) {
+            return segments;
+        }
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            final char c = trimmed.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                segments.add(trimmed.substring(start, i));
+                start = i + 1;
+            }
+        }
+        segments.add(trimmed.substring(start));
+        return segments;
+    }
+
+    private static String join(String parent, String path) {
+        final String trimmed = trim(path);
+        if (trimmed.isEmpty()) {
+            return parent;
+        }
+        return parent.isEmpty() ? trimmed : parent + "/" + trimmed;
+    }
+
+    private static String trim(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private static int countRegexParameters(String template) {
+        final Matcher matcher = REGEX_PARAMETER.matcher(template);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String withoutMatrixParameters(String segment) {
+        final int semicolon = segment.indexOf(';');
+        return semicolon < 0 ? segment : segment.substring(0, semicolon);
+    }
+
+    /**
+     * A node of the trie, for a path segment.
+     */
+    private static final class Node {
+
+        private static final Comparator<Edge> MOST_SPECIFIC_FIRST
+                = Comparator.<Edge>comparingInt(edge -> -edge.literalLength)
+                        .thenComparingInt(edge -> -edge.regexCount);
+
+        private final Map<String, Node> literals = new HashMap<>();
+
+        private final List<Edge> patterns = new ArrayList<>();
+
+        private final List<Edge> tails = new ArrayList<>();
+
+        private String template;
+
+        private Node child(String segment, String regex) {
+            for (Edge edge : this.patterns) {
+                if (edge.template.equals(segment)) {
+                    return edge.node;
+                }
+            }
+            final Edge edge = new Edge(segment, regex, null);
+            this.patterns.add(edge);
+            return edge.node;
+        }
+
+        private void sort() {
+            this.patterns.sort(MOST_SPECIFIC_FIRST);
+            this.tails.sort(MOST_SPECIFIC_FIRST);
+            for (Node child : this.literals.values()) {
+                child.sort();
+            }
+            for (Edge edge : this.patterns) {
+                edge.node.sort();
+            }
+        }
+
+        private String find(List<String> segments, int index) {
+            if (index == segments.size()) {
+                if (this.template != null) {
+                    return this.template;
+                }
+            } else {
+                final String segment = withoutMatrixParameters(segments.get(index));
+                final Node literal = this.literals.get(segment);
+                if (literal != null) {
+                    final String template = literal.find(segments, index + 1);
+                    if (template != null) {
+                        return template;
+                    }
+                }
+                for (Edge edge : this.patterns) {
+                    if (edge.pattern.matcher(segment).matches()) {
+                        final String template = edge.node.find(segments, index + 1);
+                        if (template != null) {
+                            return template;
+                        }
+                    }
+                }
+            }
+            if (!this.tails.isEmpty() && index < segments.size()) {
+                final String rest = String.join("/", segments.subList(index, segments.size()));
+                for (Edge edge : this.tails) {
+                    if (edge.pattern.matcher(rest).matches()) {
+                        return edge.fullTemplate;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A template segment, or the template of the rest of the path, and its compiled pattern.
+     */
+    private static final class Edge {
+
+        private final String template;
+
+        private final Pattern pattern;
+
+        private final int literalLength;
+
+        private final int regexCount;
+
+        private final String fullTemplate;
+
+        private final Node node = new Node();
+
+        private Edge(String template, String regex, String fullTemplate) {
+            this.template = template;
+            this.pattern = Pattern.compile(regex);
+            this.literalLength = template.replaceAll("\\{[^}]*\\}", "").length();
+            this.regexCount = countRegexParameters(template);
+            this.fullTemplate = fullTemplate;
+        }
+    }
+}
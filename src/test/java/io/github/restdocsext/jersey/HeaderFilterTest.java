@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.util.Collections;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link HeaderFilter}.
+ *
+ * @author Paul Samsotha
+ */
+public class HeaderFilterTest {
+
+    @Test
+    public void allow_includes_only_named_headers() {
+        final HeaderFilter filter = HeaderFilter.allow("Content-Type", "Location");
+        assertThat(filter.includes("Content-Type"), is(true));
+        assertThat(filter.includes("location"), is(true));
+        assertThat(filter.includes("User-Agent"), is(false));
+    }
+
+    @Test
+    public void deny_excludes_only_named_headers() {
+        final HeaderFilter filter = HeaderFilter.deny("User-Agent");
+        assertThat(filter.includes("USER-AGENT"), is(false));
+        assertThat(filter.includes("Content-Type"), is(true));
+    }
+
+    @Test
+    public void filter_applied_to_converted_headers() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle("User-Agent", "Jersey");
+        headers.putSingle("Accept", "text/plain");
+        assertThat(LazyHeaderValues.httpHeaders(headers, HeaderFilter.deny("user-agent")).keySet(),
+                is(Collections.singleton("Accept")));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void null_names_rejected() {
+        HeaderFilter.allow("Accept", null);
+    }
+}
@@ -26,6 +26,7 @@ import javax.ws.rs.client.ClientResponseContext;
 import org.junit.Rule;
 import org.junit.Test;
 import org.springframework.restdocs.JUnitRestDocumentation;
+import org.springframework.restdocs.RestDocumentationContext;
 import org.springframework.restdocs.generate.RestDocumentationGenerator;
 import org.springframework.restdocs.snippet.WriterResolver;
 import org.springframework.restdocs.templates.TemplateEngine;
@@ -77,6 +78,17 @@ public class JerseyRestDocumentationConfigurerTest {
                         instanceOf(List.class)));
     }
 
+    @Test
+    public void bound_context_is_used() throws Exception {
+        final RestDocumentationContext bound = this.restDocumentation.beforeOperation();
+        this.requestContext.setProperty(RestDocumentationContext.class.getName(), bound);
+        this.configurer.filter(this.requestContext, this.responseContext);
+
+        assertThat(this.requestContext.getProperty(RestDocumentationContext.class.getName()),
+                is((Object) bound));
+        assertThat(this.restDocumentation.beforeOperation().getStepCount(), is(2));
+    }
+
     private static <T> T getContextProperty(ClientRequestContext requestContext, String property,
             Class<T> cls) {
         return cls.cast(requestContext.getProperty(property));
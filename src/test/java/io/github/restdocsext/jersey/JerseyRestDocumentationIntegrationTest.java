@@ -17,16 +17,28 @@
 package io.github.restdocsext.jersey;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.io.FileUtils;
 import org.glassfish.jersey.filter.LoggingFilter;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.glassfish.jersey.media.multipart.MultiPart;
@@ -41,8 +53,12 @@ import org.junit.rules.ExpectedException;
 import org.springframework.restdocs.JUnitRestDocumentation;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import io.github.restdocsext.jersey.client.RestdocsClient;
 import io.github.restdocsext.jersey.test.TestModel;
 import io.github.restdocsext.jersey.test.TestResource;
+import io.github.restdocsext.jersey.timing.DocumentationPhase;
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.timing.PhaseTiming;
 
 import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
 import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
@@ -50,8 +66,10 @@ import static io.github.restdocsext.jersey.operation.preprocess.JerseyPreprocess
 import static io.github.restdocsext.jersey.test.SnippetMatchers.codeBlock;
 import static io.github.restdocsext.jersey.test.SnippetMatchers.httpRequest;
 import static io.github.restdocsext.jersey.test.SnippetMatchers.snippet;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
@@ -217,6 +235,46 @@ public class JerseyRestDocumentationIntegrationTest extends JerseyTest {
                 "curl-request.adoc", "http-request.adoc", "http-request.adoc", "path-parameters.adoc");
     }
 
+    @Test
+    public void concurrent_async_requests_documented() throws Exception {
+        final int requests = 16;
+        final WebTarget base = target().path("test/path-params").path("{param1}").path("sub").path("{param2}");
+        final CountDownLatch done = new CountDownLatch(requests);
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final List<Future<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(base.resolveTemplate("param1", "value" + i)
+                    .resolveTemplate("param2", "other" + i)
+                    .register(documentationConfiguration(this.restDocumentation))
+                    .register(document("async-path-parameters-" + i,
+                            pathParameters(
+                                    parameterWithName("param1").description("param1 description"),
+                                    parameterWithName("param2").description("param2 description"))))
+                    .request().async().get(new InvocationCallback<Response>() {
+                        @Override
+                        public void completed(Response response) {
+                            done.countDown();
+                        }
+
+                        @Override
+                        public void failed(Throwable throwable) {
+                            failures.add(throwable);
+                            done.countDown();
+                        }
+                    }));
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(failures.toString(), failures.isEmpty());
+        for (int i = 0; i < requests; i++) {
+            assertThat(futures.get(i).get().readEntity(String.class), is("value" + i + ":other" + i));
+            assertThat(new File("build/generated-snippets/async-path-parameters-" + i + "/path-parameters.adoc"),
+                    is(snippet(asciidoctor()).withContents(containsString("/test/path-params/{param1}/sub/{param2}"))));
+            assertThat(new File("build/generated-snippets/async-path-parameters-" + i + "/http-request.adoc"),
+                    is(snippet(asciidoctor()).withContents(
+                            containsString("/test/path-params/value" + i + "/sub/other" + i))));
+        }
+    }
+
     @Test
     public void missing_path_parameter_descriptor() {
         this.thrown.expect(ProcessingException.class);
@@ -575,6 +633,63 @@ public class JerseyRestDocumentationIntegrationTest extends JerseyTest {
 
     }
 
+    @Test
+    public void headers_filtered_by_client() throws IOException {
+        ((RestdocsClient) client())
+                .requestHeaders(HeaderFilter.deny("a", "User-Agent"))
+                .responseHeaders(HeaderFilter.allow("X-Not-Sent"));
+        final Response response = target()
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("client-header-filter"))
+                .path("test/post-simple")
+                .request("text/plain")
+                .header("a", "alpha").header("b", "bravo")
+                .post(Entity.text("filtered"));
+        assertThat(response.getStatus(), is(Response.Status.OK.getStatusCode()));
+        response.close();
+
+        final String request = FileUtils.readFileToString(
+                new File("build/generated-snippets/client-header-filter/http-request.adoc"), StandardCharsets.UTF_8);
+        assertThat(request, containsString("b: bravo"));
+        assertThat(request, containsString("Content-Type: text/plain"));
+        assertThat(request, not(containsString("a: alpha")));
+        assertThat(request, not(containsString("User-Agent")));
+        final String responseSnippet = FileUtils.readFileToString(
+                new File("build/generated-snippets/client-header-filter/http-response.adoc"), StandardCharsets.UTF_8);
+        assertThat(responseSnippet, not(containsString("Content-Type")));
+    }
+
+    @Test
+    public void timing_listener_notified_of_every_phase() {
+        final List<PhaseTiming> timings = new ArrayList<>();
+        final Response response = target()
+                .register(documentationConfiguration(this.restDocumentation)
+                        .timingListener(new DocumentationTimingListener() {
+                            @Override
+                            public void phaseCompleted(PhaseTiming timing) {
+                                timings.add(timing);
+                            }
+                        }))
+                .register(document("timed"))
+                .path("test/post-simple")
+                .request("text/plain")
+                .post(Entity.text("timing"));
+        assertThat(response.getStatus(), is(Response.Status.OK.getStatusCode()));
+        response.close();
+
+        final EnumSet<DocumentationPhase> phases = EnumSet.noneOf(DocumentationPhase.class);
+        for (PhaseTiming timing : timings) {
+            phases.add(timing.getPhase());
+            assertThat(timing.getIdentifier(), is("timed"));
+            assertThat(timing.getUrlTemplate(), is("/test/post-simple"));
+            assertTrue(timing.getElapsedNanos() >= 0);
+        }
+        assertThat(phases, is(EnumSet.allOf(DocumentationPhase.class)));
+        assertThat(timings.get(0).getPhase(), is(DocumentationPhase.CAPTURE));
+        assertThat(timings.get(0).getBytes(), is(12L));
+        assertTrue(timings.get(timings.size() - 1).getBytes() > 0);
+    }
+
     private void assertExpectedSnippetFilesExist(File directory, String... snippets) {
         for (String snippet : snippets) {
             File snippetFile = new File(directory, snippet);
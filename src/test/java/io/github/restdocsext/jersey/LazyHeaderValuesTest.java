@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link LazyHeaderValues}.
+ *
+ * @author Paul Samsotha
+ */
+public class LazyHeaderValuesTest {
+
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    @Test
+    public void values_converted_when_read() {
+        final MultivaluedMap<String, Object> source = new MultivaluedHashMap<>();
+        source.put("X-Trace", Arrays.<Object>asList(new Value("a"), new Value("b")));
+
+        final HttpHeaders headers = LazyHeaderValues.httpHeaders(source);
+        assertThat(headers.get("X-Trace").size(), is(2));
+        assertThat(this.conversions.get(), is(0));
+
+        assertThat(headers.getFirst("x-trace"), is("a"));
+        assertThat(headers.getFirst("x-trace"), is("a"));
+        assertThat(this.conversions.get(), is(1));
+        assertThat(headers.get("X-Trace"), is(Arrays.asList("a", "b")));
+        assertThat(this.conversions.get(), is(2));
+    }
+
+    @Test
+    public void removed_and_copied_headers_not_converted() {
+        final MultivaluedMap<String, Object> source = new MultivaluedHashMap<>();
+        source.putSingle("Authorization", new Value("secret"));
+        source.putSingle("Accept", new Value("text/plain"));
+
+        final HttpHeaders copy = new HttpHeaders();
+        copy.putAll(LazyHeaderValues.httpHeaders(source));
+        copy.remove("Authorization");
+
+        assertThat(copy.get("Authorization"), is(nullValue()));
+        assertThat(this.conversions.get(), is(0));
+        assertThat(copy.getFirst("Accept"), is("text/plain"));
+        assertThat(this.conversions.get(), is(1));
+    }
+
+    @Test
+    public void changes_not_written_through() {
+        final MultivaluedMap<String, String> source = new MultivaluedHashMap<>();
+        source.put("Accept", Arrays.asList("text/plain", "application/json"));
+
+        final HttpHeaders headers = LazyHeaderValues.httpHeaders(source);
+        headers.add("Accept", "text/html");
+        headers.get("Accept").remove(0);
+        headers.set("Content-Type", "text/plain");
+
+        assertThat(headers.get("Accept"), is(Arrays.asList("application/json", "text/html")));
+        assertThat(headers.getFirst("Content-Type"), is("text/plain"));
+        assertThat(source.get("Accept"), is(Arrays.asList("text/plain", "application/json")));
+    }
+
+    @Test
+    public void later_changes_to_source_not_seen() {
+        final MultivaluedMap<String, String> source = new MultivaluedHashMap<>();
+        source.add("Accept", "text/plain");
+
+        final HttpHeaders headers = LazyHeaderValues.httpHeaders(source);
+        source.add("Accept", "application/json");
+        source.get("Accept").set(0, "text/html");
+
+        assertThat(headers.get("Accept"), is(Arrays.asList("text/plain")));
+    }
+
+    @Test
+    public void headers_without_values_left_out() {
+        final MultivaluedMap<String, String> source = new MultivaluedHashMap<>();
+        source.put("Accept", Arrays.<String>asList());
+        assertThat(LazyHeaderValues.httpHeaders(source).containsKey("Accept"), is(false));
+    }
+
+    @Test
+    public void headers_differing_in_case_merged() {
+        final MultivaluedMap<String, String> source = new MultivaluedHashMap<>();
+        source.putSingle("Accept", "text/plain");
+        source.putSingle("accept", "text/html");
+
+        final List<String> values = LazyHeaderValues.httpHeaders(source).get("ACCEPT");
+        assertThat(values.size(), is(2));
+        assertThat(values.contains("text/plain") && values.contains("text/html"), is(true));
+    }
+
+    /**
+     * A header value that counts its conversions.
+     */
+    private final class Value {
+
+        private final String value;
+
+        private Value(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            LazyHeaderValuesTest.this.conversions.incrementAndGet();
+            return this.value;
+        }
+    }
+}
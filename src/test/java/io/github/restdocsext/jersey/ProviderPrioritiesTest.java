@@ -22,8 +22,6 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientResponseContext;
 
-import org.glassfish.jersey.client.ClientRequest;
-import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.JerseyClientBuilder;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
@@ -38,6 +36,8 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.restdocs.JUnitRestDocumentation;
 import org.springframework.restdocs.generate.RestDocumentationGenerator;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationResponse;
 
 import io.github.restdocsext.jersey.DocumentationProperties.ProviderPriorities;
 import io.github.restdocsext.jersey.test.TestResource;
@@ -73,10 +73,10 @@ public class ProviderPrioritiesTest extends JerseyTest {
     @Before
     @Override
     public void setUp() throws Exception {
-        final RestDocumentationGenerator<ClientRequest, ClientResponse> generator
+        final RestDocumentationGenerator<OperationRequest, OperationResponse> generator
                 = getMockedGenerator();
 
-        this.documentationFilter = spy(new JerseyRestDocumentationFilter(generator));
+        this.documentationFilter = spy(new JerseyRestDocumentationFilter("priorities", generator));
         this.configurer = spy(new JerseyRestDocumentationConfigurer(this.restDocumentation));
         this.responseInterceptor = spy(new ResponseInterceptor());
 
@@ -119,11 +119,11 @@ public class ProviderPrioritiesTest extends JerseyTest {
                 .filter(any(ClientRequestContext.class), any(ClientResponseContext.class));
     }
 
-    private RestDocumentationGenerator<ClientRequest, ClientResponse> getMockedGenerator() {
-        final RestDocumentationGenerator<ClientRequest, ClientResponse> generator
+    private RestDocumentationGenerator<OperationRequest, OperationResponse> getMockedGenerator() {
+        final RestDocumentationGenerator<OperationRequest, OperationResponse> generator
                 = PowerMockito.mock(RestDocumentationGenerator.class);
-        Mockito.doNothing().when(generator).handle(any(ClientRequest.class),
-                any(ClientResponse.class), any(Map.class));
+        Mockito.doNothing().when(generator).handle(any(OperationRequest.class),
+                any(OperationResponse.class), any(Map.class));
         return generator;
     }
 }
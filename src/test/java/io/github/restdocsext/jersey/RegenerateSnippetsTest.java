@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.ManualRestDocumentation;
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationRequestFactory;
+import org.springframework.restdocs.operation.OperationRequestPart;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.OperationResponseFactory;
+import org.springframework.restdocs.operation.Parameters;
+import org.springframework.restdocs.operation.RequestCookie;
+
+import io.github.restdocsext.jersey.operation.record.OperationLogWriter;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
+
+/**
+ * Tests for the {@link RegenerateSnippets} command line.
+ *
+ * @author Paul Samsotha
+ */
+public class RegenerateSnippetsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    public void regenerates_snippets_to_output_directory() throws IOException {
+        final File log = writeLog("cli-get");
+        final File output = this.folder.newFolder("output");
+
+        assertThat(run("--parallelism", "2", "--output", output.getPath(), log.getPath()),
+                is(RegenerateSnippets.EXIT_OK));
+        assertThat(this.out.toString(), containsString("Regenerated snippets for 1 operations"));
+        assertTrue(new File(output, "cli-get/http-request.adoc").isFile());
+    }
+
+    @Test
+    public void uses_configuration_class() throws IOException {
+        final File log = writeLog("cli-get");
+
+        assertThat(run("--output", this.folder.newFolder("output").getPath(),
+                "--configuration", FailingConfiguration.class.getName(), log.getPath()),
+                is(RegenerateSnippets.EXIT_FAILED));
+        assertThat(this.err.toString(), containsString("cli-get"));
+    }
+
+    @Test
+    public void rejects_invalid_arguments() {
+        assertThat(run("--parallelism", "0", "operations.log"), is(RegenerateSnippets.EXIT_USAGE));
+        assertThat(run("--output"), is(RegenerateSnippets.EXIT_USAGE));
+        assertThat(run(), is(RegenerateSnippets.EXIT_USAGE));
+        assertThat(this.err.toString(), containsString("Usage: RegenerateSnippets"));
+    }
+
+    private int run(String... args) {
+        return RegenerateSnippets.run(args, new PrintStream(this.out), new PrintStream(this.err));
+    }
+
+    private File writeLog(String identifier) throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        final ManualRestDocumentation documentation = new ManualRestDocumentation("build/generated-snippets");
+        documentation.beforeTest(RegenerateSnippetsTest.class, "writeLog");
+        final RestDocumentationContext context = documentation.beforeOperation();
+        final OperationRequest request = new OperationRequestFactory().create(
+                URI.create("http://localhost:8080/test?b=bravo"), HttpMethod.GET, new byte[0], new HttpHeaders(),
+                new Parameters(), Collections.<OperationRequestPart>emptyList(),
+                Collections.<RequestCookie>emptyList());
+        final OperationResponse response = new OperationResponseFactory().create(
+                HttpStatus.OK, new HttpHeaders(), "ok".getBytes("UTF-8"));
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(new RecordedOperation(identifier, "/test", request, response, context, "UTF-8", null));
+        }
+        documentation.afterTest();
+        return log;
+    }
+
+    /**
+     * Configuration that documents a parameter the recorded operation does not have.
+     */
+    public static class FailingConfiguration implements SnippetRegeneratorConfiguration {
+
+        @Override
+        public void configure(SnippetRegenerator regenerator) {
+            regenerator.document("cli-get", requestParameters(parameterWithName("a").description("a")));
+        }
+    }
+}
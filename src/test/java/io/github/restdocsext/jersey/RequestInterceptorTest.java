@@ -31,6 +31,7 @@ import org.glassfish.jersey.test.JerseyTest;
 import org.glassfish.jersey.test.grizzly.GrizzlyTestContainerFactory;
 import org.junit.Test;
 
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
 import io.github.restdocsext.jersey.test.TestResource;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -83,6 +84,24 @@ public class RequestInterceptorTest extends JerseyTest {
         assertThat(new String(requestContent), is("TestData"));
     }
 
+    @Test
+    public void request_body_truncated_at_capture_limit() {
+        final DocumentationClientMonitor monitor = new DocumentationClientMonitor();
+        monitor.setCaptureLimit(4);
+        final RequestBodyHolder holder = new RequestBodyHolder();
+        final Client client = JerseyClientBuilder.createClient()
+                .property(DocumentationProperties.CLIENT_MONITOR_KEY, monitor);
+        final String echoed = client.target(BASE_URI).path("test/post-simple")
+                .register(RequestInterceptor.class)
+                .register(holder)
+                .request()
+                .post(Entity.text("TestData"), String.class);
+
+        assertThat(echoed, is("TestData"));
+        assertThat(new String(holder.getRequestContent()), is("Test" + ResponseInterceptor.TRUNCATION_MARKER));
+        assertThat(holder.truncated, is(true));
+    }
+
     /**
      * {@code WriterInterceptor} is not called when there is no body, so this should always
      * pass, as long as the Jersey implementation doesn't change.
@@ -105,9 +124,12 @@ public class RequestInterceptorTest extends JerseyTest {
 
         private Object requestProperty;
 
+        private boolean truncated;
+
         @Override
         public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
             this.requestProperty = request.getProperty(DocumentationProperties.REQUEST_BODY_KEY);
+            this.truncated = request.getProperty(DocumentationProperties.CAPTURE_TRUNCATED_KEY) != null;
         }
 
         byte[] getRequestContent() {
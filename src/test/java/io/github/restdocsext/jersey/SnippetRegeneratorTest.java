@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.io.FileUtils;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.operation.record.OperationLogReader;
+import io.github.restdocsext.jersey.operation.record.OperationLogWriter;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
+
+/**
+ * Tests for recording operations and regenerating their snippets with
+ * {@link SnippetRegenerator}.
+ *
+ * @author Paul Samsotha
+ */
+public class SnippetRegeneratorTest extends JerseyTest {
+
+    private static final String BASE_URI = "http://localhost:8080/";
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File log;
+
+    private OperationLogWriter logWriter;
+
+    public SnippetRegeneratorTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create(BASE_URI);
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Before
+    public void setUpLog() throws IOException {
+        this.log = new File(this.folder.getRoot(), "operations.log");
+        this.logWriter = new OperationLogWriter(this.log, true);
+    }
+
+    @After
+    public void closeLog() throws IOException {
+        this.logWriter.close();
+    }
+
+    @Test
+    public void regenerated_snippets_match_documented_snippets() throws IOException {
+        final Response response = target()
+                .register(documentationConfiguration(this.restDocumentation)
+                        .operationRecorder(this.logWriter))
+                .register(document("regenerated-{method-name}"))
+                .path("test/get-default")
+                .queryParam("a", "alpha")
+                .request().get();
+        assertThat(response.getStatus(), is(200));
+        response.close();
+
+        final File snippets = new File(
+                "build/generated-snippets/regenerated-regenerated_snippets_match_documented_snippets");
+        final String httpRequest = readFile(new File(snippets, "http-request.adoc"));
+        final String curlRequest = readFile(new File(snippets, "curl-request.adoc"));
+        FileUtils.deleteDirectory(snippets);
+
+        assertThat(new SnippetRegenerator().regenerate(this.log), is(1));
+        assertThat(readFile(new File(snippets, "http-request.adoc")), is(httpRequest));
+        assertThat(readFile(new File(snippets, "curl-request.adoc")), is(curlRequest));
+        assertTrue(new File(snippets, "http-response.adoc").isFile());
+    }
+
+    @Test
+    public void regenerated_operations_use_identifier_snippets() throws IOException {
+        target().register(documentationConfiguration(this.restDocumentation)
+                        .operationRecorder(this.logWriter))
+                .register(document("regenerated-path-parameters"))
+                .path("test/path-params/{param1}/sub/{param2}")
+                .resolveTemplate("param1", "one")
+                .resolveTemplate("param2", "two")
+                .request().get().close();
+
+        final File snippets = new File("build/generated-snippets/regenerated-path-parameters");
+        FileUtils.deleteDirectory(snippets);
+
+        new SnippetRegenerator()
+                .document("regenerated-path-parameters", pathParameters(
+                        parameterWithName("param1").description("param1 description"),
+                        parameterWithName("param2").description("param2 description")))
+                .regenerate(this.log);
+        assertTrue(new File(snippets, "path-parameters.adoc").isFile());
+        assertTrue(new File(snippets, "http-request.adoc").isFile());
+    }
+
+    @Test
+    public void operations_are_recorded_when_snippets_fail() throws IOException {
+        try {
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(this.logWriter))
+                    .register(document("regenerated-failure",
+                            requestParameters(parameterWithName("a").description("a description"))))
+                    .path("test/get-default")
+                    .queryParam("b", "bravo")
+                    .request().get().close();
+        } catch (ProcessingException expected) {
+            // undocumented parameter 'b'
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(this.log);
+        assertThat(operations.size(), is(1));
+        assertThat(operations.get(0).getIdentifier(), is("regenerated-failure"));
+        assertThat(operations.get(0).getUrlTemplate(), is("/test/get-default?b=bravo"));
+    }
+
+    @Test
+    public void operations_are_regenerated_in_parallel() throws IOException {
+        for (int i = 0; i < 8; i++) {
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(this.logWriter))
+                    .register(document("parallel-" + i))
+                    .path("test/get-default")
+                    .queryParam("i", i)
+                    .request().get().close();
+        }
+
+        final File output = this.folder.newFolder("parallel");
+        final List<RecordedOperation> operations = OperationLogReader.readAll(this.log);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertThat(new SnippetRegenerator().withOutputDirectory(output)
+                    .regenerate(operations, pool), is(8));
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < 8; i++) {
+            final File snippets = new File(output, "parallel-" + i);
+            assertThat(readFile(new File(snippets, "curl-request.adoc")),
+                    is(readFile(new File("build/generated-snippets/parallel-" + i, "curl-request.adoc"))));
+        }
+    }
+
+    @Test
+    public void parallel_failures_are_reported_together() throws IOException {
+        for (String identifier : new String[] {"parallel-ok", "parallel-fail-1", "parallel-fail-2"}) {
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(this.logWriter))
+                    .register(document(identifier))
+                    .path("test/get-default")
+                    .queryParam("b", "bravo")
+                    .request().get().close();
+        }
+
+        final SnippetRegenerator regenerator = new SnippetRegenerator()
+                .withOutputDirectory(this.folder.newFolder("failures"))
+                .document("parallel-fail-1", requestParameters(parameterWithName("a").description("a")))
+                .document("parallel-fail-2", requestParameters(parameterWithName("a").description("a")));
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            regenerator.regenerate(OperationLogReader.readAll(this.log), pool);
+            fail("Expected SnippetRegenerationException");
+        } catch (SnippetRegenerationException ex) {
+            assertThat(ex.getFailedOperations().size(), is(2));
+            assertThat(ex.getSuppressed().length, is(2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String readFile(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+    }
+}
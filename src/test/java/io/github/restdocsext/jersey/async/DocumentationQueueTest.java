@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.async;
+
+import java.io.File;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocumentationQueue}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationQueueTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    public DocumentationQueueTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void snippets_written_in_background() throws InterruptedException {
+        final RestdocsClient client = (RestdocsClient) client();
+        final DocumentationQueue queue = new DocumentationQueue(16, OverflowPolicy.BLOCK);
+        client.documentationQueue(queue);
+        target().register(documentationConfiguration(this.restDocumentation))
+                .register(document("queued-get"))
+                .path("test/get-default")
+                .request().get().close();
+
+        assertTrue(queue.drain(10, TimeUnit.SECONDS));
+        assertThat(queue.getCompletedJobs(), is(1L));
+        assertThat(queue.getFailedJobs(), is(0L));
+        assertThat(client.getMonitor().getPendingSnippetJobs(), is(0L));
+        assertTrue(new File("build/generated-snippets/queued-get/http-response.adoc").isFile());
+    }
+
+    @Test
+    public void drop_newest_when_full() throws InterruptedException {
+        final Blocker blocker = new Blocker();
+        final DocumentationQueue queue = new DocumentationQueue(2, OverflowPolicy.DROP_NEWEST);
+        try {
+            assertTrue(queue.submit(blocker));
+            blocker.awaitStarted();
+            assertTrue(queue.submit(() -> { }));
+            assertTrue(queue.submit(() -> { }));
+            assertFalse(queue.submit(() -> { }));
+            assertThat(queue.getDepth(), is(2));
+            assertThat(queue.getDroppedJobs(), is(1L));
+            assertThat(queue.getPendingJobs(), is(3L));
+        } finally {
+            blocker.release();
+            queue.close();
+        }
+        assertThat(queue.getCompletedJobs(), is(3L));
+        assertThat(queue.getPendingJobs(), is(0L));
+    }
+
+    @Test
+    public void drop_oldest_when_full() throws InterruptedException {
+        final Blocker blocker = new Blocker();
+        final StringBuffer ran = new StringBuffer();
+        final DocumentationQueue queue = new DocumentationQueue(2, OverflowPolicy.DROP_OLDEST);
+        try {
+            queue.submit(blocker);
+            blocker.awaitStarted();
+            for (String name : new String[] {"a", "b", "c", "d"}) {
+                assertTrue(queue.submit(() -> ran.append(name)));
+            }
+            assertThat(queue.getDroppedJobs(), is(2L));
+        } finally {
+            blocker.release();
+            queue.close();
+        }
+        assertThat(ran.toString(), is("cd"));
+    }
+
+    @Test
+    public void sample_down_thins_out_when_half_full() throws InterruptedException {
+        final Blocker blocker = new Blocker();
+        final DocumentationQueue queue = new DocumentationQueue(100, OverflowPolicy.SAMPLE_DOWN);
+        try {
+            queue.submit(blocker);
+            blocker.awaitStarted();
+            for (int i = 0; i < 1000; i++) {
+                queue.submit(() -> { });
+            }
+            assertTrue(queue.getDepth() >= 50);
+            assertTrue(queue.getDepth() <= 100);
+            assertThat(queue.getDroppedJobs(), is(1000L - queue.getDepth()));
+        } finally {
+            blocker.release();
+            queue.close();
+        }
+    }
+
+    @Test
+    public void failures_counted() throws InterruptedException {
+        final DocumentationQueue queue = new DocumentationQueue(4, OverflowPolicy.BLOCK);
+        queue.submit(() -> {
+            throw new IllegalStateException("undocumented field");
+        });
+        assertTrue(queue.drain(10, TimeUnit.SECONDS));
+        queue.close();
+        assertThat(queue.getFailedJobs(), is(1L));
+        assertThat(queue.getLastFailure(), is(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    public void closed_queue_drops_jobs() {
+        final DocumentationQueue queue = new DocumentationQueue(4, OverflowPolicy.BLOCK);
+        queue.close();
+        assertFalse(queue.submit(() -> { }));
+        assertThat(queue.getDroppedJobs(), is(1L));
+    }
+
+    @Test
+    public void jobs_submitted_while_closing_run_or_are_dropped() throws InterruptedException {
+        final DocumentationQueue queue = new DocumentationQueue(16, OverflowPolicy.DROP_NEWEST);
+        final AtomicInteger ran = new AtomicInteger();
+        final Thread[] submitters = new Thread[4];
+        for (int i = 0; i < submitters.length; i++) {
+            submitters[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    queue.submit(ran::incrementAndGet);
+                }
+            });
+            submitters[i].start();
+        }
+        queue.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+        assertThat(queue.getDepth(), is(0));
+        assertThat(queue.getPendingJobs(), is(0L));
+        assertThat(ran.get() + queue.getDroppedJobs(), is(40000L));
+    }
+
+    /**
+     * A job that keeps the worker busy until it is released.
+     */
+    private static final class Blocker implements Runnable {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void run() {
+            this.started.countDown();
+            try {
+                this.released.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void awaitStarted() throws InterruptedException {
+            this.started.await();
+        }
+
+        void release() {
+            this.released.countDown();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.client;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+import org.springframework.restdocs.snippet.SnippetException;
+
+import io.github.restdocsext.jersey.context.ConcurrentRestDocumentation;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+
+/**
+ * Tests for {@link CompletionStageInvoker}.
+ *
+ * @author Paul Samsotha
+ */
+public class CompletionStageInvokerTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public CompletionStageInvokerTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @After
+    public void shutdownExecutor() throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void concurrent_requests_documented_on_executor() throws Exception {
+        final List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            responses.add(((RestdocsWebTarget) target())
+                    .register(documentationConfiguration(this.restDocumentation))
+                    .register(document("rx-get-" + i))
+                    .path("test/path-params/{param1}/sub/{param2}")
+                    .resolveTemplate("param1", "value" + i)
+                    .resolveTemplate("param2", "other" + i)
+                    .rx(this.executor).get().toCompletableFuture());
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(responses.get(i).get().readEntity(String.class), is("value" + i + ":other" + i));
+            assertTrue(new File("build/generated-snippets/rx-get-" + i + "/http-request.adoc").isFile());
+        }
+    }
+
+    @Test
+    public void entity_request_documented() throws Exception {
+        final Response response = ((RestdocsWebTarget) target())
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("rx-post"))
+                .path("test/post-simple")
+                .rx(this.executor)
+                .post(Entity.entity("content", MediaType.TEXT_PLAIN))
+                .toCompletableFuture().get(30, TimeUnit.SECONDS);
+
+        assertThat(response.readEntity(String.class), is("content"));
+        assertTrue(new File("build/generated-snippets/rx-post/http-request.adoc").isFile());
+    }
+
+    @Test
+    public void context_resolved_on_calling_thread() throws Exception {
+        final ConcurrentRestDocumentation documentation
+                = new ConcurrentRestDocumentation("build/generated-snippets");
+        documentation.beforeTest(CompletionStageInvokerTest.class, "context_resolved_on_calling_thread");
+        try {
+            final List<CompletableFuture<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                responses.add(((RestdocsWebTarget) target())
+                        .register(documentationConfiguration(documentation))
+                        .register(document("rx-concurrent-" + i))
+                        .path("test/get-default")
+                        .rx(this.executor).get().toCompletableFuture());
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            documentation.afterTest();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(new File("build/generated-snippets/rx-concurrent-" + i + "/http-request.adoc").isFile());
+        }
+    }
+
+    @Test
+    public void documentation_failure_completes_stage_exceptionally() throws Exception {
+        final CompletableFuture<Response> response = ((RestdocsWebTarget) target())
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("rx-missing-parameter",
+                        pathParameters(parameterWithName("param1").description("param1 description"))))
+                .path("test/path-params/{param1}/sub/{param2}")
+                .resolveTemplate("param1", "value1")
+                .resolveTemplate("param2", "value2")
+                .rx(this.executor).get().toCompletableFuture();
+        try {
+            response.get(30, TimeUnit.SECONDS);
+            fail("Expected the documentation to fail.");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause(), is(instanceOf(SnippetException.class)));
+        }
+    }
+}
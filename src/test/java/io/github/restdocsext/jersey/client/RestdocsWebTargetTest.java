@@ -38,8 +38,8 @@ import io.github.restdocsext.jersey.DocumentationProperties;
 import io.github.restdocsext.jersey.JerseyRestDocumentationFilter;
 
 import static io.github.restdocsext.jersey.DocumentationProperties.DOCS_FILTER_KEY;
-import static io.github.restdocsext.jersey.DocumentationProperties.PATH_BUILDER_KEY;
-import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_BUILDER_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.PATH_TEMPLATE_KEY;
+import static io.github.restdocsext.jersey.DocumentationProperties.QUERY_TEMPLATE_KEY;
 import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -223,19 +223,32 @@ public class RestdocsWebTargetTest {
     }
 
     private void assertPathTemplateStoredCorrectly(WebTarget target) {
-        final Object pathProperty = target.getConfiguration().getProperty(PATH_BUILDER_KEY);
+        final Object pathProperty = target.getConfiguration().getProperty(PATH_TEMPLATE_KEY);
         assertThat(pathProperty, is(notNullValue()));
-        final String pathTemplate = ((StringBuilder) pathProperty).toString();
+        final String pathTemplate = (String) pathProperty;
         assertThat(pathTemplate, is("/testing/{param1}/sub/{param2}"));
     }
 
+    @Test
+    public void derived_targets_have_their_own_url_template() {
+        final WebTarget base = this.client.target(BASE_URI).path("teams").queryParam("a", "1");
+        final WebTarget players = base.path("players").queryParam("b", "2");
+        final WebTarget coaches = base.path("coaches");
+
+        assertThat((String) base.getConfiguration().getProperty(PATH_TEMPLATE_KEY), is("/teams"));
+        assertThat((String) players.getConfiguration().getProperty(PATH_TEMPLATE_KEY), is("/teams/players"));
+        assertThat((String) coaches.getConfiguration().getProperty(PATH_TEMPLATE_KEY), is("/teams/coaches"));
+        assertThat((String) base.getConfiguration().getProperty(QUERY_TEMPLATE_KEY), is("a=1"));
+        assertThat((String) players.getConfiguration().getProperty(QUERY_TEMPLATE_KEY), is("a=1&b=2"));
+    }
+
     @Test
     public void query_parameters_should_be_stored_in_configuration() {
         WebTarget target = this.client.target(BASE_URI)
                 .queryParam("a", "avalue").queryParam("b", "bvalue").queryParam("c", "cvalue");
-        final Object queryProperty = target.getConfiguration().getProperty(QUERY_BUILDER_KEY);
+        final Object queryProperty = target.getConfiguration().getProperty(QUERY_TEMPLATE_KEY);
         assertThat(queryProperty, is(notNullValue()));
-        final String queryString = ((StringBuilder) queryProperty).toString();
+        final String queryString = (String) queryProperty;
         assertThat(queryString, is("a=avalue&b=bvalue&c=cvalue"));
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.grizzly.GrizzlyTestContainerFactory;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer;
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.removeHeaders;
+
+/**
+ * Tests for {@link DocumentationContainer}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationContainerTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation = new JUnitRestDocumentation("build/generated-snippets");
+
+    @Test
+    public void container_is_started_once() {
+        final DocumentationContainer container
+                = DocumentationContainer.get(TestApplication.class, InMemoryTestContainerFactory.class);
+        assertThat(DocumentationContainer.get(TestApplication.class, InMemoryTestContainerFactory.class),
+                is(sameInstance(container)));
+        assertThat(container.target().getConfiguration().getProperties().isEmpty(), is(false));
+        assertThat(container.getClient(), is(sameInstance(container.getClient())));
+    }
+
+    @Test
+    public void container_asked_for_concurrently_is_started_once() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<DocumentationContainer>> gets = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                gets.add(() -> DocumentationContainer.get(CountingApplication.class,
+                        InMemoryTestContainerFactory.class));
+            }
+            final List<Future<DocumentationContainer>> containers = executor.invokeAll(gets);
+            for (Future<DocumentationContainer> container : containers) {
+                assertThat(container.get(), is(sameInstance(containers.get(0).get())));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(CountingApplication.INSTANCES.get(), is(1));
+    }
+
+    @Test
+    public void http_container_listens_on_the_port_it_bound() {
+        final URI baseUri = DocumentationContainer.get(TestApplication.class, GrizzlyTestContainerFactory.class)
+                .getBaseUri();
+        assertTrue(baseUri.getPort() > 0);
+    }
+
+    @Test
+    public void container_documents_requests() {
+        final Response response = DocumentationContainer
+                .get(TestApplication.class, InMemoryTestContainerFactory.class).target()
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("shared-container-get"))
+                .path("test/get-default").request().get();
+
+        assertThat(response.getStatus(), is(200));
+        assertTrue(new File("build/generated-snippets/shared-container-get/http-request.adoc").isFile());
+    }
+
+    @Test
+    public void containers_are_started_per_container_factory() {
+        final DocumentationContainer grizzly
+                = DocumentationContainer.get(TestApplication.class, GrizzlyTestContainerFactory.class);
+        assertThat(grizzly, is(not(sameInstance(
+                DocumentationContainer.get(TestApplication.class, InMemoryTestContainerFactory.class)))));
+
+        final Response response = grizzly.target()
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("shared-container-grizzly"))
+                .path("test/get-default").request().get();
+        assertThat(response.getStatus(), is(200));
+        assertTrue(new File("build/generated-snippets/shared-container-grizzly/http-request.adoc").isFile());
+    }
+
+    @Test
+    public void new_clients_are_bound_to_the_container() {
+        final DocumentationContainer container
+                = DocumentationContainer.get(TestApplication.class, InMemoryTestContainerFactory.class);
+        final RestdocsClient client = container.newClient();
+        try {
+            assertThat(client, is(not(sameInstance(container.getClient()))));
+            assertThat(client.target(container.getBaseUri()).path("test/get-default").request().get().getStatus(),
+                    is(200));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void in_memory_container_has_a_stable_base_uri() {
+        final DocumentationContainer container = DocumentationContainer.inMemory(TestApplication.class);
+        assertThat(container, is(sameInstance(
+                DocumentationContainer.get(TestApplication.class, InMemoryTestContainerFactory.class))));
+        assertThat(container.getBaseUri(), is(URI.create("http://localhost:8080/")));
+    }
+
+    @Test
+    public void in_memory_snippets_match_http_snippets() throws Exception {
+        post(DocumentationContainer.inMemory(new ResourceConfig(TestResource.class)), "in-memory-post");
+        post(DocumentationContainer.get(TestApplication.class, GrizzlyTestContainerFactory.class), "http-post");
+
+        for (String snippet : new String[] {"http-request.adoc", "curl-request.adoc", "httpie-request.adoc"}) {
+            assertThat(snippet, read("in-memory-post", snippet), is(read("http-post", snippet)));
+        }
+        assertThat(read("in-memory-post", "http-request.adoc"), containsString("Host: api.example.com"));
+    }
+
+    private void post(DocumentationContainer container, String identifier) {
+        final JerseyRestDocumentationConfigurer configurer = documentationConfiguration(this.restDocumentation);
+        configurer.uris().withHost("api.example.com").removePort();
+        final Response response = container.target()
+                .register(configurer)
+                .register(document(identifier, preprocessRequest(removeHeaders("User-Agent"))))
+                .path("test/post-simple").request()
+                .post(Entity.entity("content", MediaType.TEXT_PLAIN));
+        assertThat(response.getStatus(), is(200));
+    }
+
+    private static String read(String identifier, String snippet) throws IOException {
+        return new String(Files.readAllBytes(Paths.get("build/generated-snippets", identifier, snippet)),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An application with the test resource.
+     */
+    public static class TestApplication extends ResourceConfig {
+
+        public TestApplication() {
+            register(TestResource.class);
+        }
+    }
+
+    /**
+     * An application counting its instances.
+     */
+    public static class CountingApplication extends ResourceConfig {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountingApplication() {
+            INSTANCES.incrementAndGet();
+            register(TestResource.class);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.springframework.restdocs.RestDocumentationContext;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ConcurrentRestDocumentationRule}.
+ *
+ * @author Paul Samsotha
+ */
+public class ConcurrentRestDocumentationRuleTest {
+
+    private final ConcurrentRestDocumentationRule rule = new ConcurrentRestDocumentationRule("build");
+
+    @Test
+    public void rule_binds_the_test_while_it_runs() throws Throwable {
+        final List<RestDocumentationContext> contexts = new ArrayList<>();
+        this.rule.apply(new Statement() {
+            @Override
+            public void evaluate() {
+                contexts.add(ConcurrentRestDocumentationRuleTest.this.rule.beforeOperation());
+                contexts.add(ConcurrentRestDocumentationRuleTest.this.rule.beforeOperation());
+            }
+        }, Description.createTestDescription(ConcurrentRestDocumentationRuleTest.class, "ruled")).evaluate();
+        assertThat(contexts.get(0).getTestMethodName(), is("ruled"));
+        assertThat(contexts.get(1).getStepCount(), is(2));
+    }
+
+    @Test
+    public void rule_unbinds_after_the_test() throws Throwable {
+        try {
+            this.rule.apply(new Statement() {
+                @Override
+                public void evaluate() {
+                    throw new IllegalStateException("failed test");
+                }
+            }, Description.createTestDescription(ConcurrentRestDocumentationRuleTest.class, "failing")).evaluate();
+            fail("Expected the test to fail.");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is("failed test"));
+        }
+        try {
+            this.rule.getDocumentation().beforeOperation();
+            fail("Expected no test to be bound.");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.context;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.restdocs.RestDocumentationContext;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConcurrentRestDocumentation}.
+ *
+ * @author Paul Samsotha
+ */
+public class ConcurrentRestDocumentationTest {
+
+    private final ConcurrentRestDocumentation documentation = new ConcurrentRestDocumentation("build");
+
+    @Test
+    public void contexts_are_snapshots_of_the_bound_test() {
+        this.documentation.beforeTest(ConcurrentRestDocumentationTest.class, "test");
+        try {
+            final RestDocumentationContext first = this.documentation.beforeOperation();
+            final RestDocumentationContext second = this.documentation.beforeOperation();
+            assertThat(first.getStepCount(), is(1));
+            assertThat(second.getStepCount(), is(2));
+            assertThat(first.getTestClass().getName(), is(ConcurrentRestDocumentationTest.class.getName()));
+            assertThat(first.getTestMethodName(), is("test"));
+            assertThat(first.getOutputDirectory(), is(new File("build")));
+        } finally {
+            this.documentation.afterTest();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void operation_without_a_bound_test_fails() {
+        this.documentation.beforeOperation();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void binding_twice_fails() {
+        this.documentation.beforeTest(ConcurrentRestDocumentationTest.class, "test");
+        try {
+            this.documentation.beforeTest(ConcurrentRestDocumentationTest.class, "other");
+        } finally {
+            this.documentation.afterTest();
+        }
+    }
+
+    @Test
+    public void parallel_tests_have_their_own_step_counts() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<List<RestDocumentationContext>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String method = "test" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    this.documentation.beforeTest(ConcurrentRestDocumentationTest.class, method);
+                    try {
+                        final List<RestDocumentationContext> contexts = new ArrayList<>();
+                        for (int j = 0; j < 100; j++) {
+                            contexts.add(this.documentation.beforeOperation());
+                        }
+                        return contexts;
+                    } finally {
+                        this.documentation.afterTest();
+                    }
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < threads; i++) {
+                final List<RestDocumentationContext> contexts = results.get(i).get(10, TimeUnit.SECONDS);
+                for (int j = 0; j < contexts.size(); j++) {
+                    assertThat(contexts.get(j).getTestMethodName(), is("test" + i));
+                    assertThat(contexts.get(j).getStepCount(), is(j + 1));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void wrapped_tasks_share_the_binding() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        this.documentation.beforeTest(ConcurrentRestDocumentationTest.class, "test");
+        try {
+            final List<Future<RestDocumentationContext>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                final Callable<RestDocumentationContext> task = this.documentation::beforeOperation;
+                results.add(executor.submit(this.documentation.wrap(task)));
+            }
+            final Set<Integer> steps = new HashSet<>();
+            for (Future<RestDocumentationContext> result : results) {
+                final RestDocumentationContext context = result.get(10, TimeUnit.SECONDS);
+                assertThat(context.getTestMethodName(), is("test"));
+                assertTrue(steps.add(context.getStepCount()));
+            }
+            assertThat(this.documentation.beforeOperation().getStepCount(), is(21));
+
+            final Future<Throwable> unbound = executor.submit(() -> {
+                try {
+                    this.documentation.beforeOperation();
+                    return null;
+                } catch (IllegalStateException ex) {
+                    return ex;
+                }
+            });
+            assertThat(unbound.get(10, TimeUnit.SECONDS), is(instanceOf(IllegalStateException.class)));
+        } finally {
+            this.documentation.afterTest();
+            executor.shutdownNow();
+        }
+    }
+}
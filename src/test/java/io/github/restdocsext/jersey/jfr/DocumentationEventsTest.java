@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jfr;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.restdocsext.jersey.timing.DocumentationPhase;
+import io.github.restdocsext.jersey.timing.DocumentationTimingListener;
+import io.github.restdocsext.jersey.timing.PhaseTiming;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for {@link DocumentationEvents}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<PhaseTiming> timings = new ArrayList<>();
+
+    private final DocumentationTimingListener listener = new DocumentationTimingListener() {
+        @Override
+        public void phaseCompleted(PhaseTiming timing) {
+            DocumentationEventsTest.this.timings.add(timing);
+        }
+    };
+
+    @Before
+    public void assumeFlightRecorder() {
+        assumeTrue(DocumentationEvents.isAvailable());
+    }
+
+    @Test
+    public void phases_not_timed_without_recording() {
+        assertThat(DocumentationEvents.phaseListener(null), is(nullValue()));
+        assertThat(DocumentationEvents.phaseListener(this.listener), is(sameInstance(this.listener)));
+    }
+
+    @Test
+    public void events_recorded() throws Exception {
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(EntityCaptureEvent.NAME);
+            recording.enable(ConversionEvent.NAME);
+            recording.enable(DocumentationPhaseEvent.NAME);
+            recording.start();
+
+            DocumentationEvents.entityCaptured(false, "application/json", 8192, true, 1500);
+            DocumentationEvents.converted(true, 42, 3, 2, 2500);
+            final DocumentationTimingListener phaseListener = DocumentationEvents.phaseListener(this.listener);
+            assertThat(phaseListener, is(not(sameInstance(this.listener))));
+            phaseListener.phaseCompleted(
+                    new PhaseTiming(DocumentationPhase.RENDERING, "get-team", "/teams/{id}", 3500, 512));
+
+            recording.stop();
+            final File file = this.folder.newFile("documentation.jfr");
+            recording.dump(file.toPath());
+            events = RecordingFile.readAllEvents(file.toPath());
+        }
+
+        assertThat(events.size(), is(3));
+        final RecordedEvent capture = find(events, EntityCaptureEvent.NAME);
+        assertThat(capture.getBoolean("request"), is(false));
+        assertThat(capture.getString("mediaType"), is("application/json"));
+        assertThat(capture.getLong("capturedSize"), is(8192L));
+        assertThat(capture.getBoolean("truncated"), is(true));
+        assertThat(capture.getDuration("captureTime").toNanos(), is(1500L));
+
+        final RecordedEvent conversion = find(events, ConversionEvent.NAME);
+        assertThat(conversion.getBoolean("request"), is(true));
+        assertThat(conversion.getLong("contentSize"), is(42L));
+        assertThat(conversion.getInt("headers"), is(3));
+        assertThat(conversion.getInt("parts"), is(2));
+        assertThat(conversion.getDuration("conversionTime").toNanos(), is(2500L));
+
+        final RecordedEvent phase = find(events, DocumentationPhaseEvent.NAME);
+        assertThat(phase.getString("phase"), is("RENDERING"));
+        assertThat(phase.getString("identifier"), is("get-team"));
+        assertThat(phase.getString("urlTemplate"), is("/teams/{id}"));
+        assertThat(phase.getLong("size"), is(512L));
+        assertThat(phase.getDuration("phaseTime").toNanos(), is(3500L));
+
+        assertThat(this.timings.size(), is(1));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        throw new AssertionError("No " + name + " event recorded");
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.jupiter;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Test;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import io.github.restdocsext.jersey.JerseyRestDocumentationConfigurer;
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.client.RestdocsWebTarget;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link JerseyRestDocumentationExtension}.
+ *
+ * @author Paul Samsotha
+ */
+public class JerseyRestDocumentationExtensionTest {
+
+    private final JerseyRestDocumentationExtension extension = new JerseyRestDocumentationExtension();
+
+    @Test
+    public void parameters_are_resolved_for_a_test() throws Exception {
+        final ExtensionContext context = testContext(DocumentedTest.class, "first");
+        this.extension.beforeEach(context);
+        try {
+            final RestdocsClient client = (RestdocsClient) resolve(context, 0);
+            final JerseyRestDocumentationConfigurer configurer
+                    = (JerseyRestDocumentationConfigurer) resolve(context, 1);
+            final RestdocsWebTarget target = (RestdocsWebTarget) resolve(context, 2);
+
+            assertThat(target.getConfiguration().isRegistered(configurer), is(true));
+            assertThat(resolve(context, 0), is(sameInstance((Object) client)));
+            assertFalse(this.extension.supportsParameter(parameterContext(3), context));
+
+            final Response response = target.path("test/get-default")
+                    .register(document("jupiter-get")).request().get();
+            assertThat(response.getStatus(), is(200));
+            assertTrue(new File("build/generated-snippets/jupiter-get/http-request.adoc").isFile());
+        } finally {
+            this.extension.afterEach(context);
+        }
+    }
+
+    @Test
+    public void container_is_shared_by_test_classes() throws Exception {
+        final ExtensionContext first = testContext(DocumentedTest.class, "first");
+        this.extension.beforeEach(first);
+        final Object firstClient = resolve(first, 0);
+        final Object firstConfigurer = resolve(first, 1);
+        this.extension.afterEach(first);
+
+        final ExtensionContext second = testContext(OtherDocumentedTest.class, "second");
+        this.extension.beforeEach(second);
+        try {
+            assertThat(resolve(second, 0), is(sameInstance(firstClient)));
+            assertThat(resolve(second, 1), is(not(sameInstance(firstConfigurer))));
+        } finally {
+            this.extension.afterEach(second);
+        }
+    }
+
+    @Test
+    public void concurrent_tests_are_documented() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final String identifier = "jupiter-concurrent-" + i;
+                statuses.add(executor.submit(() -> {
+                    final ExtensionContext context = testContext(DocumentedTest.class, "first");
+                    this.extension.beforeEach(context);
+                    try {
+                        return ((RestdocsWebTarget) resolve(context, 2)).path("test/get-default")
+                                .register(document(identifier)).request().get().getStatus();
+                    } finally {
+                        this.extension.afterEach(context);
+                    }
+                }));
+            }
+            for (int i = 0; i < 8; i++) {
+                assertThat(statuses.get(i).get(30, TimeUnit.SECONDS), is(200));
+                assertTrue(new File("build/generated-snippets/jupiter-concurrent-" + i + "/http-request.adoc")
+                        .isFile());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrent_tests_are_documented_by_the_jupiter_engine() {
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism",
+                        String.valueOf(ConcurrentDocumentedTest.REPETITIONS))
+                .selectors(selectClass(ConcurrentDocumentedTest.class))
+                .execute()
+                .tests()
+                .assertStatistics(stats -> stats.started(ConcurrentDocumentedTest.REPETITIONS)
+                        .succeeded(ConcurrentDocumentedTest.REPETITIONS));
+
+        for (int i = 1; i <= ConcurrentDocumentedTest.REPETITIONS; i++) {
+            assertTrue(new File("build/generated-snippets/jupiter-engine-" + i + "/http-request.adoc").isFile());
+        }
+    }
+
+    @Test(expected = ParameterResolutionException.class)
+    public void target_cannot_be_injected_outside_a_test() throws Exception {
+        resolve(testContext(DocumentedTest.class, "first"), 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_class_must_describe_the_application() throws Exception {
+        this.extension.beforeEach(testContext(JerseyRestDocumentationExtensionTest.class,
+                "parameters_are_resolved_for_a_test"));
+    }
+
+    private Object resolve(ExtensionContext context, int index) throws Exception {
+        return this.extension.resolveParameter(parameterContext(index), context);
+    }
+
+    private static ParameterContext parameterContext(int index) throws Exception {
+        final Parameter parameter = parameter(index);
+        final ParameterContext parameterContext = mock(ParameterContext.class);
+        when(parameterContext.getParameter()).thenReturn(parameter);
+        return parameterContext;
+    }
+
+    private static Parameter parameter(int index) throws Exception {
+        return DocumentedTest.class.getDeclaredMethod("first", RestdocsClient.class,
+                JerseyRestDocumentationConfigurer.class, RestdocsWebTarget.class, String.class)
+                .getParameters()[index];
+    }
+
+    private static ExtensionContext testContext(Class<?> testClass, String methodName) throws Exception {
+        Method method = null;
+        for (Method candidate : testClass.getDeclaredMethods()) {
+            if (candidate.getName().equals(methodName)) {
+                method = candidate;
+            }
+        }
+        final ExtensionContext context = mock(ExtensionContext.class);
+        final ExtensionContext.Store store = new MapStore();
+        doReturn(testClass).when(context).getRequiredTestClass();
+        when(context.getRequiredTestMethod()).thenReturn(method);
+        when(context.getStore(any(ExtensionContext.Namespace.class))).thenReturn(store);
+        return context;
+    }
+
+    /**
+     * An application with the test resource.
+     */
+    public static class TestApplication extends ResourceConfig {
+
+        public TestApplication() {
+            register(TestResource.class);
+        }
+    }
+
+    /**
+     * A test class describing the test application.
+     */
+    @DocumentedApplication(value = TestApplication.class, containerFactory = InMemoryTestContainerFactory.class,
+            outputDirectory = "build/generated-snippets")
+    static class DocumentedTest {
+
+        void first(RestdocsClient client, JerseyRestDocumentationConfigurer configurer,
+                RestdocsWebTarget target, String unsupported) {
+        }
+    }
+
+    /**
+     * Another test class describing the test application.
+     */
+    @DocumentedApplication(value = TestApplication.class, containerFactory = InMemoryTestContainerFactory.class,
+            outputDirectory = "build/generated-snippets")
+    static class OtherDocumentedTest {
+
+        void second() {
+        }
+    }
+
+    /**
+     * A Jupiter test class whose repetitions only pass if they all run at the same time, each
+     * documenting a request through the extension.
+     */
+    @ExtendWith(JerseyRestDocumentationExtension.class)
+    @Execution(ExecutionMode.CONCURRENT)
+    @DocumentedApplication(value = TestApplication.class, containerFactory = InMemoryTestContainerFactory.class,
+            outputDirectory = "build/generated-snippets")
+    static class ConcurrentDocumentedTest {
+
+        static final int REPETITIONS = 4;
+
+        private static final CountDownLatch RUNNING = new CountDownLatch(REPETITIONS);
+
+        @RepeatedTest(REPETITIONS)
+        void documented(RestdocsWebTarget target, RepetitionInfo repetition) throws InterruptedException {
+            RUNNING.countDown();
+            assertTrue(RUNNING.await(30, TimeUnit.SECONDS));
+            final Response response = target.path("test/get-default")
+                    .register(document("jupiter-engine-" + repetition.getCurrentRepetition()))
+                    .request().get();
+            assertThat(response.getStatus(), is(200));
+        }
+    }
+
+    /**
+     * A store backed by a map, like the store of a test extension context.
+     */
+    private static final class MapStore implements ExtensionContext.Store {
+
+        private final Map<Object, Object> values = new HashMap<>();
+
+        @Override
+        public Object get(Object key) {
+            return this.values.get(key);
+        }
+
+        @Override
+        public <V> V get(Object key, Class<V> requiredType) {
+            return requiredType.cast(this.values.get(key));
+        }
+
+        @Override
+        public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+            return this.values.computeIfAbsent(key, k -> defaultCreator.apply(key));
+        }
+
+        @Override
+        public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+            return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            this.values.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return this.values.remove(key);
+        }
+
+        @Override
+        public <V> V remove(Object key, Class<V> requiredType) {
+            return requiredType.cast(this.values.remove(key));
+        }
+    }
+}
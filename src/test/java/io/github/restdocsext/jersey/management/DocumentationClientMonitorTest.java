@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.management;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.DocumentationProperties.SKIP_DOCUMENTATION_KEY;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocumentationClientMonitor}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationClientMonitorTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    public DocumentationClientMonitorTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void documented_requests_counted() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        get("monitor-documented");
+
+        assertThat(monitor.getDocumentedRequests(), is(1L));
+        assertThat(monitor.getSkippedRequests(), is(0L));
+        assertThat(monitor.getCapturedBytes(), is((long) "Default".length()));
+        assertThat(monitor.getTruncatedCaptures(), is(0L));
+        assertTrue(monitor.getAverageConversionMillis() > 0);
+
+        monitor.resetStatistics();
+        assertThat(monitor.getDocumentedRequests(), is(0L));
+        assertThat(monitor.getAverageConversionMillis(), is(0.0));
+    }
+
+    @Test
+    public void requests_sampled_out_are_skipped() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        monitor.setSamplingRate(0);
+        get("monitor-sampled-out");
+
+        assertThat(monitor.getDocumentedRequests(), is(0L));
+        assertThat(monitor.getSkippedRequests(), is(1L));
+        assertThat(monitor.getCapturedBytes(), is(0L));
+    }
+
+    @Test
+    public void capture_limit_truncates_response() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        monitor.setCaptureLimit(3);
+        get("monitor-truncated");
+
+        assertThat(monitor.getTruncatedCaptures(), is(1L));
+        assertThat(monitor.getCapturedBytes(), is((long) "Def...more...".length()));
+    }
+
+    @Test
+    public void measurement_requests_are_not_counted_as_skipped() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        target().register(documentationConfiguration(this.restDocumentation))
+                .register(document("monitor-measurement"))
+                .path("test/get-default")
+                .request().property(SKIP_DOCUMENTATION_KEY, true).get().close();
+
+        assertThat(monitor.getDocumentedRequests(), is(0L));
+        assertThat(monitor.getSkippedRequests(), is(0L));
+    }
+
+    @Test
+    public void capture_limit_truncates_request() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        monitor.setCaptureLimit(4);
+        final Response response = target()
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document("monitor-truncated-request"))
+                .path("test/post-simple")
+                .request().post(Entity.text("TestData"));
+
+        assertThat(response.readEntity(String.class), is("TestData"));
+        assertThat(monitor.getTruncatedCaptures(), is(1L));
+        assertThat(monitor.getCapturedBytes(), is((long) ("Test...more...".length() * 2)));
+    }
+
+    @Test
+    public void max_capture_limit_captures_small_response() {
+        final DocumentationClientMonitor monitor = ((RestdocsClient) client()).getMonitor();
+        monitor.setCaptureLimit(DocumentationClientMonitor.MAX_CAPTURE_LIMIT);
+        get("monitor-max-limit");
+
+        assertThat(monitor.getTruncatedCaptures(), is(0L));
+        assertThat(monitor.getCapturedBytes(), is((long) "Default".length()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampling_rate_out_of_range_rejected() {
+        new DocumentationClientMonitor().setSamplingRate(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capture_limit_out_of_range_rejected() {
+        new DocumentationClientMonitor().setCaptureLimit(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capture_limit_above_max_rejected() {
+        new DocumentationClientMonitor().setCaptureLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void settings_changed_through_mbean_server() throws Exception {
+        final RestdocsClient client = (RestdocsClient) client();
+        client.registerMBean("monitor-test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = client.getMonitor().getObjectName();
+        try {
+            assertThat(name.getKeyProperty("type"), is("RestdocsClient"));
+            server.setAttribute(name, new Attribute("CaptureLimit", 3));
+            get("monitor-mbean");
+
+            assertThat(client.getMonitor().getCaptureLimit(), is(3));
+            assertThat((Long) server.getAttribute(name, "TruncatedCaptures"), is(1L));
+            assertThat((Long) server.getAttribute(name, "DocumentedRequests"), is(1L));
+            server.invoke(name, "resetStatistics", null, null);
+            assertThat((Long) server.getAttribute(name, "DocumentedRequests"), is(0L));
+        } finally {
+            client.getMonitor().unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    private void get(String identifier) {
+        final Response response = target()
+                .register(documentationConfiguration(this.restDocumentation))
+                .register(document(identifier))
+                .path("test/get-default")
+                .request().get();
+        assertThat(response.readEntity(String.class), is("Default"));
+    }
+}
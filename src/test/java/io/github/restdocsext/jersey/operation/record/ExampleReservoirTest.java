@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.record;
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ExampleReservoir}.
+ *
+ * @author Paul Samsotha
+ */
+public class ExampleReservoirTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    public ExampleReservoirTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void examples_bounded_per_endpoint() {
+        final ExampleReservoir reservoir = new ExampleReservoir(3);
+        for (int i = 0; i < 1000; i++) {
+            reservoir.record(get("/teams/" + i, "/teams/{id}", HttpStatus.OK, "team " + i));
+            reservoir.record(get("/players/" + i, "/players/{id}", HttpStatus.OK, "player " + i));
+        }
+        assertThat(reservoir.getEndpoints().size(), is(2));
+        assertThat(reservoir.getEndpoints().get(0), is("GET /players/{id}"));
+        assertThat(reservoir.getExamples("GET /teams/{id}").size(), is(3));
+        assertThat(reservoir.getExamples("GET /players/{id}").size(), is(3));
+        assertTrue(reservoir.getExamples("GET /unknown").isEmpty());
+    }
+
+    @Test
+    public void every_status_represented() {
+        final ExampleReservoir reservoir = new ExampleReservoir(3);
+        for (int i = 0; i < 500; i++) {
+            reservoir.record(get("/teams/" + i, "/teams/{id}", HttpStatus.OK, "team"));
+        }
+        reservoir.record(get("/teams/x", "/teams/{id}", HttpStatus.NOT_FOUND, "missing"));
+        for (int i = 0; i < 500; i++) {
+            reservoir.record(get("/teams/" + i, "/teams/{id}", HttpStatus.OK, "team"));
+        }
+        reservoir.record(get("/teams/y", "/teams/{id}", HttpStatus.BAD_REQUEST, "bad"));
+
+        final Set<HttpStatus> statuses = new HashSet<>();
+        for (RecordedOperation example : reservoir.getExamples("GET /teams/{id}")) {
+            statuses.add(example.getResponse().getStatus());
+        }
+        assertThat(statuses.size(), is(3));
+    }
+
+    @Test
+    public void best_example_is_smallest_success() {
+        final ExampleReservoir reservoir = new ExampleReservoir(4);
+        reservoir.record(get("/teams/1", "/teams/{id}", HttpStatus.NOT_FOUND, "-"));
+        reservoir.record(get("/teams/2", "/teams/{id}", HttpStatus.OK, "a long team"));
+        reservoir.record(get("/teams/3", "/teams/{id}", HttpStatus.OK, "team"));
+        reservoir.record(get("/teams/4", "/teams/{id}", HttpStatus.INTERNAL_SERVER_ERROR, ""));
+
+        final Map<String, RecordedOperation> best = reservoir.getBestExamples();
+        assertThat(best.get("GET /teams/{id}").getRequest().getUri().getPath(), is("/teams/3"));
+    }
+
+    @Test
+    public void only_changed_endpoints_published() throws IOException {
+        final ExampleReservoir reservoir = new ExampleReservoir(2);
+        final List<RecordedOperation> published = new ArrayList<>();
+        reservoir.record(get("/teams/1", "/teams/{id}", HttpStatus.OK, "team"));
+        reservoir.record(get("/players/1", "/players/{id}", HttpStatus.OK, "player"));
+
+        assertThat(reservoir.publishTo(published::add), is(2));
+        assertThat(reservoir.publishTo(published::add), is(0));
+        reservoir.record(get("/teams/2", "/teams/{id}", HttpStatus.OK, "team"));
+        assertThat(reservoir.publishTo(published::add), is(1));
+        assertThat(published.size(), is(3));
+    }
+
+    @Test
+    public void failed_publication_retried() throws IOException {
+        final ExampleReservoir reservoir = new ExampleReservoir(2);
+        reservoir.record(get("/teams/1", "/teams/{id}", HttpStatus.OK, "team"));
+        try {
+            reservoir.publishTo(operation -> {
+                throw new IOException("disk full");
+            });
+        } catch (IOException expected) {
+            // retried below
+        }
+        final List<RecordedOperation> published = new ArrayList<>();
+        assertThat(reservoir.publishTo(published::add), is(1));
+    }
+
+    @Test
+    public void examples_keep_a_snapshot_of_their_context() {
+        final ExampleReservoir reservoir = new ExampleReservoir(4);
+        final RecordedOperation operation = get("/teams/1", "/teams/{id}", HttpStatus.OK, "team");
+        reservoir.record(operation);
+
+        final RecordedOperation example = reservoir.getExamples("GET /teams/{id}").get(0);
+        assertThat(example.getContext(), instanceOf(RecordedDocumentationContext.class));
+        assertThat(example.getContext().getStepCount(), is(operation.getContext().getStepCount()));
+        assertThat(example.getResponse(), sameInstance(operation.getResponse()));
+    }
+
+    @Test
+    public void client_requests_recorded_without_snippets() {
+        final ExampleReservoir reservoir = new ExampleReservoir(4);
+        for (int i = 0; i < 2; i++) {
+            target().register(documentationConfiguration(this.restDocumentation).operationRecorder(reservoir))
+                    .register(record("sampled"))
+                    .path("test/get-default")
+                    .request().get().close();
+        }
+
+        assertThat(reservoir.getEndpoints().size(), is(1));
+        final List<RecordedOperation> examples = reservoir.getExamples(reservoir.getEndpoints().get(0));
+        assertThat(examples.size(), is(2));
+        assertThat(examples.get(0).getContext().getStepCount(), is(1));
+        assertThat(examples.get(1).getContext().getStepCount(), is(2));
+    }
+
+    private static RecordedOperation get(String path, String urlTemplate, HttpStatus status, String content) {
+        return operation("get-example", HttpMethod.GET, "http://localhost" + path, urlTemplate, status, content);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.restdocsext.jersey.test.TestModel;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link HarWriter}.
+ *
+ * @author Paul Samsotha
+ */
+public class HarWriterTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public HarWriterTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void documented_exchanges_are_written_as_har_entries() throws IOException {
+        final File har = new File(this.folder.getRoot(), "operations.har");
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (HarWriter harWriter = new HarWriter(har); OperationLogWriter logWriter = new OperationLogWriter(log)) {
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(harWriter)
+                            .operationRecorder(logWriter))
+                    .register(document("har-get"))
+                    .path("test/get-default")
+                    .queryParam("a", "alpha")
+                    .request().get().close();
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(harWriter))
+                    .register(document("har-post"))
+                    .path("test/post-json")
+                    .request()
+                    .post(Entity.entity(new TestModel(1, "Hello", "World"), MediaType.APPLICATION_JSON)).close();
+        }
+
+        final JsonNode root = new ObjectMapper().readTree(har);
+        assertThat(root.path("log").path("version").asText(), is("1.2"));
+        final JsonNode entries = root.path("log").path("entries");
+        assertThat(entries.size(), is(2));
+
+        final JsonNode get = entries.get(0);
+        assertThat(get.path("_identifier").asText(), is("har-get"));
+        assertThat(get.path("_urlTemplate").asText(), is("/test/get-default?a=alpha"));
+        assertThat(get.path("startedDateTime").asText(), containsString("T"));
+        assertTrue(get.path("time").asDouble() > 0);
+        assertThat(get.path("timings").path("wait").asDouble(), is(get.path("time").asDouble()));
+        assertThat(get.path("timings").path("send").asInt(), is(-1));
+        assertThat(get.path("request").path("method").asText(), is("GET"));
+        assertThat(get.path("request").path("queryString").get(0).path("value").asText(), is("alpha"));
+        assertThat(get.path("response").path("status").asInt(), is(200));
+
+        final JsonNode post = entries.get(1);
+        assertThat(post.path("request").path("postData").path("text").asText(), containsString("Hello"));
+        assertThat(post.path("response").path("content").path("text").asText(), notNullValue());
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(1));
+        assertTrue(operations.get(0).getTiming().getElapsedNanos() > 0);
+    }
+
+    @Test
+    public void archive_is_valid_without_entries() throws IOException {
+        final File har = new File(this.folder.getRoot(), "empty.har");
+        new HarWriter(har).close();
+
+        final JsonNode root = new ObjectMapper().readTree(har);
+        assertThat(root.path("log").path("entries").size(), is(0));
+        assertThat(root.path("log").path("creator").path("name").asText(), is("RESTDocsEXT Jersey"));
+    }
+
+    @Test
+    public void binary_post_data_is_base64_encoded() throws IOException {
+        final File har = new File(this.folder.getRoot(), "binary.har");
+        try (HarWriter harWriter = new HarWriter(har)) {
+            target().register(documentationConfiguration(this.restDocumentation)
+                            .operationRecorder(harWriter))
+                    .register(document("har-binary"))
+                    .path("test/post-json")
+                    .request()
+                    .post(Entity.entity(new byte[] {1, 2, 3}, MediaType.APPLICATION_OCTET_STREAM)).close();
+        }
+
+        final JsonNode postData = new ObjectMapper().readTree(har)
+                .path("log").path("entries").get(0).path("request").path("postData");
+        assertThat(postData.path("text").asText(), is("AQID"));
+        assertThat(postData.path("_encoding").asText(), is("base64"));
+    }
+
+    @Test
+    public void operations_recorded_after_close_are_dropped() throws IOException {
+        final HarWriter harWriter = new HarWriter(new File(this.folder.getRoot(), "closed.har"));
+        harWriter.close();
+        harWriter.record(operation("closed", HttpMethod.GET, "http://localhost/teams", null, HttpStatus.OK, ""));
+
+        assertThat(harWriter.getDroppedOperations(), is(1L));
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationRequestFactory;
+import org.springframework.restdocs.operation.OperationRequestPart;
+import org.springframework.restdocs.operation.OperationRequestPartFactory;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.OperationResponseFactory;
+import org.springframework.restdocs.operation.Parameters;
+import org.springframework.restdocs.templates.TemplateFormats;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link OperationLogWriter} and {@link OperationLogReader}.
+ *
+ * @author Paul Samsotha
+ */
+public class OperationLogWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void operations_are_read_as_written() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("first"));
+            writer.record(createOperation("second"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(2));
+        assertOperation(operations.get(0), "first");
+        assertOperation(operations.get(1), "second");
+    }
+
+    @Test
+    public void compressed_operations_are_read_as_written() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log, true)) {
+            writer.record(createOperation("compressed"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(1));
+        assertOperation(operations.get(0), "compressed");
+    }
+
+    @Test
+    public void operations_are_appended_to_existing_log() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log, true)) {
+            writer.record(createOperation("first"));
+        }
+        try (OperationLogWriter writer = new OperationLogWriter(log, false)) {
+            writer.record(createOperation("second"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(2));
+        assertOperation(operations.get(0), "first");
+        assertOperation(operations.get(1), "second");
+    }
+
+    @Test
+    public void truncated_last_operation_is_ignored() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("first"));
+            writer.record(createOperation("second"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 10);
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(1));
+        assertOperation(operations.get(0), "first");
+    }
+
+    @Test
+    public void append_after_truncated_operation_drops_it() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("first"));
+            writer.record(createOperation("second"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 10);
+        }
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("third"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.size(), is(2));
+        assertOperation(operations.get(0), "first");
+        assertOperation(operations.get(1), "third");
+    }
+
+    @Test
+    public void negative_frame_length_is_rejected() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("first"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.seek(OperationLogFormat.HEADER_LENGTH + 1);
+            file.writeInt(-2);
+        }
+
+        this.thrown.expect(IOException.class);
+        OperationLogReader.readAll(log);
+    }
+
+    @Test
+    public void frame_length_beyond_end_of_log_is_not_allocated() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("first"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.seek(OperationLogFormat.HEADER_LENGTH + 1);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertThat(OperationLogReader.readAll(log).size(), is(0));
+    }
+
+    @Test
+    public void timing_is_read_as_written() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("timed").withTiming(new OperationTiming(1466000000000L, 2500000L)));
+            writer.record(createOperation("untimed"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertOperation(operations.get(0), "timed");
+        assertThat(operations.get(0).getTiming().getStartTimeMillis(), is(1466000000000L));
+        assertThat(operations.get(0).getTiming().getElapsedNanos(), is(2500000L));
+        assertThat(operations.get(1).getTiming(), is(nullValue()));
+    }
+
+    @Test
+    public void truncation_is_read_as_written() throws IOException {
+        final File log = new File(this.folder.getRoot(), "operations.log");
+        try (OperationLogWriter writer = new OperationLogWriter(log)) {
+            writer.record(createOperation("truncated").asTruncated());
+            writer.record(createOperation("complete"));
+        }
+
+        final List<RecordedOperation> operations = OperationLogReader.readAll(log);
+        assertThat(operations.get(0).isTruncated(), is(true));
+        assertThat(operations.get(1).isTruncated(), is(false));
+    }
+
+    @Test
+    public void writer_does_not_append_to_other_files() throws IOException {
+        final File file = this.folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("not a log".getBytes(StandardCharsets.UTF_8));
+        }
+
+        this.thrown.expect(IOException.class);
+        new OperationLogWriter(file).close();
+    }
+
+    private static RecordedOperation createOperation(String identifier) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Identifier", identifier);
+        headers.add("X-Multi", "one");
+        headers.add("X-Multi", "two");
+        final Parameters parameters = new Parameters();
+        parameters.add("a", "alpha");
+        final OperationRequestPart part = new OperationRequestPartFactory().create("file",
+                "file.txt", "part".getBytes(StandardCharsets.UTF_8), new HttpHeaders());
+        final OperationRequest request = new OperationRequestFactory().create(
+                URI.create("http://localhost:8080/test/" + identifier + "?a=alpha"), HttpMethod.POST,
+                identifier.getBytes(StandardCharsets.UTF_8), headers, parameters,
+                Arrays.asList(part));
+        final OperationResponse response = new OperationResponseFactory().create(
+                HttpStatus.CREATED, new HttpHeaders(), "created".getBytes(StandardCharsets.UTF_8));
+        return new RecordedOperation(identifier, "/test/" + identifier, request, response,
+                new RecordedDocumentationContext(OperationLogWriterTest.class.getName(),
+                        "method", 2, new File("build/generated-snippets")),
+                "UTF-8", TemplateFormats.markdown());
+    }
+
+    private static void assertOperation(RecordedOperation operation, String identifier) {
+        assertThat(operation.getIdentifier(), is(identifier));
+        assertThat(operation.getUrlTemplate(), is("/test/" + identifier));
+        assertThat(operation.getSnippetEncoding(), is("UTF-8"));
+        assertThat(operation.getTemplateFormat().getId(), is(TemplateFormats.markdown().getId()));
+
+        assertThat(operation.getContext().getTestClass().getName(),
+                is(OperationLogWriterTest.class.getName()));
+        assertThat(operation.getContext().getTestMethodName(), is("method"));
+        assertThat(operation.getContext().getStepCount(), is(2));
+        assertThat(operation.getContext().getOutputDirectory(),
+                is(new File("build/generated-snippets")));
+
+        final OperationRequest request = operation.getRequest();
+        assertThat(request.getUri(), is(URI.create("http://localhost:8080/test/" + identifier + "?a=alpha")));
+        assertThat(request.getMethod(), is(HttpMethod.POST));
+        assertThat(request.getContentAsString(), is(identifier));
+        assertThat(request.getHeaders().getFirst("X-Identifier"), is(identifier));
+        assertThat(request.getHeaders().get("X-Multi"), is(Arrays.asList("one", "two")));
+        assertThat(request.getParameters().get("a"), is(Collections.singletonList("alpha")));
+        assertThat(request.getParts().size(), is(1));
+        final OperationRequestPart part = request.getParts().iterator().next();
+        assertThat(part.getName(), is("file"));
+        assertThat(part.getSubmittedFileName(), is("file.txt"));
+        assertThat(part.getContentAsString(), is("part"));
+        assertThat(request.getCookies().isEmpty(), is(true));
+
+        final OperationResponse response = operation.getResponse();
+        assertThat(response.getStatus(), is(HttpStatus.CREATED));
+        assertThat(response.getContentAsString(), is("created"));
+        assertThat(response.getHeaders().getFirst("X-Identifier"), is(nullValue()));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.record;
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link OperationRingBuffer}.
+ *
+ * @author Paul Samsotha
+ */
+public class OperationRingBufferTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public OperationRingBufferTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void capacity_rounded_up_to_power_of_two() {
+        assertThat(new OperationRingBuffer(1).getCapacity(), is(1));
+        assertThat(new OperationRingBuffer(500).getCapacity(), is(512));
+        assertThat(new OperationRingBuffer(512).getCapacity(), is(512));
+    }
+
+    @Test
+    public void oldest_operations_overwritten_when_full() {
+        final OperationRingBuffer buffer = new OperationRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.record(get("op-" + i));
+        }
+        assertThat(buffer.getSize(), is(4));
+        assertThat(buffer.getRecordedOperations(), is(10L));
+        assertThat(identifiers(buffer.getOperations()), is(Arrays.asList("op-6", "op-7", "op-8", "op-9")));
+        assertThat(buffer.listOperations()[0], is("op-6: GET /teams/{id} -> 200"));
+    }
+
+    @Test
+    public void cleared_buffer_is_empty() {
+        final OperationRingBuffer buffer = new OperationRingBuffer(4);
+        buffer.record(get("op-1"));
+        buffer.clear();
+        assertThat(buffer.getSize(), is(0));
+        assertTrue(buffer.getOperations().isEmpty());
+        buffer.record(get("op-2"));
+        assertThat(identifiers(buffer.getOperations()), is(Arrays.asList("op-2")));
+    }
+
+    @Test
+    public void concurrent_recording_keeps_last_operations() throws InterruptedException {
+        final OperationRingBuffer buffer = new OperationRingBuffer(64);
+        final RecordedOperation operation = get("concurrent");
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    buffer.record(operation);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(buffer.getRecordedOperations(), is(4000L));
+        assertThat(buffer.getOperations().size(), is(64));
+    }
+
+    @Test
+    public void operations_dumped_through_mbean_server() throws Exception {
+        final OperationRingBuffer buffer = new OperationRingBuffer(8);
+        buffer.record(get("op-1"));
+        buffer.record(get("op-2"));
+        buffer.register("ring-buffer-test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("io.github.restdocsext.jersey:type=OperationRingBuffer,name="
+                + ObjectName.quote("ring-buffer-test"));
+        final File har = new File(this.folder.getRoot(), "recent.har");
+        try {
+            assertThat((Integer) server.getAttribute(name, "Size"), is(2));
+            final Object written = server.invoke(name, "dump", new Object[] {har.getPath()},
+                    new String[] {String.class.getName()});
+            assertThat((Integer) written, is(2));
+        } finally {
+            buffer.unregister();
+        }
+
+        final JsonNode entries = new ObjectMapper().readTree(har).path("log").path("entries");
+        assertThat(entries.size(), is(2));
+        assertThat(entries.get(1).path("_identifier").asText(), is("op-2"));
+    }
+
+    @Test
+    public void client_requests_recorded_without_snippets() {
+        final OperationRingBuffer buffer = new OperationRingBuffer(8);
+        for (int i = 0; i < 3; i++) {
+            target().register(documentationConfiguration(this.restDocumentation).operationRecorder(buffer))
+                    .register(record("recorded-only"))
+                    .path("test/get-default")
+                    .request().get().close();
+        }
+
+        final List<RecordedOperation> operations = buffer.getOperations();
+        assertThat(identifiers(operations), is(Arrays.asList("recorded-only", "recorded-only", "recorded-only")));
+        for (int i = 0; i < operations.size(); i++) {
+            assertThat(operations.get(i).getContext(), instanceOf(RecordedDocumentationContext.class));
+            assertThat(operations.get(i).getContext().getStepCount(), is(i + 1));
+        }
+        assertThat(operations.get(0).getResponse().getStatus(), is(HttpStatus.OK));
+        assertFalse(new File("build/generated-snippets/recorded-only").exists());
+    }
+
+    private static RecordedOperation get(String identifier) {
+        return operation(identifier, HttpMethod.GET, "http://localhost/teams/1", "/teams/{id}",
+                HttpStatus.OK, "team");
+    }
+
+    private static List<String> identifiers(List<RecordedOperation> operations) {
+        final List<String> identifiers = new ArrayList<>();
+        for (RecordedOperation operation : operations) {
+            identifiers.add(operation.getIdentifier());
+        }
+        return identifiers;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.operation.record;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.springframework.restdocs.ManualRestDocumentation;
+import org.springframework.restdocs.RestDocumentationContext;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link RecordedDocumentationContext}.
+ *
+ * @author Paul Samsotha
+ */
+public class RecordedDocumentationContextTest {
+
+    @Test
+    public void copy_keeps_step_count() {
+        final ManualRestDocumentation documentation = new ManualRestDocumentation("build/generated-snippets");
+        documentation.beforeTest(RecordedDocumentationContextTest.class, "copy_keeps_step_count");
+        final RestDocumentationContext context = documentation.beforeOperation();
+        final RecordedDocumentationContext copy = RecordedDocumentationContext.copyOf(context);
+        documentation.beforeOperation();
+        documentation.afterTest();
+
+        assertThat(context.getStepCount(), is(2));
+        assertThat(copy.getStepCount(), is(1));
+        assertThat(copy.getTestClass(), is((Object) RecordedDocumentationContextTest.class));
+        assertThat(copy.getTestMethodName(), is("copy_keeps_step_count"));
+        assertThat(copy.getOutputDirectory(), is(new File("build/generated-snippets")));
+    }
+
+    @Test
+    public void copy_to_other_directory_does_not_load_test_class() {
+        final RecordedDocumentationContext context = new RecordedDocumentationContext(
+                "com.example.MissingTest", "method", 3, new File("build/generated-snippets"));
+        final RecordedDocumentationContext copy = RecordedDocumentationContext.copyOf(context, new File("docs"));
+
+        assertThat(copy.getTestClassName(), is("com.example.MissingTest"));
+        assertThat(copy.getStepCount(), is(3));
+        assertThat(copy.getOutputDirectory(), is(new File("docs")));
+    }
+
+    @Test
+    public void context_without_test() {
+        final RecordedDocumentationContext context = RecordedDocumentationContext.of(null, null, 1, new File("docs"));
+        assertThat(context.getTestClass(), is(nullValue()));
+        assertThat(context.getTestMethodName(), is(nullValue()));
+    }
+}
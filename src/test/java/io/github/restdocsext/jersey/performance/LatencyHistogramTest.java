@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ *
+ * @author Paul Samsotha
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty_histogram_reports_zero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getMin(), is(0L));
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+        assertThat(histogram.getMean(), is(0.0));
+    }
+
+    @Test
+    public void small_values_are_exact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMin(), is(1L));
+        assertThat(histogram.getMax(), is(100L));
+        assertThat(histogram.getMean(), is(50.5));
+        assertThat(histogram.getValueAtPercentile(50), is(50L));
+        assertThat(histogram.getValueAtPercentile(99), is(99L));
+        assertThat(histogram.getValueAtPercentile(100), is(100L));
+    }
+
+    @Test
+    public void large_values_are_within_relative_error() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertWithinError(histogram.getValueAtPercentile(50), 5000000L);
+        assertWithinError(histogram.getValueAtPercentile(90), 9000000L);
+        assertWithinError(histogram.getValueAtPercentile(99.9), 9990000L);
+        assertThat(histogram.getValueAtPercentile(100), is(10000000L));
+    }
+
+    @Test
+    public void buckets_cover_all_values() {
+        for (long value : new long[] {0, 127, 128, 129, 1000, 1L << 40, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueOf(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void negative_values_are_recorded_as_zero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertThat(histogram.getMin(), is(0L));
+        assertThat(histogram.getMax(), is(0L));
+    }
+
+    private static void assertWithinError(long actual, long expected) {
+        assertTrue(actual + " is not close to " + expected,
+                actual >= expected && actual <= expected + expected / 64);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.client.RestdocsWebTarget;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static io.github.restdocsext.jersey.performance.PerformanceDocumentation.performance;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for measuring a request with {@code RestdocsWebTarget.measure} and documenting it
+ * with the {@link PerformanceSnippet}.
+ *
+ * @author Paul Samsotha
+ */
+public class PerformanceSnippetTest extends JerseyTest {
+
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    public PerformanceSnippetTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(CountedResource.class);
+    }
+
+    @Test
+    public void measured_request_is_documented_with_performance() throws IOException {
+        REQUESTS.set(0);
+        final RestdocsWebTarget target = (RestdocsWebTarget) target();
+        final Response response = target.register(documentationConfiguration(this.restDocumentation))
+                .register(document("performance-get", performance()))
+                .path("counted")
+                .measure(Measurement.iterations(40).warmup(10).concurrency(4), new RequestInvoker() {
+                    @Override
+                    public Response invoke(Invocation.Builder request) {
+                        return request.get();
+                    }
+                });
+        assertThat(response.readEntity(String.class), is("counted"));
+        assertThat(REQUESTS.get(), is(51));
+
+        final File snippets = new File("build/generated-snippets/performance-get");
+        final String performance = new String(Files.readAllBytes(
+                new File(snippets, "performance.adoc").toPath()), "UTF-8");
+        assertThat(performance, containsString("|Requests\n|40"));
+        assertThat(performance, containsString("|Concurrency\n|4"));
+        assertThat(performance, containsString("|Errors\n|0"));
+        assertThat(performance, containsString("|p99 latency (ms)"));
+        assertThat(new File(snippets, "http-response.adoc").isFile(), is(true));
+    }
+
+    @Test
+    public void unmeasured_request_fails_performance_snippet() {
+        try {
+            target().register(documentationConfiguration(this.restDocumentation))
+                    .register(document("performance-unmeasured", performance()))
+                    .path("counted")
+                    .request().get();
+            fail("Expected ProcessingException");
+        } catch (ProcessingException ex) {
+            assertThat(ex.getCause().getMessage(), containsString("was not measured"));
+        }
+    }
+
+    /**
+     * Resource that counts its requests.
+     */
+    @Path("counted")
+    public static class CountedResource {
+
+        @GET
+        public String get() {
+            REQUESTS.incrementAndGet();
+            return "counted";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.restdocsext.jersey.ResponseInterceptor;
+import io.github.restdocsext.jersey.operation.record.OperationLogWriter;
+
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Tests for {@link ReplayApplication}.
+ *
+ * @author Paul Samsotha
+ */
+public class ReplayApplicationTest extends JerseyTest {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    public ReplayApplicationTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public Application configure() {
+        try {
+            final File log = folder.newFile();
+            log.delete();
+            try (OperationLogWriter writer = new OperationLogWriter(log)) {
+                writer.record(operation("get-team", GET, "http://localhost:8080/teams/1",
+                        "/teams/{id}", OK, "Team 1"));
+                writer.record(operation("delete-team", DELETE, "http://localhost:8080/teams/1",
+                        "/teams/{id}", NO_CONTENT, ""));
+                writer.record(operation("get-report", GET, "http://localhost:8080/reports/1",
+                        "/reports/{id}", OK, "Report" + ResponseInterceptor.TRUNCATION_MARKER).asTruncated());
+            }
+            return ReplayApplication.fromLog(log);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Test
+    public void replays_recorded_response() {
+        final Response response = target("teams/7").request().get();
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getMediaType().isCompatible(MediaType.TEXT_PLAIN_TYPE), is(true));
+        assertThat(response.readEntity(String.class), is("Team 1"));
+    }
+
+    @Test
+    public void replays_response_without_content() {
+        final Response response = target("teams/7").request().delete();
+        assertThat(response.getStatus(), is(204));
+        response.close();
+    }
+
+    @Test
+    public void unrecorded_request_is_not_found() {
+        final Response response = target("players").request().get();
+        assertThat(response.getStatus(), is(404));
+        assertThat(response.readEntity(String.class), containsString("GET /players"));
+    }
+
+    @Test
+    public void truncated_operation_is_refused() {
+        final Response response = target("reports/1").request().get();
+        assertThat(response.getStatus(), is(500));
+        assertThat(response.readEntity(String.class), containsString("get-report for GET /reports/1 was truncated"));
+    }
+
+    @Test
+    public void replays_recorded_operations_directly() {
+        final ReplayApplication application = new ReplayApplication(Arrays.asList(
+                operation("get-team", GET, "http://localhost:8080/teams/1", "/teams/{id}", OK, "Team 1")));
+        assertThat(application.getInstances().size(), is(1));
+    }
+}
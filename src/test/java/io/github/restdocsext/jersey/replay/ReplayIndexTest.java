@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.replay;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Tests for {@link ReplayIndex}.
+ *
+ * @author Paul Samsotha
+ */
+public class ReplayIndexTest {
+
+    private static final Map<String, List<String>> NO_PARAMETERS = Collections.emptyMap();
+
+    @Test
+    public void matches_literal_path_and_method() {
+        final RecordedOperation get = operation("get", GET, "http://localhost/teams", "/teams", OK, "teams");
+        final RecordedOperation post = operation("post", POST, "http://localhost/teams", "/teams", CREATED, "");
+        final ReplayIndex index = new ReplayIndex(Arrays.asList(get, post));
+
+        assertThat(index.find("GET", "/teams", NO_PARAMETERS), is(sameInstance(get)));
+        assertThat(index.find("POST", "/teams", NO_PARAMETERS), is(sameInstance(post)));
+        assertThat(index.find("DELETE", "/teams", NO_PARAMETERS), is(nullValue()));
+        assertThat(index.find("GET", "/players", NO_PARAMETERS), is(nullValue()));
+    }
+
+    @Test
+    public void matches_url_templates() {
+        final RecordedOperation team = operation("team", GET, "http://localhost/teams/1",
+                "/teams/{id}", OK, "team");
+        final RecordedOperation players = operation("players", GET, "http://localhost/teams/1/players",
+                "/teams/{id}/players", OK, "players");
+        final RecordedOperation current = operation("current", GET, "http://localhost/teams/current",
+                "/teams/current", OK, "current");
+        final ReplayIndex index = new ReplayIndex(Arrays.asList(team, players, current));
+
+        assertThat(index.find("GET", "/teams/42", NO_PARAMETERS), is(sameInstance(team)));
+        assertThat(index.find("GET", "/teams/42/players", NO_PARAMETERS), is(sameInstance(players)));
+        assertThat(index.find("GET", "/teams/current", NO_PARAMETERS), is(sameInstance(current)));
+    }
+
+    @Test
+    public void prefers_operation_with_most_matching_parameters() {
+        final RecordedOperation all = operation("all", GET, "http://localhost/teams",
+                "/teams", OK, "all");
+        final RecordedOperation sorted = operation("sorted", GET, "http://localhost/teams?sort=name",
+                "/teams?sort=name", OK, "sorted");
+        final ReplayIndex index = new ReplayIndex(Arrays.asList(all, sorted));
+
+        final MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.add("sort", "name");
+        parameters.add("page", "2");
+        assertThat(index.find("GET", "/teams", parameters), is(sameInstance(sorted)));
+        parameters.putSingle("sort", "city");
+        assertThat(index.find("GET", "/teams", parameters), is(sameInstance(all)));
+    }
+
+    @Test
+    public void falls_back_to_request_path_without_url_template() {
+        final RecordedOperation operation = operation("no-template", GET, "http://localhost/teams",
+                null, OK, "teams");
+        final ReplayIndex index = new ReplayIndex(Collections.singletonList(operation));
+
+        assertThat(index.find("GET", "/teams", NO_PARAMETERS), is(sameInstance(operation)));
+    }
+
+    @Test
+    public void root_url_template_of_other_path_is_ignored() {
+        final RecordedOperation operation = operation("base-target", GET, "http://localhost/teams",
+                "/", OK, "teams");
+        final ReplayIndex index = new ReplayIndex(Collections.singletonList(operation));
+
+        assertThat(index.find("GET", "/teams", NO_PARAMETERS), is(sameInstance(operation)));
+        assertThat(index.find("GET", "/", NO_PARAMETERS), is(nullValue()));
+    }
+
+    @Test
+    public void matches_regex_and_trailing_slash_templates() {
+        final RecordedOperation team = operation("team", GET, "http://localhost/teams/1",
+                "/teams/{id: \\d+}/", OK, "team");
+        final RecordedOperation named = operation("named", GET, "http://localhost/teams/eagles",
+                "/teams/{name}", OK, "named");
+        final ReplayIndex index = new ReplayIndex(Arrays.asList(team, named));
+
+        assertThat(index.find("GET", "/teams/42", NO_PARAMETERS), is(sameInstance(team)));
+        assertThat(index.find("GET", "/teams/eagles", NO_PARAMETERS), is(sameInstance(named)));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import io.github.restdocsext.jersey.ResponseInterceptor;
+import io.github.restdocsext.jersey.SnippetRegenerator;
+import io.github.restdocsext.jersey.management.DocumentationClientMonitor;
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ServerDocumentationFeature}.
+ *
+ * @author Paul Samsotha
+ */
+public class ServerDocumentationFeatureTest extends JerseyTest {
+
+    private final List<RecordedOperation> operations = new CopyOnWriteArrayList<>();
+
+    private ServerDocumentationFeature feature;
+
+    private volatile boolean failRecording;
+
+    public ServerDocumentationFeatureTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        this.feature = new ServerDocumentationFeature(operation -> {
+            if (this.failRecording) {
+                throw new IOException("failed");
+            }
+            this.operations.add(operation);
+        })
+                .outputDirectory("build/generated-snippets");
+        return new ResourceConfig(TestResource.class).register(this.feature);
+    }
+
+    @Test
+    public void get_is_recorded() {
+        final Response response = target("test/get-default").queryParam("a", "alpha")
+                .request().header("X-Test", "test").get();
+        assertThat(response.readEntity(String.class), is("Default"));
+
+        assertThat(this.operations.size(), is(1));
+        final RecordedOperation operation = this.operations.get(0);
+        assertThat(operation.getIdentifier(), is("test-resource/get-default"));
+        assertThat(operation.getUrlTemplate(), is("/test/get-default"));
+        assertThat(operation.getRequest().getMethod(), is(HttpMethod.GET));
+        assertThat(operation.getRequest().getUri(), is(URI.create("http://localhost:8080/test/get-default?a=alpha")));
+        assertThat(operation.getRequest().getParameters().getFirst("a"), is("alpha"));
+        assertThat(operation.getRequest().getHeaders().getFirst("X-Test"), is("test"));
+        assertThat(operation.getResponse().getStatus(), is(HttpStatus.OK));
+        assertThat(operation.getResponse().getContentAsString(), is("Default"));
+        assertThat(operation.getResponse().getHeaders().getFirst("Content-Type"), is("text/plain"));
+        assertThat(operation.getTiming(), is(notNullValue()));
+        assertThat(operation.getContext().getTestClass(), is(nullValue()));
+        assertThat(this.feature.getRecorded(), is(1L));
+    }
+
+    @Test
+    public void url_template_is_the_matched_template() {
+        target("test/path-params/value1/sub/value2").request().get().close();
+
+        assertThat(this.operations.get(0).getIdentifier(), is("test-resource/get-path-param"));
+        assertThat(this.operations.get(0).getUrlTemplate(), is("/test/path-params/{param1}/sub/{param2}"));
+    }
+
+    @Test
+    public void entities_are_captured() {
+        final Response response = target("test/post-simple").request()
+                .post(Entity.entity("content", MediaType.TEXT_PLAIN));
+        assertThat(response.readEntity(String.class), is("content"));
+
+        final RecordedOperation operation = this.operations.get(0);
+        assertThat(operation.getRequest().getContentAsString(), is("content"));
+        assertThat(operation.getResponse().getContentAsString(), is("content"));
+    }
+
+    @Test
+    public void response_without_entity_is_recorded() {
+        target("test/post-no-response-body").request().post(Entity.text("")).close();
+
+        assertThat(this.operations.get(0).getResponse().getStatus(), is(HttpStatus.NO_CONTENT));
+        assertThat(this.operations.get(0).getResponse().getContent().length, is(0));
+    }
+
+    @Test
+    public void entities_are_truncated_at_capture_limit() {
+        this.feature.captureLimit(4);
+        final Response response = target("test/post-simple").request()
+                .post(Entity.entity("content", MediaType.TEXT_PLAIN));
+        assertThat(response.readEntity(String.class), is("content"));
+
+        final RecordedOperation operation = this.operations.get(0);
+        assertThat(operation.getRequest().getContentAsString(), is("cont" + ResponseInterceptor.TRUNCATION_MARKER));
+        assertThat(new String(operation.getResponse().getContent(), StandardCharsets.UTF_8),
+                is("cont" + ResponseInterceptor.TRUNCATION_MARKER));
+    }
+
+    @Test
+    public void requests_are_sampled() {
+        this.feature.samplingRate(0.0);
+        for (int i = 0; i < 10; i++) {
+            target("test/get-default").request().get().close();
+        }
+        assertThat(this.operations.isEmpty(), is(true));
+    }
+
+    @Test
+    public void recorder_failures_do_not_fail_the_exchange() {
+        this.failRecording = true;
+        final Response response = target("test/get-default").request().get();
+        assertThat(response.readEntity(String.class), is("Default"));
+
+        assertThat(this.feature.getFailed(), is(1L));
+        assertThat(this.feature.getLastFailure().getMessage(), is("failed"));
+        assertThat(this.feature.getRecorded(), is(0L));
+    }
+
+    @Test
+    public void recorded_operations_can_be_documented() {
+        target("test/get-default").request().get().close();
+
+        new SnippetRegenerator().regenerate(this.operations.get(0));
+        assertTrue(new File("build/generated-snippets/test-resource/get-default/http-request.adoc").isFile());
+        assertTrue(new File("build/generated-snippets/test-resource/get-default/http-response.adoc").isFile());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampling_rate_is_validated() {
+        this.feature.samplingRate(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zero_capture_limit_is_rejected() {
+        this.feature.captureLimit(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capture_limit_above_max_is_rejected() {
+        this.feature.captureLimit(DocumentationClientMonitor.MAX_CAPTURE_LIMIT + 1);
+    }
+}
@@ -137,7 +137,7 @@ public final class Mocks {
                             return ClientRequestBuilder.this.configProps.get(prop);
                         }
                     });
-            when(this.clientRequest.resolveProperty(anyString(), any())).thenAnswer(
+            when(this.clientRequest.resolveProperty(anyString(), any(Object.class))).thenAnswer(
                     new Answer<Object>() {
                         @Override
                         public Object answer(InvocationOnMock invocation) throws Throwable {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.ManualRestDocumentation;
+import org.springframework.restdocs.RestDocumentationContext;
+import org.springframework.restdocs.operation.OperationRequest;
+import org.springframework.restdocs.operation.OperationRequestFactory;
+import org.springframework.restdocs.operation.OperationRequestPart;
+import org.springframework.restdocs.operation.OperationResponse;
+import org.springframework.restdocs.operation.OperationResponseFactory;
+import org.springframework.restdocs.operation.QueryStringParser;
+import org.springframework.restdocs.operation.RequestCookie;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+/**
+ * Utility class to create {@link RecordedOperation}s without executing a request.
+ *
+ * @author Paul Samsotha
+ */
+public final class RecordedOperations {
+
+    private RecordedOperations() {
+    }
+
+    /**
+     * Create a recorded operation with a {@code text/plain} response.
+     *
+     * @param identifier the documentation identifier
+     * @param method the request method
+     * @param uri the request URI
+     * @param urlTemplate the URL template, may be {@code null}
+     * @param status the response status
+     * @param content the response content
+     * @return the recorded operation
+     */
+    public static RecordedOperation operation(String identifier, HttpMethod method, String uri,
+            String urlTemplate, HttpStatus status, String content) {
+        final ManualRestDocumentation documentation = new ManualRestDocumentation("build/generated-snippets");
+        documentation.beforeTest(RecordedOperations.class, identifier);
+        final RestDocumentationContext context = documentation.beforeOperation();
+        documentation.afterTest();
+
+        final URI requestUri = URI.create(uri);
+        final OperationRequest request = new OperationRequestFactory().create(requestUri, method,
+                new byte[0], new HttpHeaders(), new QueryStringParser().parse(requestUri),
+                Collections.<OperationRequestPart>emptyList(), Collections.<RequestCookie>emptyList());
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        final OperationResponse response = new OperationResponseFactory().create(status, headers,
+                content.getBytes(StandardCharsets.UTF_8));
+        return new RecordedOperation(identifier, urlTemplate, request, response, context, "UTF-8", null);
+    }
+}
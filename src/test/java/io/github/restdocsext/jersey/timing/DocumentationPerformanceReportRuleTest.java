@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import io.github.restdocsext.jersey.operation.record.RecordedOperation;
+
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link DocumentationPerformanceReportRule}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationPerformanceReportRuleTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void report_written_after_the_tests() throws Throwable {
+        final File directory = new File(this.folder.getRoot(), "report");
+        final DocumentationPerformanceReportRule rule = new DocumentationPerformanceReportRule(directory.getPath());
+        rule.apply(new Statement() {
+            @Override
+            public void evaluate() {
+                rule.getReport().record(get("rule-written"));
+            }
+        }, Description.EMPTY).evaluate();
+
+        assertTrue(new File(directory, "documentation-performance.adoc").isFile());
+        assertTrue(new File(directory, "documentation-performance.json").isFile());
+    }
+
+    @Test
+    public void report_written_when_a_test_fails() throws Throwable {
+        final File directory = new File(this.folder.getRoot(), "failed");
+        final DocumentationPerformanceReportRule rule = new DocumentationPerformanceReportRule(directory.getPath());
+        try {
+            rule.apply(new Statement() {
+                @Override
+                public void evaluate() {
+                    rule.getReport().record(get("rule-failed"));
+                    throw new IllegalStateException("failed test");
+                }
+            }, Description.EMPTY).evaluate();
+            fail("Expected the test to fail.");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is("failed test"));
+        }
+
+        assertTrue(new File(directory, "documentation-performance.adoc").isFile());
+    }
+
+    private static RecordedOperation get(String identifier) {
+        return operation(identifier, HttpMethod.GET, "http://localhost/teams/1", "/teams/{id}", HttpStatus.OK, "team");
+    }
+}
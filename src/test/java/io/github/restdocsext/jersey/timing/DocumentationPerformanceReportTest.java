@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.restdocsext.jersey.ResponseInterceptor;
+import io.github.restdocsext.jersey.client.RestdocsClient;
+import io.github.restdocsext.jersey.test.TestModel;
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static io.github.restdocsext.jersey.test.RecordedOperations.operation;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocumentationPerformanceReport}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationPerformanceReportTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public DocumentationPerformanceReportTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Test
+    public void operations_summarized() {
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(
+                this.folder.getRoot().getPath(), 1);
+        documentGet(report, "report-get");
+        documentGet(report, "report-get");
+        documentPost(report, "report-post");
+
+        assertThat(report.getOperations().size(), is(2));
+        assertThat(report.getSlowestOperations().size(), is(1));
+        assertThat(report.getLargestOperations().get(0).getIdentifier(), is("report-post"));
+        assertTrue(report.getHttpNanos() > 0);
+        assertTrue(report.getDocumentationNanos() > 0);
+        assertTrue(report.getTruncatedOperations().isEmpty());
+
+        for (DocumentationPerformanceReport.OperationSummary summary : report.getOperations()) {
+            if (summary.getIdentifier().equals("report-get")) {
+                assertThat(summary.getCount(), is(2L));
+                assertThat(summary.getCapturedBytes(), is(2L * "Default".length()));
+                assertThat(summary.getLargestCaptureBytes(), is((long) "Default".length()));
+            }
+        }
+    }
+
+    @Test
+    public void truncated_captures_reported() {
+        ((RestdocsClient) client()).getMonitor().setCaptureLimit(3);
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(
+                this.folder.getRoot().getPath());
+        documentGet(report, "report-truncated");
+
+        assertThat(report.getTruncatedOperations().size(), is(1));
+        assertThat(report.getTruncatedOperations().get(0).getTruncatedCaptures(), is(1L));
+    }
+
+    @Test
+    public void truncated_request_captures_reported() {
+        ((RestdocsClient) client()).getMonitor().setCaptureLimit(3);
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(
+                this.folder.getRoot().getPath());
+        target().register(documentationConfiguration(this.restDocumentation).performanceReport(report))
+                .register(document("report-truncated-request"))
+                .path("test/post-no-response-body")
+                .request()
+                .post(Entity.text("TestData")).close();
+
+        assertThat(report.getTruncatedOperations().size(), is(1));
+    }
+
+    @Test
+    public void content_ending_like_the_marker_is_not_truncated() {
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(
+                this.folder.getRoot().getPath());
+        report.record(operation("report-marker", HttpMethod.GET, "http://localhost/test", null, HttpStatus.OK,
+                "read" + ResponseInterceptor.TRUNCATION_MARKER));
+
+        assertTrue(report.getTruncatedOperations().isEmpty());
+    }
+
+    @Test
+    public void report_written_as_asciidoc_and_json() throws IOException {
+        final File directory = new File(this.folder.getRoot(), "report");
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(directory.getPath());
+        documentGet(report, "report-written");
+        report.write();
+
+        final String asciidoc = new String(Files.readAllBytes(
+                new File(directory, "documentation-performance.adoc").toPath()), StandardCharsets.UTF_8);
+        assertThat(asciidoc, containsString("== Slowest operations"));
+        assertThat(asciidoc, containsString("|report-written |1 |"));
+        assertThat(asciidoc, containsString("None."));
+
+        final JsonNode json = new ObjectMapper().readTree(new File(directory, "documentation-performance.json"));
+        assertThat(json.path("operations").asInt(), is(1));
+        assertTrue(json.path("httpMillis").asDouble() > 0);
+        assertThat(json.path("slowest").get(0).path("identifier").asText(), is("report-written"));
+        assertThat(json.path("largest").get(0).path("largestCaptureBytes").asInt(), is("Default".length()));
+        assertThat(json.path("truncated").size(), is(0));
+    }
+
+    @Test
+    public void empty_report_not_written() throws IOException {
+        final File directory = new File(this.folder.getRoot(), "empty");
+        final DocumentationPerformanceReport report = new DocumentationPerformanceReport(directory.getPath());
+        report.write();
+        assertFalse(directory.exists());
+
+        final StringWriter writer = new StringWriter();
+        report.writeAsciidoc(writer);
+        assertThat(writer.toString(), containsString("|0 |0.000 |0.000"));
+    }
+
+    private void documentGet(DocumentationPerformanceReport report, String identifier) {
+        target().register(documentationConfiguration(this.restDocumentation).performanceReport(report))
+                .register(document(identifier))
+                .path("test/get-default")
+                .request().get().close();
+    }
+
+    private void documentPost(DocumentationPerformanceReport report, String identifier) {
+        target().register(documentationConfiguration(this.restDocumentation).performanceReport(report))
+                .register(document(identifier))
+                .path("test/post-json")
+                .request()
+                .post(Entity.entity(new TestModel(1, "Hello", "World"), MediaType.APPLICATION_JSON)).close();
+    }
+}
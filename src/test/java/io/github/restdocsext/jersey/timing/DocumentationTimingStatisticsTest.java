@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocumentationTimingStatistics} and {@link PhaseStatistics}.
+ *
+ * @author Paul Samsotha
+ */
+public class DocumentationTimingStatisticsTest {
+
+    @Test
+    public void empty_statistics_report_zero() {
+        final PhaseStatistics statistics = new DocumentationTimingStatistics()
+                .getStatistics(DocumentationPhase.RENDERING);
+        assertThat(statistics.getCount(), is(0L));
+        assertThat(statistics.getMaxNanos(), is(0L));
+        assertThat(statistics.getMeanNanos(), is(0.0));
+        assertThat(statistics.getPercentileNanos(99), is(0L));
+    }
+
+    @Test
+    public void timings_aggregated_per_phase() {
+        final DocumentationTimingStatistics statistics = new DocumentationTimingStatistics();
+        statistics.phaseCompleted(timing(DocumentationPhase.CAPTURE, "a", 100, 10));
+        statistics.phaseCompleted(timing(DocumentationPhase.CAPTURE, "b", 300, 30));
+        statistics.phaseCompleted(timing(DocumentationPhase.WRITE, "a", 1000, 5));
+
+        final PhaseStatistics capture = statistics.getStatistics(DocumentationPhase.CAPTURE);
+        assertThat(capture.getCount(), is(2L));
+        assertThat(capture.getTotalNanos(), is(400L));
+        assertThat(capture.getTotalBytes(), is(40L));
+        assertThat(capture.getMaxNanos(), is(300L));
+        assertThat(capture.getMeanNanos(), is(200.0));
+        assertThat(statistics.getStatistics(DocumentationPhase.WRITE).getCount(), is(1L));
+        assertThat(statistics.getStatistics(DocumentationPhase.CONVERSION).getCount(), is(0L));
+    }
+
+    @Test
+    public void percentiles_accurate_to_histogram_bucket() {
+        final DocumentationTimingStatistics statistics = new DocumentationTimingStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.phaseCompleted(timing(DocumentationPhase.RENDERING, "a", i * 1000L, 0));
+        }
+        final PhaseStatistics rendering = statistics.getStatistics(DocumentationPhase.RENDERING);
+        final long median = rendering.getPercentileNanos(50);
+        assertTrue(median >= 50000 && median < 50000 * 1.02);
+        assertThat(rendering.getPercentileNanos(100), is(100000L));
+        assertThat(rendering.getTotalNanos(), is(5050000L));
+    }
+
+    @Test
+    public void identifiers_sorted_slowest_first() {
+        final DocumentationTimingStatistics statistics = new DocumentationTimingStatistics();
+        statistics.phaseCompleted(timing(DocumentationPhase.CAPTURE, "fast", 10, 0));
+        statistics.phaseCompleted(timing(DocumentationPhase.CAPTURE, "slow", 50, 0));
+        statistics.phaseCompleted(timing(DocumentationPhase.WRITE, "slow", 50, 0));
+        statistics.phaseCompleted(timing(DocumentationPhase.WRITE, "medium", 20, 0));
+
+        final Map<String, Long> nanos = statistics.getNanosByIdentifier();
+        assertThat(nanos.keySet(), contains("slow", "medium", "fast"));
+        assertThat(nanos.get("slow"), is(100L));
+        assertThat(statistics.toString(), containsString("CAPTURE"));
+    }
+
+    @Test
+    public void concurrent_timings_all_counted() throws Exception {
+        final DocumentationTimingStatistics statistics = new DocumentationTimingStatistics();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int i = 0; i < 10000; i++) {
+                            statistics.phaseCompleted(timing(DocumentationPhase.CONVERSION, "op", 10, 1));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final PhaseStatistics conversion = statistics.getStatistics(DocumentationPhase.CONVERSION);
+        assertThat(conversion.getCount(), is(40000L));
+        assertThat(conversion.getTotalBytes(), is(40000L));
+        assertThat(statistics.getNanosByIdentifier().get("op"), is(400000L));
+    }
+
+    private static PhaseTiming timing(DocumentationPhase phase, String identifier, long nanos, long bytes) {
+        return new PhaseTiming(phase, identifier, "/test", nanos, bytes);
+    }
+}
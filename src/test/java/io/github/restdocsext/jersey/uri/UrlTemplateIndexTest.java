@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.restdocsext.jersey.uri;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.io.FileUtils;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.inmemory.InMemoryTestContainerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.restdocs.JUnitRestDocumentation;
+
+import io.github.restdocsext.jersey.test.TestResource;
+
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.document;
+import static io.github.restdocsext.jersey.JerseyRestDocumentation.documentationConfiguration;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+
+/**
+ * Tests for {@link UrlTemplateIndex}.
+ *
+ * @author Paul Samsotha
+ */
+public class UrlTemplateIndexTest extends JerseyTest {
+
+    @Rule
+    public JUnitRestDocumentation restDocumentation
+            = new JUnitRestDocumentation("build/generated-snippets");
+
+    private final UrlTemplateIndex index = UrlTemplateIndex.of(new ResourceConfig(ItemResource.class));
+
+    private ResourceConfig application;
+
+    public UrlTemplateIndexTest() {
+        super(new InMemoryTestContainerFactory());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return URI.create("http://localhost:8080/");
+    }
+
+    @Override
+    public ResourceConfig configure() {
+        this.application = new ResourceConfig(TestResource.class);
+        return this.application;
+    }
+
+    @Test
+    public void literal_paths_found() {
+        assertThat(this.index.find("/items"), is("/items"));
+        assertThat(this.index.find("/items/"), is("/items"));
+        assertThat(this.index.find("/items/latest"), is("/items/latest"));
+    }
+
+    @Test
+    public void template_paths_found() {
+        assertThat(this.index.find("/items/42"), is("/items/{id}"));
+        assertThat(this.index.find("/items/42;version=2"), is("/items/{id}"));
+    }
+
+    @Test
+    public void regex_parameters_matched() {
+        assertThat(this.index.find("/items/42/raw"), is("/items/{id: \\d+}/raw"));
+        assertThat(this.index.find("/items/abc/raw"), is(nullValue()));
+    }
+
+    @Test
+    public void parameters_spanning_segments_match_rest_of_path() {
+        assertThat(this.index.find("/items/files/a/b/c.txt"), is("/items/files/{path: .+}"));
+    }
+
+    @Test
+    public void sub_resource_locators_indexed() {
+        assertThat(this.index.find("/items/42/parts"), is("/items/{id}/parts"));
+        assertThat(this.index.find("/items/42/parts/7"), is("/items/{id}/parts/{part}"));
+    }
+
+    @Test
+    public void unknown_paths_not_found() {
+        assertThat(this.index.find("/other"), is(nullValue()));
+        assertThat(this.index.find("/items/42/unknown"), is(nullValue()));
+        assertThat(this.index.find(null), is(nullValue()));
+    }
+
+    @Test
+    public void base_path_prepended() {
+        final UrlTemplateIndex index = UrlTemplateIndex.of("/api/",
+                Collections.singletonList(Resource.from(ItemResource.class)));
+        assertThat(index.find("/api/items/42"), is("/api/items/{id}"));
+        assertThat(index.find("/items/42"), is(nullValue()));
+        assertThat(index.find("/apiitems/42"), is(nullValue()));
+    }
+
+    @Test
+    public void index_built_from_templates() {
+        final UrlTemplateIndex index = UrlTemplateIndex.ofTemplates("", Arrays.asList("/teams/{id}", "teams/current/"));
+        assertThat(index.size(), is(2));
+        assertThat(index.find("/teams/42"), is("/teams/{id}"));
+        assertThat(index.find("/teams/current"), is("/teams/current"));
+    }
+
+    @Test
+    public void template_resolved_for_absolute_uri() throws IOException {
+        final Response response = client()
+                .target(getBaseUri().resolve("test/path-params/value1/sub/value2"))
+                .register(documentationConfiguration(this.restDocumentation)
+                        .urlTemplates(UrlTemplateIndex.of(this.application)))
+                .register(document("url-template-index",
+                        pathParameters(parameterWithName("param1").description("param1 description"),
+                                parameterWithName("param2").description("param2 description"))))
+                .request().get();
+
+        assertThat(response.readEntity(String.class), is("value1:value2"));
+        assertThat(FileUtils.readFileToString(
+                new File("build/generated-snippets/url-template-index/path-parameters.adoc"),
+                StandardCharsets.UTF_8), containsString("/test/path-params/{param1}/sub/{param2}"));
+    }
+
+    /**
+     * A resource with literal, template, regular expression and sub-resource paths.
+     */
+    @Path("items")
+    public static class ItemResource {
+
+        @GET
+        public String list() {
+            return "items";
+        }
+
+        @GET
+        @Path("latest")
+        public String latest() {
+            return "latest";
+        }
+
+        @GET
+        @Path("{id}")
+        public String get() {
+            return "item";
+        }
+
+        @GET
+        @Path("{id: \\d+}/raw")
+        public String raw() {
+            return "raw";
+        }
+
+        @GET
+        @Path("files/{path: .+}")
+        public String file() {
+            return "file";
+        }
+
+        @Path("{id}/parts")
+        public PartResource parts() {
+            return new PartResource();
+        }
+    }
+
+    /**
+     * A sub-resource, returned by a locator.
+     */
+    public static class PartResource {
+
+        @GET
+        public String list() {
+            return "parts";
+        }
+
+        @GET
+        @Path("{part}")
+        public String get() {
+            return "part";
+        }
+    }
+}